@@ -0,0 +1,178 @@
+package mil.nga.gars.benchmark;
+
+import java.text.ParseException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import mil.nga.gars.GARS;
+import mil.nga.gars.grid.GridType;
+import mil.nga.grid.features.Point;
+
+/**
+ * GARS coordinate conversion, parsing and formatting benchmarks over a fixed
+ * set of random coordinates
+ *
+ * @author osbornb
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GARSBenchmark {
+
+	/**
+	 * Number of coordinates, a power of two
+	 */
+	private static final int COUNT = 1024;
+
+	/**
+	 * Random seed
+	 */
+	private static final long SEED = 1234567890L;
+
+	/**
+	 * Grid type precision state
+	 */
+	@State(Scope.Thread)
+	public static class Precision {
+
+		/**
+		 * Coordinate grid type precision
+		 */
+		@Param({ "TWENTY_DEGREE", "TEN_DEGREE", "FIVE_DEGREE", "ONE_DEGREE",
+				"THIRTY_MINUTE", "FIFTEEN_MINUTE", "FIVE_MINUTE" })
+		public GridType type;
+
+		/**
+		 * GARS strings at the grid type precision
+		 */
+		private String[] strings;
+
+		/**
+		 * Set up the GARS strings
+		 *
+		 * @param benchmark
+		 *            benchmark state
+		 */
+		@Setup
+		public void setup(GARSBenchmark benchmark) {
+			strings = new String[COUNT];
+			for (int i = 0; i < COUNT; i++) {
+				strings[i] = benchmark.gars[i].coordinate(type);
+			}
+		}
+
+	}
+
+	/**
+	 * Points
+	 */
+	private Point[] points;
+
+	/**
+	 * GARS coordinates
+	 */
+	private GARS[] gars;
+
+	/**
+	 * Current index
+	 */
+	private int index;
+
+	/**
+	 * Set up the coordinates
+	 */
+	@Setup
+	public void setup() {
+		Random random = new Random(SEED);
+		points = new Point[COUNT];
+		gars = new GARS[COUNT];
+		for (int i = 0; i < COUNT; i++) {
+			points[i] = Point.point(random.nextDouble() * 360.0 - 180.0,
+					random.nextDouble() * 180.0 - 90.0);
+			gars[i] = GARS.from(points[i]);
+		}
+	}
+
+	/**
+	 * Get the next index
+	 *
+	 * @return index
+	 */
+	private int next() {
+		return index = (index + 1) & (COUNT - 1);
+	}
+
+	/**
+	 * Convert a point to GARS
+	 *
+	 * @return GARS
+	 */
+	@Benchmark
+	public GARS from() {
+		return GARS.from(points[next()]);
+	}
+
+	/**
+	 * Parse a GARS string at the grid type precision
+	 *
+	 * @param precision
+	 *            grid type precision state
+	 * @return GARS
+	 * @throws ParseException
+	 *             upon failure to parse
+	 */
+	@Benchmark
+	public GARS parse(Precision precision) throws ParseException {
+		return GARS.parse(precision.strings[next()]);
+	}
+
+	/**
+	 * Validate a GARS string at the grid type precision
+	 *
+	 * @param precision
+	 *            grid type precision state
+	 * @return true if GARS
+	 */
+	@Benchmark
+	public boolean isGARS(Precision precision) {
+		return GARS.isGARS(precision.strings[next()]);
+	}
+
+	/**
+	 * Format a GARS coordinate at the grid type precision
+	 *
+	 * @param precision
+	 *            grid type precision state
+	 * @return coordinate
+	 */
+	@Benchmark
+	public String coordinate(Precision precision) {
+		return gars[next()].coordinate(precision.type);
+	}
+
+	/**
+	 * Convert a GARS coordinate to its southwest point
+	 *
+	 * @return point
+	 */
+	@Benchmark
+	public Point toPoint() {
+		return gars[next()].toPoint();
+	}
+
+}
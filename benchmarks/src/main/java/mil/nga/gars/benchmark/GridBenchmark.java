@@ -0,0 +1,168 @@
+package mil.nga.gars.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import mil.nga.gars.GARS;
+import mil.nga.gars.GARSUtils;
+import mil.nga.gars.features.GridLine;
+import mil.nga.gars.grid.GARSLabeler;
+import mil.nga.gars.grid.Grid;
+import mil.nga.gars.grid.GridLabel;
+import mil.nga.gars.grid.GridRange;
+import mil.nga.gars.grid.GridType;
+import mil.nga.gars.grid.Grids;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.tile.GridTile;
+
+/**
+ * Grid line, label and range benchmarks for each grid type at its minimum
+ * default zoom level and two zoom levels beyond
+ *
+ * @author osbornb
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GridBenchmark {
+
+	/**
+	 * Tile longitude
+	 */
+	private static final double LONGITUDE = 10.5;
+
+	/**
+	 * Tile latitude
+	 */
+	private static final double LATITUDE = 45.5;
+
+	/**
+	 * Tile width and height
+	 */
+	private static final int TILE_SIZE = 256;
+
+	/**
+	 * Grid type
+	 */
+	@Param({ "TWENTY_DEGREE", "TEN_DEGREE", "FIVE_DEGREE", "ONE_DEGREE",
+			"THIRTY_MINUTE", "FIFTEEN_MINUTE", "FIVE_MINUTE" })
+	public GridType type;
+
+	/**
+	 * Zoom levels beyond the grid type minimum default zoom
+	 */
+	@Param({ "0", "2" })
+	public int zoomOffset;
+
+	/**
+	 * Grid
+	 */
+	private Grid grid;
+
+	/**
+	 * Labeler
+	 */
+	private GARSLabeler labeler;
+
+	/**
+	 * Tile
+	 */
+	private GridTile tile;
+
+	/**
+	 * Tile bounds
+	 */
+	private Bounds bounds;
+
+	/**
+	 * Set up the grid and tile
+	 */
+	@Setup
+	public void setup() {
+		grid = Grids.create().getGrid(type);
+		labeler = new GARSLabeler();
+		int zoom = grid.getMinZoom() + zoomOffset;
+		int tiles = 1 << zoom;
+		int x = (int) Math.floor((LONGITUDE + 180.0) / 360.0 * tiles);
+		double latitude = Math.toRadians(LATITUDE);
+		int y = (int) Math.floor((1.0 - Math.log(Math.tan(latitude)
+				+ 1.0 / Math.cos(latitude)) / Math.PI) / 2.0 * tiles);
+		tile = GridTile.tile(TILE_SIZE, TILE_SIZE, x, y, zoom);
+		bounds = tile.getBounds();
+	}
+
+	/**
+	 * Get the grid lines for the tile
+	 *
+	 * @return lines
+	 */
+	@Benchmark
+	public List<GridLine> lines() {
+		return grid.getLines(bounds);
+	}
+
+	/**
+	 * Get the merged grid lines for the tile
+	 *
+	 * @return lines
+	 */
+	@Benchmark
+	public List<GridLine> mergedLines() {
+		return grid.getMergedLines(bounds);
+	}
+
+	/**
+	 * Visit the grid lines for the tile
+	 *
+	 * @param blackhole
+	 *            blackhole
+	 */
+	@Benchmark
+	public void forEachLine(Blackhole blackhole) {
+		grid.forEachLine(bounds, (lon1, lat1, lon2, lat2, gridType) -> {
+			blackhole.consume(lon1);
+			blackhole.consume(lat2);
+		});
+	}
+
+	/**
+	 * Get the grid labels for the tile
+	 *
+	 * @return labels
+	 */
+	@Benchmark
+	public List<GridLabel> labels() {
+		return labeler.getLabels(bounds, type);
+	}
+
+	/**
+	 * Iterate the thirty minute GARS range of the tile
+	 *
+	 * @param blackhole
+	 *            blackhole
+	 */
+	@Benchmark
+	public void gridRange(Blackhole blackhole) {
+		GridRange range = GARSUtils.getGridRange(bounds);
+		for (GARS gars : range) {
+			blackhole.consume(gars);
+		}
+	}
+
+}
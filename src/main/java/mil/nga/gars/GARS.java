@@ -1,12 +1,11 @@
 package mil.nga.gars;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.text.ParseException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import mil.nga.gars.grid.GridType;
 import mil.nga.grid.features.Point;
-import mil.nga.sf.util.GeometryUtils;
 
 /**
  * Global Area Reference System Coordinate
@@ -15,13 +14,6 @@ import mil.nga.sf.util.GeometryUtils;
  */
 public class GARS {
 
-	/**
-	 * GARS string pattern
-	 */
-	private static final Pattern garsPattern = Pattern.compile(
-			"^(\\d{3})([A-HJ-NP-Z]{2})(?:([1-4])([1-9])?)?$",
-			Pattern.CASE_INSENSITIVE);
-
 	/**
 	 * Longitudinal band number
 	 */
@@ -75,6 +67,45 @@ public class GARS {
 		return new GARS(longitude, latitude, quadrant, keypad);
 	}
 
+	/**
+	 * Create from a packed cell id
+	 * 
+	 * @param id
+	 *            cell id
+	 * @return GARS
+	 * @see GARSCellId
+	 */
+	public static GARS fromCellId(long id) {
+		return new GARS(GARSCellId.getBandNumber(id),
+				GARSCellId.getBandLetters(id), GARSCellId.getQuadrant(id),
+				GARSCellId.getKeypad(id));
+	}
+
+	/**
+	 * Get the shared canonical instance equal to the GARS from the default
+	 * {@link GARSCache}
+	 * 
+	 * @param gars
+	 *            GARS
+	 * @return canonical GARS
+	 */
+	public static GARS canonical(GARS gars) {
+		return GARSCache.getDefault().get(gars);
+	}
+
+	/**
+	 * Get the shared canonical instance of a packed cell id from the default
+	 * {@link GARSCache}
+	 * 
+	 * @param id
+	 *            cell id
+	 * @return canonical GARS
+	 * @see GARSCellId
+	 */
+	public static GARS canonical(long id) {
+		return GARSCache.getDefault().get(id);
+	}
+
 	/**
 	 * Constructor, default southwest corner quadrant
 	 * ({@link GARSConstants#DEFAULT_QUADRANT}) and keypad
@@ -151,7 +182,8 @@ public class GARS {
 	 * @return GARS coordinate
 	 */
 	public String coordinate() {
-		return coordinate(GridType.FIVE_MINUTE);
+		return appendTo(new StringBuilder(7), GridType.FIVE_MINUTE)
+				.toString();
 	}
 
 	/**
@@ -162,21 +194,198 @@ public class GARS {
 	 * @return GARS coordinate
 	 */
 	public String coordinate(GridType type) {
+		return appendTo(new StringBuilder(7), type).toString();
+	}
 
-		StringBuilder gars = new StringBuilder();
+	/**
+	 * Append the GARS coordinate with specified grid precision
+	 * 
+	 * @param builder
+	 *            string builder
+	 * @param type
+	 *            grid type precision
+	 * @return string builder
+	 */
+	public StringBuilder appendTo(StringBuilder builder, GridType type) {
+		if (isDigitFormat()) {
+			builder.append(digit(longitude / 100));
+			builder.append(digit(longitude / 10 % 10));
+			builder.append(digit(longitude % 10));
+			builder.append(latitude);
+			int digits = precisionDigits(type);
+			if (digits > 0) {
+				builder.append(digit(quadrant));
+				if (digits > 1) {
+					builder.append(digit(keypad));
+				}
+			}
+		} else {
+			builder.append(format(type));
+		}
+		return builder;
+	}
+
+	/**
+	 * Append the GARS coordinate with specified grid precision
+	 * 
+	 * @param appendable
+	 *            appendable
+	 * @param type
+	 *            grid type precision
+	 * @return appendable
+	 * @throws IOException
+	 *             upon failure to append
+	 */
+	public Appendable appendTo(Appendable appendable, GridType type)
+			throws IOException {
+		if (isDigitFormat()) {
+			appendable.append(digit(longitude / 100));
+			appendable.append(digit(longitude / 10 % 10));
+			appendable.append(digit(longitude % 10));
+			appendable.append(latitude);
+			int digits = precisionDigits(type);
+			if (digits > 0) {
+				appendable.append(digit(quadrant));
+				if (digits > 1) {
+					appendable.append(digit(keypad));
+				}
+			}
+		} else {
+			appendable.append(format(type));
+		}
+		return appendable;
+	}
+
+	/**
+	 * Write the GARS coordinate with specified grid precision as ASCII bytes
+	 * 
+	 * @param bytes
+	 *            byte array
+	 * @param offset
+	 *            byte array offset
+	 * @param type
+	 *            grid type precision
+	 * @return number of bytes written
+	 */
+	public int writeAscii(byte[] bytes, int offset, GridType type) {
+		int index = offset;
+		if (isDigitFormat()) {
+			bytes[index++] = (byte) digit(longitude / 100);
+			bytes[index++] = (byte) digit(longitude / 10 % 10);
+			bytes[index++] = (byte) digit(longitude % 10);
+			bytes[index++] = (byte) latitude.charAt(0);
+			bytes[index++] = (byte) latitude.charAt(1);
+			int digits = precisionDigits(type);
+			if (digits > 0) {
+				bytes[index++] = (byte) digit(quadrant);
+				if (digits > 1) {
+					bytes[index++] = (byte) digit(keypad);
+				}
+			}
+		} else {
+			String gars = format(type);
+			for (int i = 0; i < gars.length(); i++) {
+				bytes[index++] = (byte) gars.charAt(i);
+			}
+		}
+		return index - offset;
+	}
+
+	/**
+	 * Write the GARS coordinate with specified grid precision as ASCII bytes
+	 * at the buffer position, advancing the position
+	 * 
+	 * @param buffer
+	 *            byte buffer
+	 * @param type
+	 *            grid type precision
+	 * @return number of bytes written
+	 */
+	public int writeAscii(ByteBuffer buffer, GridType type) {
+		int position = buffer.position();
+		if (isDigitFormat()) {
+			buffer.put((byte) digit(longitude / 100));
+			buffer.put((byte) digit(longitude / 10 % 10));
+			buffer.put((byte) digit(longitude % 10));
+			buffer.put((byte) latitude.charAt(0));
+			buffer.put((byte) latitude.charAt(1));
+			int digits = precisionDigits(type);
+			if (digits > 0) {
+				buffer.put((byte) digit(quadrant));
+				if (digits > 1) {
+					buffer.put((byte) digit(keypad));
+				}
+			}
+		} else {
+			String gars = format(type);
+			for (int i = 0; i < gars.length(); i++) {
+				buffer.put((byte) gars.charAt(i));
+			}
+		}
+		return buffer.position() - position;
+	}
+
+	/**
+	 * Check if the GARS values are formatted directly as single digits and two
+	 * band letters
+	 * 
+	 * @return true if digit formatted
+	 */
+	private boolean isDigitFormat() {
+		return longitude >= 0 && longitude <= 999 && latitude.length() == 2
+				&& quadrant >= 0 && quadrant <= 9 && keypad >= 0
+				&& keypad <= 9;
+	}
 
-		if (type == null) {
-			type = GridType.FIVE_MINUTE;
+	/**
+	 * Get the number of quadrant and keypad digits for the grid type
+	 * precision
+	 * 
+	 * @param type
+	 *            grid type precision, null for five minute
+	 * @return 0, 1 for quadrant, or 2 for quadrant and keypad
+	 */
+	private static int precisionDigits(GridType type) {
+		int digits = 0;
+		if (type == null || type == GridType.FIVE_MINUTE) {
+			digits = 2;
+		} else if (type == GridType.FIFTEEN_MINUTE) {
+			digits = 1;
 		}
+		return digits;
+	}
+
+	/**
+	 * Get the digit character
+	 * 
+	 * @param value
+	 *            single digit value
+	 * @return digit character
+	 */
+	private static char digit(int value) {
+		return (char) ('0' + value);
+	}
+
+	/**
+	 * Format the GARS coordinate for values outside of the digit format
+	 * 
+	 * @param type
+	 *            grid type precision
+	 * @return GARS coordinate
+	 */
+	private String format(GridType type) {
+
+		StringBuilder gars = new StringBuilder();
 
 		gars.append(String.format("%03d", longitude));
 		gars.append(latitude);
 
-		if (type == GridType.FIFTEEN_MINUTE || type == GridType.FIVE_MINUTE) {
+		int digits = precisionDigits(type);
+		if (digits > 0) {
 
 			gars.append(quadrant);
 
-			if (type == GridType.FIVE_MINUTE) {
+			if (digits > 1) {
 
 				gars.append(keypad);
 
@@ -187,6 +396,29 @@ public class GARS {
 		return gars.toString();
 	}
 
+	/**
+	 * Get the packed cell id with five minute precision
+	 * 
+	 * @return cell id
+	 * @see GARSCellId
+	 */
+	public long toCellId() {
+		return toCellId(GridType.FIVE_MINUTE);
+	}
+
+	/**
+	 * Get the packed cell id with specified grid precision
+	 * 
+	 * @param type
+	 *            grid type precision
+	 * @return cell id
+	 * @see GARSCellId
+	 */
+	public long toCellId(GridType type) {
+		return GARSCellId.encode(longitude, GARSUtils.bandValue(latitude),
+				quadrant, keypad, type);
+	}
+
 	/**
 	 * Convert to a point
 	 * 
@@ -267,21 +499,7 @@ public class GARS {
 	 * @return true if GARS string is valid, false otherwise
 	 */
 	public static boolean isGARS(String gars) {
-		gars = removeSpaces(gars);
-		Matcher matcher = garsPattern.matcher(gars);
-		boolean matches = matcher.matches();
-		if (matches) {
-			int longitude = Integer.parseInt(matcher.group(1));
-			matches = longitude >= GARSConstants.MIN_BAND_NUMBER
-					&& longitude <= GARSConstants.MAX_BAND_NUMBER;
-			if (matches) {
-				String latitude = matcher.group(2).toUpperCase();
-				int latitudeValue = GARSUtils.bandValue(latitude);
-				matches = latitudeValue >= GARSConstants.MIN_BAND_LETTERS_NUMBER
-						&& latitudeValue <= GARSConstants.MAX_BAND_LETTERS_NUMBER;
-			}
-		}
-		return matches;
+		return GARSParser.parse(gars) >= 0;
 	}
 
 	/**
@@ -303,60 +521,23 @@ public class GARS {
 	 * @return GARS
 	 */
 	public static GARS from(Point point) {
-
-		point = point.copy().toDegrees();
-
-		// Bound the latitude if needed
-		if (point.getLatitude() < GARSConstants.MIN_LAT) {
-			point.setLatitude(GARSConstants.MIN_LAT);
-		} else if (point.getLatitude() > GARSConstants.MAX_LAT) {
-			point.setLatitude(GARSConstants.MAX_LAT);
-		}
-
-		// Normalize the longitude if needed
-		GeometryUtils.normalizeWGS84(point);
-
-		double lon = GARSUtils.getLongitudeDecimalBand(point.getLongitude());
-		double lat = GARSUtils.getLatitudeDecimalBandValue(point.getLatitude());
-
-		int lonInt = (int) lon;
-		int latInt = (int) lat;
-
-		String latBand = GARSUtils.bandLetters(latInt);
-
-		double lonDecimal = lon - lonInt;
-		double latDecimal = lat - latInt;
-
-		double quadrantColumn = lonDecimal * 2.0;
-		double quadrantRow = latDecimal * 2.0;
-
-		int quadrantColumnInt = (int) quadrantColumn;
-		int quadrantRowInt = (int) quadrantRow;
-
-		int quadrant = GARSUtils.quadrant(quadrantColumnInt, quadrantRowInt);
-
-		lonDecimal = quadrantColumn - quadrantColumnInt;
-		latDecimal = quadrantRow - quadrantRowInt;
-
-		int keypadColumn = (int) (lonDecimal * 3.0);
-		int keypadRow = (int) (latDecimal * 3.0);
-
-		int keypad = GARSUtils.keypad(keypadColumn, keypadRow);
-
-		return GARS.create(lonInt, latBand, quadrant, keypad);
+		point = point.toDegrees();
+		return from(point.getLongitude(), point.getLatitude());
 	}
 
 	/**
-	 * Convert the coordinate to GARS
+	 * Convert the coordinate to GARS. The latitude is bounded and the
+	 * longitude normalized arithmetically without intermediate points.
 	 *
 	 * @param longitude
-	 *            longitude
+	 *            longitude in degrees
 	 * @param latitude
-	 *            latitude
+	 *            latitude in degrees
 	 * @return GARS
+	 * @see GARSCellId#encode(double, double)
 	 */
 	public static GARS from(double longitude, double latitude) {
-		return from(Point.degrees(longitude, latitude));
+		return fromCellId(GARSCellId.encode(longitude, latitude));
 	}
 
 	/**
@@ -369,44 +550,144 @@ public class GARS {
 	 *             upon failure to parse the GARS string
 	 */
 	public static GARS parse(String gars) throws ParseException {
-		Matcher matcher = garsPattern.matcher(removeSpaces(gars));
-		if (!matcher.matches()) {
-			throw new ParseException("Invalid GARS: " + gars, 0);
-		}
-
-		int longitude = Integer.parseInt(matcher.group(1));
-		if (longitude < GARSConstants.MIN_BAND_NUMBER
-				|| longitude > GARSConstants.MAX_BAND_NUMBER) {
-			throw new ParseException("Invalid GARS longitude: "
-					+ matcher.group(1) + ", GARS: " + gars, 0);
+		long id = GARSParser.parse(gars);
+		if (id < 0) {
+			throw parseException(gars, id);
 		}
+		return fromCellId(id);
+	}
 
-		String latitude = matcher.group(2).toUpperCase();
-		int latitudeValue = GARSUtils.bandValue(latitude);
-		if (latitudeValue < GARSConstants.MIN_BAND_LETTERS_NUMBER
-				|| latitudeValue > GARSConstants.MAX_BAND_LETTERS_NUMBER) {
-			throw new ParseException("Invalid GARS latitude: "
-					+ matcher.group(2) + ", GARS: " + gars, 3);
+	/**
+	 * Create a parse exception for the invalid GARS string
+	 * 
+	 * @param gars
+	 *            GARS string
+	 * @param invalid
+	 *            negative parser result
+	 * @return parse exception
+	 */
+	private static ParseException parseException(String gars, long invalid) {
+		ParseException exception = null;
+		if (GARSParser.scan(gars) < 0) {
+			exception = new ParseException("Invalid GARS: " + gars, 0);
+		} else if (invalid == GARSParser.INVALID_BAND_NUMBER) {
+			exception = new ParseException("Invalid GARS longitude: "
+					+ removeSpaces(gars).substring(0, 3) + ", GARS: " + gars,
+					0);
+		} else {
+			exception = new ParseException("Invalid GARS latitude: "
+					+ removeSpaces(gars).substring(3, 5) + ", GARS: " + gars,
+					3);
 		}
+		return exception;
+	}
 
-		int quadrant = GARSConstants.DEFAULT_QUADRANT;
-		int keypad = GARSConstants.DEFAULT_KEYPAD;
+	/**
+	 * Parse a GARS string without throwing an exception upon failure
+	 * 
+	 * @param gars
+	 *            GARS string
+	 * @return GARS or null if invalid
+	 */
+	public static GARS tryParse(String gars) {
+		return fromParseResult(GARSParser.parse(gars));
+	}
 
-		String quadrantValue = matcher.group(3);
-		if (quadrantValue != null) {
+	/**
+	 * Parse the GARS characters within the character sequence range without
+	 * creating an intermediate string
+	 * 
+	 * @param gars
+	 *            character sequence
+	 * @param start
+	 *            start index, inclusive
+	 * @param end
+	 *            end index, exclusive
+	 * @return GARS or null if invalid
+	 */
+	public static GARS tryParse(CharSequence gars, int start, int end) {
+		return fromParseResult(GARSParser.parse(gars, start, end));
+	}
 
-			quadrant = Integer.parseInt(quadrantValue);
+	/**
+	 * Parse the GARS characters within the character array range without
+	 * creating an intermediate string
+	 * 
+	 * @param gars
+	 *            character array
+	 * @param offset
+	 *            array offset
+	 * @param length
+	 *            number of characters
+	 * @return GARS or null if invalid
+	 */
+	public static GARS tryParse(char[] gars, int offset, int length) {
+		return fromParseResult(GARSParser.parse(gars, offset, length));
+	}
 
-			String keypadValue = matcher.group(4);
-			if (keypadValue != null) {
+	/**
+	 * Parse the ASCII GARS bytes within the byte array range without creating
+	 * an intermediate string
+	 * 
+	 * @param gars
+	 *            ASCII byte array
+	 * @param offset
+	 *            array offset
+	 * @param length
+	 *            number of bytes
+	 * @return GARS or null if invalid
+	 */
+	public static GARS tryParse(byte[] gars, int offset, int length) {
+		return fromParseResult(GARSParser.parse(gars, offset, length));
+	}
 
-				keypad = Integer.parseInt(keypadValue);
+	/**
+	 * Parse the ASCII GARS bytes remaining in the buffer (position to limit)
+	 * without creating an intermediate string. The buffer position is not
+	 * modified.
+	 * 
+	 * @param gars
+	 *            ASCII byte buffer
+	 * @return GARS or null if invalid
+	 */
+	public static GARS tryParse(ByteBuffer gars) {
+		return fromParseResult(GARSParser.parse(gars));
+	}
 
-			}
+	/**
+	 * Create from a parser result
+	 * 
+	 * @param result
+	 *            cell id or negative parser result
+	 * @return GARS or null if invalid
+	 */
+	private static GARS fromParseResult(long result) {
+		return result >= 0 ? fromCellId(result) : null;
+	}
 
-		}
+	/**
+	 * Parse a GARS string into a packed cell id without throwing an exception
+	 * upon failure
+	 * 
+	 * @param gars
+	 *            GARS string
+	 * @return cell id, or a negative {@link GARSParseStatus} result when
+	 *         invalid
+	 * @see GARSParseStatus#fromResult(long)
+	 */
+	public static long tryParseCellId(String gars) {
+		return GARSParser.parse(gars);
+	}
 
-		return GARS.create(longitude, latitude, quadrant, keypad);
+	/**
+	 * Validate a GARS string, returning the reason when invalid
+	 * 
+	 * @param gars
+	 *            GARS string
+	 * @return parse status
+	 */
+	public static GARSParseStatus validate(String gars) {
+		return GARSParser.status(gars);
 	}
 
 	/**
@@ -419,22 +700,11 @@ public class GARS {
 	 *             upon failure to parse the GARS string
 	 */
 	public static GridType precision(String gars) throws ParseException {
-		Matcher matcher = garsPattern.matcher(removeSpaces(gars));
-		if (!matcher.matches()) {
+		long id = GARSParser.scan(gars);
+		if (id < 0) {
 			throw new ParseException("Invalid GARS: " + gars, 0);
 		}
-
-		GridType precision = null;
-
-		if (matcher.group(4) != null) {
-			precision = GridType.FIVE_MINUTE;
-		} else if (matcher.group(3) != null) {
-			precision = GridType.FIFTEEN_MINUTE;
-		} else {
-			precision = GridType.THIRTY_MINUTE;
-		}
-
-		return precision;
+		return GARSCellId.getPrecision(id);
 	}
 
 }
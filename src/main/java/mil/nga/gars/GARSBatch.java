@@ -0,0 +1,165 @@
+package mil.nga.gars;
+
+import mil.nga.gars.grid.GridType;
+import mil.nga.gars.metrics.EventSink.BatchEvent;
+import mil.nga.gars.metrics.Events;
+
+/**
+ * Columnar bulk GARS conversions between coordinate arrays and packed
+ * {@link GARSCellId} arrays. Loops are straight line over primitive arrays
+ * without per row object allocation.
+ *
+ * @author osbornb
+ */
+public class GARSBatch {
+
+	/**
+	 * Encode all longitude and latitude coordinates as cell ids
+	 *
+	 * @param longitudes
+	 *            longitudes in degrees
+	 * @param latitudes
+	 *            latitudes in degrees
+	 * @param precision
+	 *            grid type precision
+	 * @param ids
+	 *            cell ids to populate
+	 */
+	public static void encode(double[] longitudes, double[] latitudes,
+			GridType precision, long[] ids) {
+		encode(longitudes, latitudes, 0, longitudes.length, precision, ids, 0);
+	}
+
+	/**
+	 * Encode a range of longitude and latitude coordinates as cell ids,
+	 * equivalent to {@link GARSCellId#encode(double, double, GridType)} for
+	 * each row
+	 *
+	 * @param longitudes
+	 *            longitudes in degrees
+	 * @param latitudes
+	 *            latitudes in degrees
+	 * @param offset
+	 *            coordinates offset
+	 * @param length
+	 *            number of coordinates
+	 * @param precision
+	 *            grid type precision
+	 * @param ids
+	 *            cell ids to populate
+	 * @param idsOffset
+	 *            cell ids offset
+	 */
+	public static void encode(double[] longitudes, double[] latitudes,
+			int offset, int length, GridType precision, long[] ids,
+			int idsOffset) {
+
+		BatchEvent event = Events.getSink().beginBatch();
+
+		for (int i = 0; i < length; i++) {
+			ids[idsOffset + i] = GARSCellId.encodeCoordinate(
+					longitudes[offset + i], latitudes[offset + i], precision);
+		}
+
+		if (event != null) {
+			event.commit(BatchEvent.ENCODE, precision, length, 0);
+		}
+
+	}
+
+	/**
+	 * Decode the southwest corners of all cell ids
+	 *
+	 * @param ids
+	 *            cell ids
+	 * @param longitudes
+	 *            longitudes in degrees to populate
+	 * @param latitudes
+	 *            latitudes in degrees to populate
+	 */
+	public static void decodeSouthwest(long[] ids, double[] longitudes,
+			double[] latitudes) {
+		decodeSouthwest(ids, 0, ids.length, longitudes, latitudes, 0);
+	}
+
+	/**
+	 * Decode the southwest corners of a range of cell ids, equivalent to
+	 * {@link GARSCellId#decodeLongitude(long)} and
+	 * {@link GARSCellId#decodeLatitude(long)} for each row
+	 *
+	 * @param ids
+	 *            cell ids
+	 * @param offset
+	 *            cell ids offset
+	 * @param length
+	 *            number of cell ids
+	 * @param longitudes
+	 *            longitudes in degrees to populate
+	 * @param latitudes
+	 *            latitudes in degrees to populate
+	 * @param coordinatesOffset
+	 *            coordinates offset
+	 */
+	public static void decodeSouthwest(long[] ids, int offset, int length,
+			double[] longitudes, double[] latitudes, int coordinatesOffset) {
+		BatchEvent event = Events.getSink().beginBatch();
+		for (int i = 0; i < length; i++) {
+			long id = ids[offset + i];
+			longitudes[coordinatesOffset + i] = GARSCellId.decodeLongitude(id);
+			latitudes[coordinatesOffset + i] = GARSCellId.decodeLatitude(id);
+		}
+		if (event != null) {
+			event.commit(BatchEvent.DECODE_SOUTHWEST, null, length, 0);
+		}
+	}
+
+	/**
+	 * Decode the centers of all cell ids
+	 *
+	 * @param ids
+	 *            cell ids
+	 * @param longitudes
+	 *            longitudes in degrees to populate
+	 * @param latitudes
+	 *            latitudes in degrees to populate
+	 */
+	public static void decodeCenters(long[] ids, double[] longitudes,
+			double[] latitudes) {
+		decodeCenters(ids, 0, ids.length, longitudes, latitudes, 0);
+	}
+
+	/**
+	 * Decode the centers of a range of cell ids, equivalent to
+	 * {@link GARSCellId#decodeCenterLongitude(long)} and
+	 * {@link GARSCellId#decodeCenterLatitude(long)} for each row
+	 *
+	 * @param ids
+	 *            cell ids
+	 * @param offset
+	 *            cell ids offset
+	 * @param length
+	 *            number of cell ids
+	 * @param longitudes
+	 *            longitudes in degrees to populate
+	 * @param latitudes
+	 *            latitudes in degrees to populate
+	 * @param coordinatesOffset
+	 *            coordinates offset
+	 */
+	public static void decodeCenters(long[] ids, int offset, int length,
+			double[] longitudes, double[] latitudes, int coordinatesOffset) {
+		BatchEvent event = Events.getSink().beginBatch();
+		for (int i = 0; i < length; i++) {
+			long id = ids[offset + i];
+			double halfSize = 0.5 * GARSCellId.getCellSize(id);
+			longitudes[coordinatesOffset + i] = GARSCellId.decodeLongitude(id)
+					+ halfSize;
+			latitudes[coordinatesOffset + i] = GARSCellId.decodeLatitude(id)
+					+ halfSize;
+		}
+		if (event != null) {
+			event.commit(BatchEvent.DECODE_CENTERS, null, length, 0);
+		}
+	}
+
+}
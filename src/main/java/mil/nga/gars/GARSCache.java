@@ -0,0 +1,370 @@
+package mil.nga.gars;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Opt-in flyweight cache of canonical {@link GARS} instances. The cache is a
+ * two level lock free table: one slot per thirty minute cell (band number and
+ * band letters, including the 180 degree and 90 degree edge bands), each
+ * lazily referencing a table of the 36 quadrant and keypad instances. Entries
+ * are populated on first request and never evicted. Once the maximum size is
+ * reached, requests for uncached cells return new instances. Each cache entry
+ * also holds its lazily formatted five minute coordinate string, see
+ * {@link #coordinate(long)}, leaving uncached GARS instances unchanged.
+ *
+ * Memory footprint: the thirty minute cell table is allocated up front at 4
+ * bytes per cell with compressed references (8 without), about 1 MB for the
+ * 260,281 cells. Each populated thirty minute cell adds about 176 bytes for
+ * its quadrant and keypad table, and each cached instance about 104 bytes
+ * including its entry and lazily formatted coordinate string. The worst case
+ * is about 1 MB plus 280 bytes per instance up to the maximum size, 19 MB for
+ * the default maximum size of 65,536.
+ *
+ * @author osbornb
+ */
+public class GARSCache {
+
+	/**
+	 * Default maximum number of cached instances
+	 */
+	public static final int DEFAULT_MAX_SIZE = 1 << 16;
+
+	/**
+	 * Number of band numbers, including the 180 degree edge band
+	 */
+	private static final int BAND_NUMBERS = GARSConstants.MAX_BAND_NUMBER + 1;
+
+	/**
+	 * Number of band letters values, including the 90 degree edge band
+	 */
+	private static final int BAND_VALUES = GARSConstants.MAX_BAND_LETTERS_NUMBER
+			+ 1;
+
+	/**
+	 * Number of quadrants
+	 */
+	private static final int QUADRANTS = 4;
+
+	/**
+	 * Number of keypads
+	 */
+	private static final int KEYPADS = 9;
+
+	/**
+	 * Cache entry of a canonical instance and its coordinate string
+	 */
+	private static class Entry {
+
+		/**
+		 * Canonical GARS
+		 */
+		private final GARS gars;
+
+		/**
+		 * Lazily formatted five minute precision coordinate, benignly racy
+		 */
+		private String coordinate;
+
+		/**
+		 * Constructor
+		 *
+		 * @param gars
+		 *            canonical GARS
+		 */
+		private Entry(GARS gars) {
+			this.gars = gars;
+		}
+
+		/**
+		 * Get the five minute precision coordinate, formatting on first
+		 * request
+		 *
+		 * @return coordinate
+		 */
+		private String coordinate() {
+			String value = coordinate;
+			if (value == null) {
+				value = gars.coordinate();
+				coordinate = value;
+			}
+			return value;
+		}
+
+	}
+
+	/**
+	 * Default shared cache holder, created on first use
+	 */
+	private static class DefaultHolder {
+
+		/**
+		 * Default shared cache
+		 */
+		private static final GARSCache CACHE = new GARSCache();
+
+	}
+
+	/**
+	 * Get the default shared cache
+	 *
+	 * @return default cache
+	 */
+	public static GARSCache getDefault() {
+		return DefaultHolder.CACHE;
+	}
+
+	/**
+	 * Thirty minute cell tables of quadrant and keypad entries
+	 */
+	private final AtomicReferenceArray<AtomicReferenceArray<Entry>> cells = new AtomicReferenceArray<>(
+			BAND_NUMBERS * BAND_VALUES);
+
+	/**
+	 * Maximum number of cached instances
+	 */
+	private final int maxSize;
+
+	/**
+	 * Number of cached instances
+	 */
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * Constructor, default maximum size of {@link #DEFAULT_MAX_SIZE}
+	 */
+	public GARSCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxSize
+	 *            maximum number of cached instances
+	 */
+	public GARSCache(int maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException(
+					"Max size must be non negative: " + maxSize);
+		}
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Get the maximum number of cached instances
+	 *
+	 * @return max size
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Get the number of cached instances
+	 *
+	 * @return size
+	 */
+	public int size() {
+		return size.get();
+	}
+
+	/**
+	 * Get the canonical instance of the cell id, ignoring the cell id
+	 * precision
+	 *
+	 * @param id
+	 *            cell id
+	 * @return canonical GARS, or a new GARS when not cacheable
+	 */
+	public GARS get(long id) {
+		return get(GARSCellId.getBandNumber(id), GARSCellId.getBandValue(id),
+				GARSCellId.getQuadrant(id), GARSCellId.getKeypad(id));
+	}
+
+	/**
+	 * Get the five minute precision coordinate of the cell id, ignoring the
+	 * cell id precision. The string is cached with the canonical instance.
+	 *
+	 * @param id
+	 *            cell id
+	 * @return coordinate
+	 */
+	public String coordinate(long id) {
+		int bandNumber = GARSCellId.getBandNumber(id);
+		int bandValue = GARSCellId.getBandValue(id);
+		int quadrant = GARSCellId.getQuadrant(id);
+		int keypad = GARSCellId.getKeypad(id);
+		String coordinate = null;
+		if (isCacheable(bandNumber, bandValue, quadrant, keypad)) {
+			coordinate = entry(bandNumber, bandValue, quadrant, keypad, null)
+					.coordinate();
+		} else {
+			coordinate = GARS.fromCellId(id).coordinate();
+		}
+		return coordinate;
+	}
+
+	/**
+	 * Get the five minute precision coordinate of the GARS. The string is
+	 * cached with the canonical instance.
+	 *
+	 * @param gars
+	 *            GARS
+	 * @return coordinate
+	 */
+	public String coordinate(GARS gars) {
+		String coordinate = null;
+		String latitude = gars.getLatitude();
+		if (latitude != null && latitude.length() == 2) {
+			int bandValue = GARSUtils.bandValue(latitude);
+			if (isCacheable(gars.getLongitude(), bandValue,
+					gars.getQuadrant(), gars.getKeypad())
+					&& GARSUtils.bandLetters(bandValue).equals(latitude)) {
+				coordinate = entry(gars.getLongitude(), bandValue,
+						gars.getQuadrant(), gars.getKeypad(), gars)
+								.coordinate();
+			}
+		}
+		if (coordinate == null) {
+			coordinate = gars.coordinate();
+		}
+		return coordinate;
+	}
+
+	/**
+	 * Get the canonical instance equal to the GARS
+	 *
+	 * @param gars
+	 *            GARS
+	 * @return canonical GARS, or the GARS when not cacheable
+	 */
+	public GARS get(GARS gars) {
+		GARS canonical = gars;
+		String latitude = gars.getLatitude();
+		if (latitude != null && latitude.length() == 2) {
+			int bandValue = GARSUtils.bandValue(latitude);
+			if (isCacheable(gars.getLongitude(), bandValue,
+					gars.getQuadrant(), gars.getKeypad())
+					&& GARSUtils.bandLetters(bandValue).equals(latitude)) {
+				canonical = entry(gars.getLongitude(), bandValue,
+						gars.getQuadrant(), gars.getKeypad(), gars).gars;
+			}
+		}
+		return canonical;
+	}
+
+	/**
+	 * Get the canonical instance of the GARS values
+	 *
+	 * @param bandNumber
+	 *            longitudinal band number
+	 * @param bandValue
+	 *            latitudinal band letters number
+	 * @param quadrant
+	 *            15 minute quadrant
+	 * @param keypad
+	 *            5 minute keypad
+	 * @return canonical GARS, or a new GARS when not cacheable
+	 */
+	public GARS get(int bandNumber, int bandValue, int quadrant, int keypad) {
+		GARS gars = null;
+		if (isCacheable(bandNumber, bandValue, quadrant, keypad)) {
+			gars = entry(bandNumber, bandValue, quadrant, keypad, null).gars;
+		} else {
+			gars = new GARS(bandNumber, GARSUtils.bandLetters(bandValue),
+					quadrant, keypad);
+		}
+		return gars;
+	}
+
+	/**
+	 * Get or populate the entry of cacheable GARS values. Once the maximum
+	 * size is reached, uncached values return an uncached entry.
+	 *
+	 * @param bandNumber
+	 *            longitudinal band number
+	 * @param bandValue
+	 *            latitudinal band letters number
+	 * @param quadrant
+	 *            15 minute quadrant
+	 * @param keypad
+	 *            5 minute keypad
+	 * @param gars
+	 *            equal GARS to cache, null to create
+	 * @return entry
+	 */
+	private Entry entry(int bandNumber, int bandValue, int quadrant,
+			int keypad, GARS gars) {
+
+		int cellIndex = (bandNumber - 1) * BAND_VALUES + bandValue - 1;
+		int index = (quadrant - 1) * KEYPADS + keypad - 1;
+
+		AtomicReferenceArray<Entry> cell = cells.get(cellIndex);
+		Entry entry = cell != null ? cell.get(index) : null;
+
+		if (entry == null) {
+
+			if (gars == null) {
+				gars = new GARS(bandNumber, GARSUtils.bandLetters(bandValue),
+						quadrant, keypad);
+			}
+			entry = new Entry(gars);
+
+			if (reserve()) {
+				if (cell == null) {
+					cell = new AtomicReferenceArray<>(QUADRANTS * KEYPADS);
+					if (!cells.compareAndSet(cellIndex, null, cell)) {
+						cell = cells.get(cellIndex);
+					}
+				}
+				if (!cell.compareAndSet(index, null, entry)) {
+					size.decrementAndGet();
+					entry = cell.get(index);
+				}
+			}
+
+		}
+
+		return entry;
+	}
+
+	/**
+	 * Reserve space for a cached instance
+	 *
+	 * @return true if reserved, false if at the maximum size
+	 */
+	private boolean reserve() {
+		int current;
+		do {
+			current = size.get();
+			if (current >= maxSize) {
+				return false;
+			}
+		} while (!size.compareAndSet(current, current + 1));
+		return true;
+	}
+
+	/**
+	 * Check if the GARS values are within the cached ranges
+	 *
+	 * @param bandNumber
+	 *            longitudinal band number
+	 * @param bandValue
+	 *            latitudinal band letters number
+	 * @param quadrant
+	 *            15 minute quadrant
+	 * @param keypad
+	 *            5 minute keypad
+	 * @return true if cacheable
+	 */
+	private static boolean isCacheable(int bandNumber, int bandValue,
+			int quadrant, int keypad) {
+		return bandNumber >= GARSConstants.MIN_BAND_NUMBER
+				&& bandNumber <= BAND_NUMBERS
+				&& bandValue >= GARSConstants.MIN_BAND_LETTERS_NUMBER
+				&& bandValue <= BAND_VALUES && quadrant >= 1
+				&& quadrant <= QUADRANTS && keypad >= 1 && keypad <= KEYPADS;
+	}
+
+}
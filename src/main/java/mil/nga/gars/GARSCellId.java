@@ -0,0 +1,443 @@
+package mil.nga.gars;
+
+import mil.nga.gars.grid.GridType;
+import mil.nga.sf.util.GeometryConstants;
+
+/**
+ * Packed primitive GARS cell identifier. The longitudinal band number,
+ * latitudinal band letters number, 15 minute quadrant, 5 minute keypad and
+ * grid type precision are packed into a single non negative long, allowing
+ * encoding and decoding without object allocation.
+ *
+ * Bit layout (least significant first): keypad (4 bits), quadrant (3 bits),
+ * band letters number (10 bits), band number (10 bits), precision grid type
+ * ordinal (3 bits)
+ *
+ * @author osbornb
+ */
+public class GARSCellId {
+
+	/**
+	 * Keypad bit shift
+	 */
+	private static final int KEYPAD_SHIFT = 0;
+
+	/**
+	 * Keypad bit mask
+	 */
+	private static final int KEYPAD_MASK = 0xF;
+
+	/**
+	 * Quadrant bit shift
+	 */
+	private static final int QUADRANT_SHIFT = 4;
+
+	/**
+	 * Quadrant bit mask
+	 */
+	private static final int QUADRANT_MASK = 0x7;
+
+	/**
+	 * Band letters number bit shift
+	 */
+	private static final int BAND_VALUE_SHIFT = 7;
+
+	/**
+	 * Band letters number bit mask
+	 */
+	private static final int BAND_VALUE_MASK = 0x3FF;
+
+	/**
+	 * Band number bit shift
+	 */
+	private static final int BAND_NUMBER_SHIFT = 17;
+
+	/**
+	 * Band number bit mask
+	 */
+	private static final int BAND_NUMBER_MASK = 0x3FF;
+
+	/**
+	 * Precision bit shift
+	 */
+	private static final int PRECISION_SHIFT = 27;
+
+	/**
+	 * Precision bit mask
+	 */
+	private static final int PRECISION_MASK = 0x7;
+
+	/**
+	 * Grid types indexed by ordinal
+	 */
+	private static final GridType[] GRID_TYPES = GridType.values();
+
+	/**
+	 * Fifteen minute precision ordinal
+	 */
+	private static final int FIFTEEN_MINUTE = GridType.FIFTEEN_MINUTE
+			.ordinal();
+
+	/**
+	 * Five minute precision ordinal
+	 */
+	private static final int FIVE_MINUTE = GridType.FIVE_MINUTE.ordinal();
+
+	/**
+	 * Cell sizes in degrees indexed by precision ordinal
+	 */
+	private static final double[] CELL_SIZES = new double[PRECISION_MASK + 1];
+
+	static {
+		for (GridType type : GRID_TYPES) {
+			CELL_SIZES[type.ordinal()] = Math.min(type.getPrecision(),
+					GridType.THIRTY_MINUTE.getPrecision());
+		}
+	}
+
+	/**
+	 * Encode the coordinate as a five minute precision cell id
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @return cell id
+	 */
+	public static long encode(double longitude, double latitude) {
+		return encode(longitude, latitude, GridType.FIVE_MINUTE);
+	}
+
+	/**
+	 * Encode the coordinate as a cell id with the grid type precision
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @param precision
+	 *            grid type precision
+	 * @return cell id
+	 */
+	public static long encode(double longitude, double latitude,
+			GridType precision) {
+		return encodeCoordinate(longitude, latitude, precision);
+	}
+
+	/**
+	 * Encode the coordinate as a cell id with the grid type precision, shared
+	 * by single and {@link GARSBatch} bulk encoding
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @param latitude
+	 *            latitude in degrees
+	 * @param precision
+	 *            grid type precision
+	 * @return cell id
+	 */
+	static long encodeCoordinate(double longitude, double latitude,
+			GridType precision) {
+
+		final double halfWidth = GeometryConstants.WGS84_HALF_WORLD_LON_WIDTH;
+		final double width = 2 * halfWidth;
+
+		// Bound the latitude and normalize the longitude
+		latitude = Math.min(Math.max(latitude, GARSConstants.MIN_LAT),
+				GARSConstants.MAX_LAT);
+		longitude += (longitude < -halfWidth ? width : 0.0)
+				- (longitude > halfWidth ? width : 0.0);
+
+		double lon = GARSUtils.getLongitudeDecimalBand(longitude);
+		double lat = GARSUtils.getLatitudeDecimalBandValue(latitude);
+
+		int lonInt = (int) lon;
+		int latInt = (int) lat;
+
+		double quadrantColumn = (lon - lonInt) * 2.0;
+		double quadrantRow = (lat - latInt) * 2.0;
+
+		int quadrantColumnInt = (int) quadrantColumn;
+		int quadrantRowInt = (int) quadrantRow;
+
+		int keypadColumn = (int) ((quadrantColumn - quadrantColumnInt) * 3.0);
+		int keypadRow = (int) ((quadrantRow - quadrantRowInt) * 3.0);
+
+		return encode(lonInt, latInt,
+				GARSUtils.quadrant(quadrantColumnInt, quadrantRowInt),
+				GARSUtils.keypad(keypadColumn, keypadRow), precision);
+	}
+
+	/**
+	 * Encode the GARS values as a five minute precision cell id
+	 *
+	 * @param longitude
+	 *            longitudinal band number
+	 * @param latitude
+	 *            latitudinal band letters number
+	 * @param quadrant
+	 *            15 minute quadrant
+	 * @param keypad
+	 *            5 minute keypad
+	 * @return cell id
+	 */
+	public static long encode(int longitude, int latitude, int quadrant,
+			int keypad) {
+		return encode(longitude, latitude, quadrant, keypad,
+				GridType.FIVE_MINUTE);
+	}
+
+	/**
+	 * Encode the GARS values as a cell id with the grid type precision
+	 *
+	 * @param longitude
+	 *            longitudinal band number
+	 * @param latitude
+	 *            latitudinal band letters number
+	 * @param quadrant
+	 *            15 minute quadrant
+	 * @param keypad
+	 *            5 minute keypad
+	 * @param precision
+	 *            grid type precision, null for five minute
+	 * @return cell id
+	 */
+	public static long encode(int longitude, int latitude, int quadrant,
+			int keypad, GridType precision) {
+		if (precision == null) {
+			precision = GridType.FIVE_MINUTE;
+		}
+		return ((long) (precision.ordinal() & PRECISION_MASK) << PRECISION_SHIFT)
+				| ((long) (longitude & BAND_NUMBER_MASK) << BAND_NUMBER_SHIFT)
+				| ((long) (latitude & BAND_VALUE_MASK) << BAND_VALUE_SHIFT)
+				| ((long) (quadrant & QUADRANT_MASK) << QUADRANT_SHIFT)
+				| ((long) (keypad & KEYPAD_MASK) << KEYPAD_SHIFT);
+	}
+
+	/**
+	 * Get the longitudinal band number
+	 *
+	 * @param id
+	 *            cell id
+	 * @return longitude band number
+	 */
+	public static int getBandNumber(long id) {
+		return (int) (id >>> BAND_NUMBER_SHIFT) & BAND_NUMBER_MASK;
+	}
+
+	/**
+	 * Get the latitudinal band letters number equivalent
+	 *
+	 * @param id
+	 *            cell id
+	 * @return latitude band letters number
+	 */
+	public static int getBandValue(long id) {
+		return (int) (id >>> BAND_VALUE_SHIFT) & BAND_VALUE_MASK;
+	}
+
+	/**
+	 * Get the latitudinal band letters
+	 *
+	 * @param id
+	 *            cell id
+	 * @return latitude band letters
+	 */
+	public static String getBandLetters(long id) {
+		return GARSUtils.bandLetters(getBandValue(id));
+	}
+
+	/**
+	 * Append the GARS coordinate of the cell id with the grid type precision,
+	 * without creating a {@link GARS} for valid cell ids
+	 *
+	 * @param id
+	 *            cell id
+	 * @param builder
+	 *            string builder
+	 * @param type
+	 *            grid type precision, null for five minute
+	 * @return string builder
+	 */
+	public static StringBuilder appendTo(long id, StringBuilder builder,
+			GridType type) {
+		if (isValid(id)) {
+			int bandNumber = getBandNumber(id);
+			builder.append((char) ('0' + bandNumber / 100));
+			builder.append((char) ('0' + bandNumber / 10 % 10));
+			builder.append((char) ('0' + bandNumber % 10));
+			builder.append(getBandLetters(id));
+			if (type == null || type.ordinal() >= FIFTEEN_MINUTE) {
+				builder.append((char) ('0' + getQuadrant(id)));
+				if (type == null || type.ordinal() >= FIVE_MINUTE) {
+					builder.append((char) ('0' + getKeypad(id)));
+				}
+			}
+		} else {
+			GARS.fromCellId(id).appendTo(builder, type);
+		}
+		return builder;
+	}
+
+	/**
+	 * Get the 15 minute quadrant
+	 *
+	 * @param id
+	 *            cell id
+	 * @return quadrant
+	 */
+	public static int getQuadrant(long id) {
+		return (int) (id >>> QUADRANT_SHIFT) & QUADRANT_MASK;
+	}
+
+	/**
+	 * Get the 5 minute keypad
+	 *
+	 * @param id
+	 *            cell id
+	 * @return keypad
+	 */
+	public static int getKeypad(long id) {
+		return (int) (id >>> KEYPAD_SHIFT) & KEYPAD_MASK;
+	}
+
+	/**
+	 * Get the grid type precision
+	 *
+	 * @param id
+	 *            cell id
+	 * @return grid type precision
+	 * @throws IllegalArgumentException
+	 *             if the precision is not a grid type ordinal
+	 */
+	public static GridType getPrecision(long id) {
+		int precision = (int) (id >>> PRECISION_SHIFT) & PRECISION_MASK;
+		if (precision >= GRID_TYPES.length) {
+			throw new IllegalArgumentException(
+					"Invalid cell id precision: " + precision);
+		}
+		return GRID_TYPES[precision];
+	}
+
+	/**
+	 * Set the grid type precision of the cell id
+	 *
+	 * @param id
+	 *            cell id
+	 * @param precision
+	 *            grid type precision
+	 * @return cell id with the precision
+	 */
+	public static long withPrecision(long id, GridType precision) {
+		return (id & ~((long) PRECISION_MASK << PRECISION_SHIFT))
+				| ((long) (precision.ordinal()
+						& PRECISION_MASK) << PRECISION_SHIFT);
+	}
+
+	/**
+	 * Decode the southwest corner longitude of the cell id at its precision
+	 *
+	 * @param id
+	 *            cell id
+	 * @return longitude in degrees
+	 */
+	public static double decodeLongitude(long id) {
+		int precision = (int) (id >>> PRECISION_SHIFT) & PRECISION_MASK;
+		int quadrant = getQuadrant(id);
+		int keypad = getKeypad(id);
+		int quadrantColumn = (quadrant & 1) ^ 1;
+		int keypadColumn = (keypad - 1) % 3;
+		double longitude = GARSConstants.MIN_LON
+				+ (getBandNumber(id) - 1) * GridType.THIRTY_MINUTE.getPrecision();
+		if (precision >= FIFTEEN_MINUTE) {
+			longitude += quadrantColumn * GridType.FIFTEEN_MINUTE.getPrecision();
+			if (precision >= FIVE_MINUTE) {
+				longitude += keypadColumn * GridType.FIVE_MINUTE.getPrecision();
+			}
+		}
+		return longitude;
+	}
+
+	/**
+	 * Decode the southwest corner latitude of the cell id at its precision
+	 *
+	 * @param id
+	 *            cell id
+	 * @return latitude in degrees
+	 */
+	public static double decodeLatitude(long id) {
+		int precision = (int) (id >>> PRECISION_SHIFT) & PRECISION_MASK;
+		int quadrant = getQuadrant(id);
+		int keypad = getKeypad(id);
+		int quadrantRow = 1 - ((quadrant - 1) >> 1);
+		int keypadRow = 2 - (keypad - 1) / 3;
+		double latitude = GARSConstants.MIN_LAT
+				+ (getBandValue(id) - 1) * GridType.THIRTY_MINUTE.getPrecision();
+		if (precision >= FIFTEEN_MINUTE) {
+			latitude += quadrantRow * GridType.FIFTEEN_MINUTE.getPrecision();
+			if (precision >= FIVE_MINUTE) {
+				latitude += keypadRow * GridType.FIVE_MINUTE.getPrecision();
+			}
+		}
+		return latitude;
+	}
+
+	/**
+	 * Decode the center longitude of the cell id at its precision
+	 *
+	 * @param id
+	 *            cell id
+	 * @return longitude in degrees
+	 */
+	public static double decodeCenterLongitude(long id) {
+		return decodeLongitude(id) + 0.5 * getCellSize(id);
+	}
+
+	/**
+	 * Decode the center latitude of the cell id at its precision
+	 *
+	 * @param id
+	 *            cell id
+	 * @return latitude in degrees
+	 */
+	public static double decodeCenterLatitude(long id) {
+		return decodeLatitude(id) + 0.5 * getCellSize(id);
+	}
+
+	/**
+	 * Get the cell width and height in degrees at the cell id precision,
+	 * where precisions less precise than thirty minutes are thirty minute
+	 * cells
+	 *
+	 * @param id
+	 *            cell id
+	 * @return cell size in degrees
+	 */
+	public static double getCellSize(long id) {
+		int precision = (int) (id >>> PRECISION_SHIFT) & PRECISION_MASK;
+		return CELL_SIZES[precision];
+	}
+
+	/**
+	 * Check if the cell id band number, band letters, quadrant, keypad and
+	 * precision are within the valid GARS ranges
+	 *
+	 * @param id
+	 *            cell id
+	 * @return true if valid
+	 */
+	public static boolean isValid(long id) {
+		int precision = (int) (id >>> PRECISION_SHIFT) & PRECISION_MASK;
+		int longitude = getBandNumber(id);
+		int latitude = getBandValue(id);
+		int quadrant = getQuadrant(id);
+		int keypad = getKeypad(id);
+		return id >= 0 && longitude >= GARSConstants.MIN_BAND_NUMBER
+				&& longitude <= GARSConstants.MAX_BAND_NUMBER
+				&& latitude >= GARSConstants.MIN_BAND_LETTERS_NUMBER
+				&& latitude <= GARSConstants.MAX_BAND_LETTERS_NUMBER
+				&& quadrant >= 1 && quadrant <= 4 && keypad >= 1
+				&& keypad <= 9 && precision < GRID_TYPES.length;
+	}
+
+}
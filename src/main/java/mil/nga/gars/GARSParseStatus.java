@@ -0,0 +1,100 @@
+package mil.nga.gars;
+
+/**
+ * GARS string parse status, reported without exceptions by the non throwing
+ * parse methods
+ *
+ * @author osbornb
+ */
+public enum GARSParseStatus {
+
+	/**
+	 * Valid GARS string
+	 */
+	VALID(0),
+
+	/**
+	 * Invalid three digit band number or band number out of range
+	 */
+	INVALID_BAND_NUMBER(GARSParser.INVALID_BAND_NUMBER),
+
+	/**
+	 * Invalid two character band letters or band letters out of range
+	 */
+	INVALID_BAND_LETTERS(GARSParser.INVALID_BAND_LETTERS),
+
+	/**
+	 * Invalid 15 minute quadrant
+	 */
+	INVALID_QUADRANT(GARSParser.INVALID_QUADRANT),
+
+	/**
+	 * Invalid 5 minute keypad
+	 */
+	INVALID_KEYPAD(GARSParser.INVALID_KEYPAD),
+
+	/**
+	 * Too few or too many characters
+	 */
+	INVALID_LENGTH(GARSParser.INVALID_LENGTH);
+
+	/**
+	 * Parser result code
+	 */
+	private final long result;
+
+	/**
+	 * Constructor
+	 *
+	 * @param result
+	 *            parser result code
+	 */
+	private GARSParseStatus(long result) {
+		this.result = result;
+	}
+
+	/**
+	 * Get the negative parser result code, 0 when valid
+	 *
+	 * @return result code
+	 */
+	public long getResult() {
+		return result;
+	}
+
+	/**
+	 * Is the status valid
+	 *
+	 * @return true if valid
+	 */
+	public boolean isValid() {
+		return this == VALID;
+	}
+
+	/**
+	 * Get the status of a parser result, where a non negative result is a
+	 * valid cell id
+	 *
+	 * @param result
+	 *            parser result
+	 * @return parse status
+	 */
+	public static GARSParseStatus fromResult(long result) {
+		GARSParseStatus status = null;
+		if (result >= 0) {
+			status = VALID;
+		} else if (result == GARSParser.INVALID_BAND_NUMBER) {
+			status = INVALID_BAND_NUMBER;
+		} else if (result == GARSParser.INVALID_BAND_LETTERS) {
+			status = INVALID_BAND_LETTERS;
+		} else if (result == GARSParser.INVALID_QUADRANT) {
+			status = INVALID_QUADRANT;
+		} else if (result == GARSParser.INVALID_KEYPAD) {
+			status = INVALID_KEYPAD;
+		} else {
+			status = INVALID_LENGTH;
+		}
+		return status;
+	}
+
+}
@@ -0,0 +1,499 @@
+package mil.nga.gars;
+
+import java.nio.ByteBuffer;
+
+import mil.nga.gars.grid.GridType;
+import mil.nga.gars.metrics.EventSink.BatchEvent;
+import mil.nga.gars.metrics.Events;
+import mil.nga.grid.GridConstants;
+
+/**
+ * Single pass GARS string parser and validator. Characters are scanned
+ * directly into a packed {@link GARSCellId} without regular expressions,
+ * intermediate strings or matcher allocations. Accepts the same values as
+ * the GARS string pattern: whitespace is ignored, followed by a three digit
+ * band number, two case insensitive band letters (omitting I and O), an
+ * optional quadrant (1-4) and an optional keypad (1-9).
+ *
+ * @author osbornb
+ */
+public class GARSParser {
+
+	/**
+	 * Invalid band number result
+	 */
+	static final long INVALID_BAND_NUMBER = -1;
+
+	/**
+	 * Invalid band letters result
+	 */
+	static final long INVALID_BAND_LETTERS = -2;
+
+	/**
+	 * Invalid quadrant result
+	 */
+	static final long INVALID_QUADRANT = -3;
+
+	/**
+	 * Invalid keypad result
+	 */
+	static final long INVALID_KEYPAD = -4;
+
+	/**
+	 * Invalid length result
+	 */
+	static final long INVALID_LENGTH = -5;
+
+	/**
+	 * Scan state band number bit shift
+	 */
+	private static final int NUMBER_SHIFT = 0;
+
+	/**
+	 * Scan state band letters number bit shift
+	 */
+	private static final int LETTERS_SHIFT = 10;
+
+	/**
+	 * Scan state quadrant bit shift
+	 */
+	private static final int QUADRANT_SHIFT = 20;
+
+	/**
+	 * Scan state keypad bit shift
+	 */
+	private static final int KEYPAD_SHIFT = 23;
+
+	/**
+	 * Scan state character count bit shift
+	 */
+	private static final int COUNT_SHIFT = 27;
+
+	/**
+	 * Scan state ten bit field mask
+	 */
+	private static final int FIELD_MASK = 0x3FF;
+
+	/**
+	 * Scan state quadrant mask
+	 */
+	private static final int QUADRANT_MASK = 0x7;
+
+	/**
+	 * Scan state keypad and count mask
+	 */
+	private static final int NIBBLE_MASK = 0xF;
+
+	/**
+	 * Number of characters through the band letters
+	 */
+	private static final int THIRTY_MINUTE_LENGTH = 5;
+
+	/**
+	 * Number of characters through the quadrant
+	 */
+	private static final int FIFTEEN_MINUTE_LENGTH = 6;
+
+	/**
+	 * Number of characters through the keypad
+	 */
+	private static final int FIVE_MINUTE_LENGTH = 7;
+
+	/**
+	 * Band letter number values indexed by ASCII character, 0 when not a band
+	 * letter
+	 */
+	private static final byte[] LETTER_VALUES = new byte[128];
+
+	static {
+		for (char letter = GARSConstants.MIN_BAND_LETTER; //
+				letter <= GARSConstants.MAX_BAND_LETTER; letter++) {
+			if (letter != GridConstants.BAND_LETTER_OMIT_I
+					&& letter != GridConstants.BAND_LETTER_OMIT_O) {
+				byte value = (byte) GARSUtils.bandValue(letter);
+				LETTER_VALUES[letter] = value;
+				LETTER_VALUES[Character.toLowerCase(letter)] = value;
+			}
+		}
+	}
+
+	/**
+	 * Parse the GARS string into a cell id, validating the band number and
+	 * band letters ranges
+	 *
+	 * @param gars
+	 *            GARS string
+	 * @return cell id, or a negative {@link GARSParseStatus} result when
+	 *         invalid
+	 */
+	public static long parse(CharSequence gars) {
+		return validateRanges(scan(gars));
+	}
+
+	/**
+	 * Parse the GARS characters within the character sequence range into a
+	 * cell id, validating the band number and band letters ranges
+	 *
+	 * @param gars
+	 *            character sequence
+	 * @param start
+	 *            start index, inclusive
+	 * @param end
+	 *            end index, exclusive
+	 * @return cell id, or a negative {@link GARSParseStatus} result when
+	 *         invalid
+	 */
+	public static long parse(CharSequence gars, int start, int end) {
+		return validateRanges(scan(gars, start, end));
+	}
+
+	/**
+	 * Parse the GARS characters within the character array range into a cell
+	 * id, validating the band number and band letters ranges
+	 *
+	 * @param gars
+	 *            character array
+	 * @param offset
+	 *            array offset
+	 * @param length
+	 *            number of characters
+	 * @return cell id, or a negative {@link GARSParseStatus} result when
+	 *         invalid
+	 */
+	public static long parse(char[] gars, int offset, int length) {
+		long state = 0;
+		for (int i = offset, end = offset + length; i < end; i++) {
+			state = next(state, gars[i]);
+		}
+		return validateRanges(finish(state));
+	}
+
+	/**
+	 * Parse the ASCII GARS bytes within the byte array range into a cell id,
+	 * validating the band number and band letters ranges
+	 *
+	 * @param gars
+	 *            ASCII byte array
+	 * @param offset
+	 *            array offset
+	 * @param length
+	 *            number of bytes
+	 * @return cell id, or a negative {@link GARSParseStatus} result when
+	 *         invalid
+	 */
+	public static long parse(byte[] gars, int offset, int length) {
+		long state = 0;
+		for (int i = offset, end = offset + length; i < end; i++) {
+			state = next(state, (char) (gars[i] & 0xFF));
+		}
+		return validateRanges(finish(state));
+	}
+
+	/**
+	 * Parse the ASCII GARS bytes remaining in the buffer (position to limit)
+	 * into a cell id, validating the band number and band letters ranges. The
+	 * buffer position is not modified.
+	 *
+	 * @param gars
+	 *            ASCII byte buffer
+	 * @return cell id, or a negative {@link GARSParseStatus} result when
+	 *         invalid
+	 */
+	public static long parse(ByteBuffer gars) {
+		return parse(gars, gars.position(), gars.remaining());
+	}
+
+	/**
+	 * Parse the ASCII GARS bytes within the absolute buffer range into a cell
+	 * id, validating the band number and band letters ranges. The buffer
+	 * position is not modified.
+	 *
+	 * @param gars
+	 *            ASCII byte buffer
+	 * @param index
+	 *            absolute buffer index
+	 * @param length
+	 *            number of bytes
+	 * @return cell id, or a negative {@link GARSParseStatus} result when
+	 *         invalid
+	 */
+	public static long parse(ByteBuffer gars, int index, int length) {
+		long state = 0;
+		for (int i = index, end = index + length; i < end; i++) {
+			state = next(state, (char) (gars.get(i) & 0xFF));
+		}
+		return validateRanges(finish(state));
+	}
+
+	/**
+	 * Parse the GARS strings into cell ids without exceptions
+	 *
+	 * @param values
+	 *            GARS strings
+	 * @param offset
+	 *            values offset
+	 * @param length
+	 *            number of values
+	 * @param results
+	 *            cell id or negative {@link GARSParseStatus} result for each
+	 *            value
+	 * @param resultsOffset
+	 *            results offset
+	 * @return number of valid GARS strings
+	 */
+	public static int parse(CharSequence[] values, int offset, int length,
+			long[] results, int resultsOffset) {
+		BatchEvent event = Events.getSink().beginBatch();
+		int valid = 0;
+		for (int i = 0; i < length; i++) {
+			long result = parse(values[offset + i]);
+			results[resultsOffset + i] = result;
+			if (result >= 0) {
+				valid++;
+			}
+		}
+		if (event != null) {
+			event.commit(BatchEvent.PARSE, null, length, length - valid);
+		}
+		return valid;
+	}
+
+	/**
+	 * Get the parse status of the GARS string
+	 *
+	 * @param gars
+	 *            GARS string
+	 * @return parse status
+	 */
+	public static GARSParseStatus status(CharSequence gars) {
+		return GARSParseStatus.fromResult(parse(gars));
+	}
+
+	/**
+	 * Get the parse status of the GARS characters within the character
+	 * sequence range
+	 *
+	 * @param gars
+	 *            character sequence
+	 * @param start
+	 *            start index, inclusive
+	 * @param end
+	 *            end index, exclusive
+	 * @return parse status
+	 */
+	public static GARSParseStatus status(CharSequence gars, int start,
+			int end) {
+		return GARSParseStatus.fromResult(parse(gars, start, end));
+	}
+
+	/**
+	 * Get the parse status of the GARS characters within the character array
+	 * range
+	 *
+	 * @param gars
+	 *            character array
+	 * @param offset
+	 *            array offset
+	 * @param length
+	 *            number of characters
+	 * @return parse status
+	 */
+	public static GARSParseStatus status(char[] gars, int offset,
+			int length) {
+		return GARSParseStatus.fromResult(parse(gars, offset, length));
+	}
+
+	/**
+	 * Get the parse status of the ASCII GARS bytes within the byte array range
+	 *
+	 * @param gars
+	 *            ASCII byte array
+	 * @param offset
+	 *            array offset
+	 * @param length
+	 *            number of bytes
+	 * @return parse status
+	 */
+	public static GARSParseStatus status(byte[] gars, int offset,
+			int length) {
+		return GARSParseStatus.fromResult(parse(gars, offset, length));
+	}
+
+	/**
+	 * Get the parse status of the ASCII GARS bytes remaining in the buffer
+	 * (position to limit). The buffer position is not modified.
+	 *
+	 * @param gars
+	 *            ASCII byte buffer
+	 * @return parse status
+	 */
+	public static GARSParseStatus status(ByteBuffer gars) {
+		return GARSParseStatus.fromResult(parse(gars));
+	}
+
+	/**
+	 * Scan the GARS string pattern into a cell id without validating the band
+	 * number and band letters ranges
+	 *
+	 * @param gars
+	 *            GARS string
+	 * @return cell id, or a negative value when not matching the pattern
+	 */
+	static long scan(CharSequence gars) {
+		return scan(gars, 0, gars.length());
+	}
+
+	/**
+	 * Scan the GARS pattern within the character sequence range into a cell
+	 * id without validating the band number and band letters ranges
+	 *
+	 * @param gars
+	 *            character sequence
+	 * @param start
+	 *            start index, inclusive
+	 * @param end
+	 *            end index, exclusive
+	 * @return cell id, or a negative value when not matching the pattern
+	 */
+	static long scan(CharSequence gars, int start, int end) {
+		long state = 0;
+		for (int i = start; i < end; i++) {
+			state = next(state, gars.charAt(i));
+		}
+		return finish(state);
+	}
+
+	/**
+	 * Validate the band number and band letters ranges of a scanned cell id
+	 *
+	 * @param id
+	 *            scanned cell id or negative invalid result
+	 * @return cell id, or a negative value when invalid
+	 */
+	static long validateRanges(long id) {
+		if (id >= 0) {
+			int longitude = GARSCellId.getBandNumber(id);
+			if (longitude < GARSConstants.MIN_BAND_NUMBER
+					|| longitude > GARSConstants.MAX_BAND_NUMBER) {
+				id = INVALID_BAND_NUMBER;
+			} else {
+				int latitude = GARSCellId.getBandValue(id);
+				if (latitude < GARSConstants.MIN_BAND_LETTERS_NUMBER
+						|| latitude > GARSConstants.MAX_BAND_LETTERS_NUMBER) {
+					id = INVALID_BAND_LETTERS;
+				}
+			}
+		}
+		return id;
+	}
+
+	/**
+	 * Scan the next character into the scan state
+	 *
+	 * @param state
+	 *            scan state, negative when already invalid
+	 * @param c
+	 *            character
+	 * @return updated scan state
+	 */
+	static long next(long state, char c) {
+
+		if (state < 0 || isWhitespace(c)) {
+			return state;
+		}
+
+		int count = (int) (state >>> COUNT_SHIFT) & NIBBLE_MASK;
+
+		switch (count) {
+		case 0:
+		case 1:
+		case 2:
+			if (c < '0' || c > '9') {
+				return INVALID_BAND_NUMBER;
+			}
+			int number = (int) (state >>> NUMBER_SHIFT) & FIELD_MASK;
+			number = number * 10 + (c - '0');
+			state = (state & ~((long) FIELD_MASK << NUMBER_SHIFT))
+					| ((long) number << NUMBER_SHIFT);
+			break;
+		case 3:
+		case 4:
+			int letter = c < LETTER_VALUES.length ? LETTER_VALUES[c] : 0;
+			if (letter == 0) {
+				return INVALID_BAND_LETTERS;
+			}
+			int letters = (int) (state >>> LETTERS_SHIFT) & FIELD_MASK;
+			letters = count == 3 ? letter : 24 * (letters - 1) + letter;
+			state = (state & ~((long) FIELD_MASK << LETTERS_SHIFT))
+					| ((long) letters << LETTERS_SHIFT);
+			break;
+		case 5:
+			if (c < '1' || c > '4') {
+				return INVALID_QUADRANT;
+			}
+			state |= (long) (c - '0') << QUADRANT_SHIFT;
+			break;
+		case 6:
+			if (c < '1' || c > '9') {
+				return INVALID_KEYPAD;
+			}
+			state |= (long) (c - '0') << KEYPAD_SHIFT;
+			break;
+		default:
+			return INVALID_LENGTH;
+		}
+
+		return state + (1L << COUNT_SHIFT);
+	}
+
+	/**
+	 * Finish the scan state into a cell id
+	 *
+	 * @param state
+	 *            scan state, negative when invalid
+	 * @return cell id, or a negative value when invalid
+	 */
+	static long finish(long state) {
+
+		if (state < 0) {
+			return state;
+		}
+
+		int count = (int) (state >>> COUNT_SHIFT) & NIBBLE_MASK;
+		if (count < THIRTY_MINUTE_LENGTH) {
+			return INVALID_LENGTH;
+		}
+
+		int longitude = (int) (state >>> NUMBER_SHIFT) & FIELD_MASK;
+		int latitude = (int) (state >>> LETTERS_SHIFT) & FIELD_MASK;
+		int quadrant = GARSConstants.DEFAULT_QUADRANT;
+		int keypad = GARSConstants.DEFAULT_KEYPAD;
+		GridType precision = GridType.THIRTY_MINUTE;
+
+		if (count >= FIFTEEN_MINUTE_LENGTH) {
+			quadrant = (int) (state >>> QUADRANT_SHIFT) & QUADRANT_MASK;
+			precision = GridType.FIFTEEN_MINUTE;
+			if (count >= FIVE_MINUTE_LENGTH) {
+				keypad = (int) (state >>> KEYPAD_SHIFT) & NIBBLE_MASK;
+				precision = GridType.FIVE_MINUTE;
+			}
+		}
+
+		return GARSCellId.encode(longitude, latitude, quadrant, keypad,
+				precision);
+	}
+
+	/**
+	 * Is the character a whitespace character removed before matching
+	 * ({@code \s}: space, tab, new line, vertical tab, form feed, carriage
+	 * return)
+	 *
+	 * @param c
+	 *            character
+	 * @return true if whitespace
+	 */
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || (c >= '\t' && c <= '\r');
+	}
+
+}
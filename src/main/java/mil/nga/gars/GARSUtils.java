@@ -15,6 +15,29 @@ import mil.nga.grid.features.Bounds;
  */
 public class GARSUtils {
 
+	/**
+	 * Interned latitude band letters indexed by band value, including the
+	 * band value above the northern most band produced at 90 degrees
+	 */
+	private static final String[] BAND_LETTERS = new String[GARSConstants.MAX_BAND_LETTERS_NUMBER
+			+ 2];
+
+	/**
+	 * Latitude character band values indexed by ASCII character, upper or
+	 * lower case
+	 */
+	private static final int[] BAND_VALUES = new int[128];
+
+	static {
+		for (int value = GARSConstants.MIN_BAND_LETTERS_NUMBER;
+				value < BAND_LETTERS.length; value++) {
+			BAND_LETTERS[value] = createBandLetters(value).intern();
+		}
+		for (char c = 0; c < BAND_VALUES.length; c++) {
+			BAND_VALUES[c] = bandValue(Character.toUpperCase(c));
+		}
+	}
+
 	/**
 	 * Get the longitude from the longitude band
 	 * 
@@ -116,10 +139,18 @@ public class GARSUtils {
 	 * @return number band value
 	 */
 	public static int bandValue(String latitudeBand) {
-		String latitude = latitudeBand.toUpperCase();
-		int latitude1 = bandValue(latitude.charAt(0));
-		int latitude2 = bandValue(latitude.charAt(1));
-		return 24 * (latitude1 - 1) + latitude2;
+		char latitude1 = latitudeBand.charAt(0);
+		char latitude2 = latitudeBand.charAt(1);
+		int value;
+		if (latitude1 < BAND_VALUES.length && latitude2 < BAND_VALUES.length) {
+			value = 24 * (BAND_VALUES[latitude1] - 1)
+					+ BAND_VALUES[latitude2];
+		} else {
+			String latitude = latitudeBand.toUpperCase();
+			value = 24 * (bandValue(latitude.charAt(0)) - 1)
+					+ bandValue(latitude.charAt(1));
+		}
+		return value;
 	}
 
 	/**
@@ -149,11 +180,29 @@ public class GARSUtils {
 	 * @return two character latitude band
 	 */
 	public static String bandLetters(int bandValue) {
+		String letters;
+		if (bandValue >= GARSConstants.MIN_BAND_LETTERS_NUMBER
+				&& bandValue < BAND_LETTERS.length) {
+			letters = BAND_LETTERS[bandValue];
+		} else {
+			letters = createBandLetters(bandValue);
+		}
+		return letters;
+	}
+
+	/**
+	 * Create the latitude band from the band number
+	 * 
+	 * @param bandValue
+	 *            number band value
+	 * @return two character latitude band
+	 */
+	private static String createBandLetters(int bandValue) {
 		bandValue -= 1;
 		int latitude1 = bandValue / 24;
 		int latitude2 = bandValue % 24;
-		return String.valueOf(bandLetter(latitude1 + 1))
-				+ bandLetter(latitude2 + 1);
+		return new String(new char[] { bandLetter(latitude1 + 1),
+				bandLetter(latitude2 + 1) });
 	}
 
 	/**
@@ -269,7 +318,7 @@ public class GARSUtils {
 		bounds = bounds.toDegrees();
 		BandNumberRange bandNumberRange = getBandNumberRange(bounds);
 		BandLettersRange bandLettersRange = getBandLettersRange(bounds);
-		return new GridRange(bandNumberRange, bandLettersRange);
+		return new GridRange(bandNumberRange, bandLettersRange, bounds);
 	}
 
 	/**
@@ -340,14 +389,30 @@ public class GARSUtils {
 	 * @return degree label
 	 */
 	public static String getDegreeLabel(double longitude, double latitude) {
-		StringBuilder label = new StringBuilder();
-		label.append(Math.abs((int) longitude));
-		label.append(longitude < 0 ? GridConstants.WEST_CHAR
+		return appendDegreeLabel(new StringBuilder(), longitude, latitude)
+				.toString();
+	}
+
+	/**
+	 * Append a degree grid label
+	 * 
+	 * @param builder
+	 *            string builder
+	 * @param longitude
+	 *            longitude
+	 * @param latitude
+	 *            latitude
+	 * @return string builder
+	 */
+	public static StringBuilder appendDegreeLabel(StringBuilder builder,
+			double longitude, double latitude) {
+		builder.append(Math.abs((int) longitude));
+		builder.append(longitude < 0 ? GridConstants.WEST_CHAR
 				: GridConstants.EAST_CHAR);
-		label.append(Math.abs((int) latitude));
-		label.append(latitude < 0 ? GridConstants.SOUTH_CHAR
+		builder.append(Math.abs((int) latitude));
+		builder.append(latitude < 0 ? GridConstants.SOUTH_CHAR
 				: GridConstants.NORTH_CHAR);
-		return label.toString();
+		return builder;
 	}
 
 	/**
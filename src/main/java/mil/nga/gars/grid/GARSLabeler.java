@@ -5,6 +5,7 @@ import java.util.List;
 
 import mil.nga.color.Color;
 import mil.nga.gars.GARS;
+import mil.nga.gars.GARSCellId;
 import mil.nga.gars.GARSUtils;
 import mil.nga.grid.features.Bounds;
 import mil.nga.grid.features.Point;
@@ -184,43 +185,65 @@ public class GARSLabeler extends GridLabeler {
 
 		List<GridLabel> labels = new ArrayList<>();
 
-		double precision = gridType.getPrecision();
+		forEachLabel(tileBounds, gridType, (west, south, east, north,
+				centerLon, centerLat, cellId, type) -> {
 
-		tileBounds = tileBounds.toPrecision(precision);
+			Bounds bounds = Bounds.degrees(west, south, east, north);
+			Point center = Point.degrees(centerLon, centerLat);
+			GARS coordinate = GARS.fromCellId(cellId);
 
-		for (double lon = tileBounds.getMinLongitude(); lon <= tileBounds
-				.getMaxLongitude(); lon = GARSUtils.nextPrecision(lon,
-						precision)) {
+			String name = null;
 
-			for (double lat = tileBounds.getMinLatitude(); lat <= tileBounds
-					.getMaxLatitude(); lat = GARSUtils.nextPrecision(lat,
-							precision)) {
+			switch (type) {
+			case TWENTY_DEGREE:
+			case TEN_DEGREE:
+			case FIVE_DEGREE:
+			case ONE_DEGREE:
+				name = GARSUtils.getDegreeLabel(west, south);
+				break;
+			default:
+				name = coordinate.coordinate(type);
+			}
+
+			labels.add(new GridLabel(name, center, bounds, type, coordinate));
+
+		});
+
+		return labels;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void forEachLabel(Bounds tileBounds, GridType gridType,
+			LabelConsumer consumer) {
 
-				Bounds bounds = Bounds.degrees(lon, lat, lon + precision,
-						lat + precision);
-				Point center = bounds.getCentroid();
-				GARS coordinate = GARS.from(center);
+		GridLattice lattice = GridLattice.create(tileBounds, gridType);
+		int step = lattice.getStep();
 
-				String name = null;
+		for (int x = lattice.getMinX(); x <= lattice.getMaxX(); x += step) {
 
-				switch (gridType) {
-				case TWENTY_DEGREE:
-				case TEN_DEGREE:
-				case FIVE_DEGREE:
-				case ONE_DEGREE:
-					name = GARSUtils.getDegreeLabel(lon, lat);
-					break;
-				default:
-					name = coordinate.coordinate(gridType);
-				}
+			double west = GridLattice.toDegrees(x);
+			double east = GridLattice.toDegrees(x + step);
+			double centerLon = GridMercator.centerLongitude(west, east);
 
-				labels.add(new GridLabel(name, center, bounds, gridType,
-						coordinate));
+			for (int y = lattice.getMinY(); y <= lattice
+					.getMaxY(); y += step) {
+
+				double south = GridLattice.toDegrees(y);
+				double north = GridLattice.toDegrees(y + step);
+				double centerLat = GridMercator.latticeCenterLatitude(y,
+						y + step);
+
+				consumer.accept(west, south, east, north, centerLon,
+						centerLat,
+						GARSCellId.encode(centerLon, centerLat, gridType),
+						gridType);
 
 			}
 		}
 
-		return labels;
 	}
 
 }
@@ -1,16 +1,26 @@
 package mil.nga.gars.grid;
 
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import mil.nga.color.Color;
-import mil.nga.gars.GARSUtils;
 import mil.nga.gars.features.GridLine;
+import mil.nga.gars.metrics.EventSink.FeaturesEvent;
+import mil.nga.gars.metrics.Events;
+import mil.nga.gars.metrics.GridOperation;
+import mil.nga.gars.metrics.GridRecorder;
 import mil.nga.gars.property.GARSProperties;
 import mil.nga.grid.BaseGrid;
 import mil.nga.grid.GridStyle;
+import mil.nga.grid.Labeler;
 import mil.nga.grid.features.Bounds;
 import mil.nga.grid.features.Point;
 import mil.nga.grid.property.PropertyConstants;
@@ -39,6 +49,21 @@ public class Grid extends BaseGrid implements Comparable<Grid> {
 	 */
 	private Map<GridType, GridStyle> styles = new HashMap<>();
 
+	/**
+	 * Configuration version, incremented by each modification
+	 */
+	private final AtomicLong version = new AtomicLong();
+
+	/**
+	 * Metrics recorder, null when not recording
+	 */
+	private GridRecorder recorder;
+
+	/**
+	 * Tile cache, null when not caching
+	 */
+	private GridTileCache tileCache;
+
 	/**
 	 * Constructor
 	 * 
@@ -58,6 +83,146 @@ public class Grid extends BaseGrid implements Comparable<Grid> {
 		return type;
 	}
 
+	/**
+	 * Get the configuration version, incremented when the grid zoom ranges,
+	 * styles or labeler are set. Changes made directly to a style or labeler
+	 * instance are not versioned.
+	 * 
+	 * @return version
+	 */
+	public long getVersion() {
+		return version.get();
+	}
+
+	/**
+	 * Increment the configuration version
+	 */
+	protected void modified() {
+		version.incrementAndGet();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setEnabled(boolean enabled) {
+		super.setEnabled(enabled);
+		modified();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setMinZoom(int minZoom) {
+		super.setMinZoom(minZoom);
+		modified();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setMaxZoom(Integer maxZoom) {
+		super.setMaxZoom(maxZoom);
+		modified();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setLinesMinZoom(Integer minZoom) {
+		super.setLinesMinZoom(minZoom);
+		modified();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setLinesMaxZoom(Integer maxZoom) {
+		super.setLinesMaxZoom(maxZoom);
+		modified();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setStyle(GridStyle style) {
+		super.setStyle(style);
+		modified();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setColor(Color color) {
+		super.setColor(color);
+		modified();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setWidth(double width) {
+		super.setWidth(width);
+		modified();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void setLabeler(Labeler labeler) {
+		super.setLabeler(labeler);
+		modified();
+	}
+
+	/**
+	 * Get the metrics recorder
+	 * 
+	 * @return recorder or null if not recording
+	 */
+	public GridRecorder getRecorder() {
+		return recorder;
+	}
+
+	/**
+	 * Set the metrics recorder of the zoom level line and label operations,
+	 * null (the default) to disable recording without timing overhead
+	 * 
+	 * @param recorder
+	 *            recorder or null
+	 */
+	public void setRecorder(GridRecorder recorder) {
+		this.recorder = recorder;
+	}
+
+	/**
+	 * Get the tile cache
+	 * 
+	 * @return tile cache or null if not caching
+	 */
+	public GridTileCache getTileCache() {
+		return tileCache;
+	}
+
+	/**
+	 * Set the tile cache of the zoom level lines, merged lines and labels,
+	 * null (the default) to disable caching. Cached lists are unmodifiable
+	 * and shared between callers.
+	 * 
+	 * @param tileCache
+	 *            tile cache or null
+	 */
+	public void setTileCache(GridTileCache tileCache) {
+		this.tileCache = tileCache;
+	}
+
 	/**
 	 * Is the provided grid type
 	 * 
@@ -129,6 +294,7 @@ public class Grid extends BaseGrid implements Comparable<Grid> {
 			setStyle(style);
 		} else {
 			styles.put(gridType, style != null ? style : new GridStyle());
+			modified();
 		}
 	}
 
@@ -137,6 +303,7 @@ public class Grid extends BaseGrid implements Comparable<Grid> {
 	 */
 	public void clearPrecisionStyles() {
 		styles.clear();
+		modified();
 	}
 
 	/**
@@ -168,6 +335,7 @@ public class Grid extends BaseGrid implements Comparable<Grid> {
 	 */
 	public void setColor(GridType gridType, Color color) {
 		getOrCreateStyle(gridType).setColor(color);
+		modified();
 	}
 
 	/**
@@ -199,6 +367,7 @@ public class Grid extends BaseGrid implements Comparable<Grid> {
 	 */
 	public void setWidth(GridType gridType, double width) {
 		getOrCreateStyle(gridType).setWidth(width);
+		modified();
 	}
 
 	/**
@@ -217,7 +386,7 @@ public class Grid extends BaseGrid implements Comparable<Grid> {
 	 *            grid labeler
 	 */
 	public void setLabeler(GridLabeler labeler) {
-		super.setLabeler(labeler);
+		setLabeler((Labeler) labeler);
 	}
 
 	/**
@@ -242,9 +411,37 @@ public class Grid extends BaseGrid implements Comparable<Grid> {
 	 */
 	public List<GridLine> getLines(int zoom, Bounds tileBounds) {
 		List<GridLine> lines = null;
-		if (isLinesWithin(zoom)) {
+		GridTileCache tileCache = this.tileCache;
+		if (tileCache != null) {
+			lines = tileCache.getLines(this, zoom, tileBounds);
+		} else if (isLinesWithin(zoom)) {
+			lines = createLines(zoom, tileBounds);
+		}
+		return lines;
+	}
+
+	/**
+	 * Create the lines for the zoom and tile bounds, recording metrics
+	 * 
+	 * @param zoom
+	 *            zoom level
+	 * @param tileBounds
+	 *            tile bounds
+	 * @return lines
+	 */
+	List<GridLine> createLines(int zoom, Bounds tileBounds) {
+		FeaturesEvent event = Events.getSink().beginFeatures();
+		List<GridLine> lines;
+		GridRecorder recorder = this.recorder;
+		if (recorder == null) {
+			lines = getLines(tileBounds);
+		} else {
+			long start = System.nanoTime();
 			lines = getLines(tileBounds);
+			record(recorder, GridOperation.LINES, zoom, tileBounds, start,
+					lines.size());
 		}
+		commit(event, GridOperation.LINES, zoom, tileBounds, lines.size());
 		return lines;
 	}
 
@@ -259,40 +456,456 @@ public class Grid extends BaseGrid implements Comparable<Grid> {
 
 		List<GridLine> lines = new ArrayList<>();
 
-		double precision = getPrecision();
+		forEachLine(tileBounds, (lon1, lat1, lon2, lat2, gridType) -> {
+			lines.add(GridLine.line(Point.point(lon1, lat1),
+					Point.point(lon2, lat2), gridType));
+		});
 
-		tileBounds = tileBounds.toPrecision(precision);
+		return lines;
+	}
 
-		for (double lon = tileBounds.getMinLongitude(); lon <= tileBounds
-				.getMaxLongitude(); lon = GARSUtils.nextPrecision(lon,
-						precision)) {
+	/**
+	 * Visit the lines for the tile without creating lines
+	 * 
+	 * @param tile
+	 *            tile
+	 * @param consumer
+	 *            line consumer
+	 * @return true if the lines are within the zoom and were visited
+	 */
+	public boolean forEachLine(GridTile tile, LineConsumer consumer) {
+		return forEachLine(tile.getZoom(), tile.getBounds(), consumer);
+	}
+
+	/**
+	 * Visit the lines for the zoom and tile bounds without creating lines
+	 * 
+	 * @param zoom
+	 *            zoom level
+	 * @param tileBounds
+	 *            tile bounds
+	 * @param consumer
+	 *            line consumer
+	 * @return true if the lines are within the zoom and were visited
+	 */
+	public boolean forEachLine(int zoom, Bounds tileBounds,
+			LineConsumer consumer) {
+		boolean within = isLinesWithin(zoom);
+		if (within) {
+			GridRecorder recorder = this.recorder;
+			FeaturesEvent event = Events.getSink().beginFeatures();
+			if (recorder == null && event == null) {
+				forEachLine(tileBounds, consumer);
+			} else {
+				LineCounter counter = new LineCounter(consumer);
+				long start = System.nanoTime();
+				forEachLine(tileBounds, counter);
+				if (recorder != null) {
+					record(recorder, GridOperation.LINES, zoom, tileBounds,
+							start, counter.count);
+				}
+				commit(event, GridOperation.LINES, zoom, tileBounds,
+						counter.count);
+			}
+		}
+		return within;
+	}
 
-			GridType verticalPrecision = GridType.getPrecision(lon);
+	/**
+	 * Visit the lines for the tile bounds without creating lines, in the
+	 * same order as {@link #getLines(Bounds)}
+	 * 
+	 * @param tileBounds
+	 *            tile bounds
+	 * @param consumer
+	 *            line consumer
+	 */
+	public void forEachLine(Bounds tileBounds, LineConsumer consumer) {
+
+		GridLattice lattice = GridLattice.create(tileBounds, type);
+		int step = lattice.getStep();
 
-			for (double lat = tileBounds.getMinLatitude(); lat <= tileBounds
-					.getMaxLatitude(); lat = GARSUtils.nextPrecision(lat,
-							precision)) {
+		for (int x = lattice.getMinX(); x <= lattice.getMaxX(); x += step) {
 
-				GridType horizontalPrecision = GridType.getPrecision(lat);
+			double lon = GridLattice.toDegrees(x);
+			double east = GridLattice.toDegrees(x + step);
+			GridType verticalPrecision = GridType.getLatticePrecision(x);
 
-				Point southwest = Point.point(lon, lat);
-				Point northwest = Point.point(lon, lat + precision);
-				Point southeast = Point.point(lon + precision, lat);
+			for (int y = lattice.getMinY(); y <= lattice
+					.getMaxY(); y += step) {
+
+				double lat = GridLattice.toDegrees(y);
 
 				// Vertical line
-				lines.add(
-						GridLine.line(southwest, northwest, verticalPrecision));
+				consumer.accept(lon, lat, lon, GridLattice.toDegrees(y + step),
+						verticalPrecision);
 
 				// Horizontal line
-				lines.add(GridLine.line(southwest, southeast,
-						horizontalPrecision));
+				consumer.accept(lon, lat, east, lat,
+						GridType.getLatticePrecision(y));
 
 			}
 		}
 
+	}
+
+	/**
+	 * Get a lazy iterable of the lines for the bounds, in the same order as
+	 * {@link #getLines(Bounds)}. Lines are generated on demand as iterated,
+	 * in constant memory for arbitrarily large bounds, and iteration may stop
+	 * at any line. Each iterator starts from the first line.
+	 * 
+	 * @param bounds
+	 *            bounds
+	 * @return lines iterable
+	 */
+	public Iterable<GridLine> iterateLines(Bounds bounds) {
+		GridLattice lattice = GridLattice.create(bounds, type);
+		return () -> Spliterators
+				.iterator(new GridLineSpliterator(lattice));
+	}
+
+	/**
+	 * Get a lazy stream of the lines for the bounds, in the same order as
+	 * {@link #getLines(Bounds)}. Lines are generated on demand in constant
+	 * memory for arbitrarily large bounds and the stream is sized for
+	 * splitting by lattice columns when parallel.
+	 * 
+	 * @param bounds
+	 *            bounds
+	 * @return lines stream
+	 */
+	public Stream<GridLine> streamLines(Bounds bounds) {
+		return StreamSupport.stream(new GridLineSpliterator(
+				GridLattice.create(bounds, type)), false);
+	}
+
+	/**
+	 * Get the merged lines for the tile, one line per meridian and parallel
+	 * 
+	 * @param tile
+	 *            tile
+	 * @return lines
+	 */
+	public List<GridLine> getMergedLines(GridTile tile) {
+		return getMergedLines(tile.getZoom(), tile.getBounds());
+	}
+
+	/**
+	 * Get the merged lines for the zoom and tile bounds, one line per meridian
+	 * and parallel
+	 * 
+	 * @param zoom
+	 *            zoom level
+	 * @param tileBounds
+	 *            tile bounds
+	 * @return lines
+	 */
+	public List<GridLine> getMergedLines(int zoom, Bounds tileBounds) {
+		List<GridLine> lines = null;
+		GridTileCache tileCache = this.tileCache;
+		if (tileCache != null) {
+			lines = tileCache.getMergedLines(this, zoom, tileBounds);
+		} else if (isLinesWithin(zoom)) {
+			lines = getMergedLines(zoom, tileBounds, 0);
+		}
+		return lines;
+	}
+
+	/**
+	 * Get the merged lines for the tile bounds. Covers the same segments as
+	 * {@link #getLines(Bounds)} with one continuous vertical line per
+	 * meridian (west to east) followed by one continuous horizontal line per
+	 * parallel (south to north). The precision of a meridian or parallel is
+	 * constant along its length.
+	 * 
+	 * @param tileBounds
+	 *            tile bounds
+	 * @return lines
+	 */
+	public List<GridLine> getMergedLines(Bounds tileBounds) {
+		return getMergedLines(tileBounds, 0);
+	}
+
+	/**
+	 * Get the merged lines for the tile bounds, excluding meridians and
+	 * parallels owned by a coarser grid
+	 * 
+	 * @param tileBounds
+	 *            tile bounds
+	 * @param coarserUnits
+	 *            nearest coarser grid precision in lattice units whose lines
+	 *            are excluded, 0 to include all lines
+	 * @return lines
+	 */
+	List<GridLine> getMergedLines(Bounds tileBounds, int coarserUnits) {
+
+		List<GridLine> lines = new ArrayList<>();
+
+		forEachMergedLine(tileBounds, coarserUnits,
+				(lon1, lat1, lon2, lat2, gridType) -> {
+					lines.add(GridLine.line(Point.point(lon1, lat1),
+							Point.point(lon2, lat2), gridType));
+				});
+
 		return lines;
 	}
 
+	/**
+	 * Get the merged lines for the zoom level and tile bounds, excluding
+	 * meridians and parallels owned by a coarser grid, recording metrics
+	 * 
+	 * @param zoom
+	 *            zoom level
+	 * @param tileBounds
+	 *            tile bounds
+	 * @param coarserUnits
+	 *            nearest coarser grid precision in lattice units whose lines
+	 *            are excluded, 0 to include all lines
+	 * @return lines
+	 */
+	List<GridLine> getMergedLines(int zoom, Bounds tileBounds,
+			int coarserUnits) {
+		List<GridLine> lines;
+		GridRecorder recorder = this.recorder;
+		if (recorder == null) {
+			lines = getMergedLines(tileBounds, coarserUnits);
+		} else {
+			long start = System.nanoTime();
+			lines = getMergedLines(tileBounds, coarserUnits);
+			record(recorder, GridOperation.MERGED_LINES, zoom, tileBounds,
+					start, lines.size());
+		}
+		return lines;
+	}
+
+	/**
+	 * Visit the merged lines for the tile without creating lines
+	 * 
+	 * @param tile
+	 *            tile
+	 * @param consumer
+	 *            line consumer
+	 * @return true if the lines are within the zoom and were visited
+	 */
+	public boolean forEachMergedLine(GridTile tile, LineConsumer consumer) {
+		return forEachMergedLine(tile.getZoom(), tile.getBounds(), consumer);
+	}
+
+	/**
+	 * Visit the merged lines for the zoom and tile bounds without creating
+	 * lines
+	 * 
+	 * @param zoom
+	 *            zoom level
+	 * @param tileBounds
+	 *            tile bounds
+	 * @param consumer
+	 *            line consumer
+	 * @return true if the lines are within the zoom and were visited
+	 */
+	public boolean forEachMergedLine(int zoom, Bounds tileBounds,
+			LineConsumer consumer) {
+		boolean within = isLinesWithin(zoom);
+		if (within) {
+			forEachMergedLine(zoom, tileBounds, 0, consumer);
+		}
+		return within;
+	}
+
+	/**
+	 * Visit the merged lines for the tile bounds without creating lines, in
+	 * the same order as {@link #getMergedLines(Bounds)}
+	 * 
+	 * @param tileBounds
+	 *            tile bounds
+	 * @param consumer
+	 *            line consumer
+	 */
+	public void forEachMergedLine(Bounds tileBounds, LineConsumer consumer) {
+		forEachMergedLine(tileBounds, 0, consumer);
+	}
+
+	/**
+	 * Visit the merged lines for the zoom level and tile bounds, excluding
+	 * meridians and parallels owned by a coarser grid, recording metrics
+	 * 
+	 * @param zoom
+	 *            zoom level
+	 * @param tileBounds
+	 *            tile bounds
+	 * @param coarserUnits
+	 *            nearest coarser grid precision in lattice units whose lines
+	 *            are excluded, 0 to include all lines
+	 * @param consumer
+	 *            line consumer
+	 */
+	void forEachMergedLine(int zoom, Bounds tileBounds, int coarserUnits,
+			LineConsumer consumer) {
+		GridRecorder recorder = this.recorder;
+		if (recorder == null) {
+			forEachMergedLine(tileBounds, coarserUnits, consumer);
+		} else {
+			LineCounter counter = new LineCounter(consumer);
+			long start = System.nanoTime();
+			forEachMergedLine(tileBounds, coarserUnits, counter);
+			record(recorder, GridOperation.MERGED_LINES, zoom, tileBounds,
+					start, counter.count);
+		}
+	}
+
+	/**
+	 * Visit the merged lines for the tile bounds, excluding meridians and
+	 * parallels owned by a coarser grid
+	 * 
+	 * @param tileBounds
+	 *            tile bounds
+	 * @param coarserUnits
+	 *            nearest coarser grid precision in lattice units whose lines
+	 *            are excluded, 0 to include all lines
+	 * @param consumer
+	 *            line consumer
+	 */
+	void forEachMergedLine(Bounds tileBounds, int coarserUnits,
+			LineConsumer consumer) {
+
+		GridLattice lattice = GridLattice.create(tileBounds, type);
+		int step = lattice.getStep();
+
+		double south = GridLattice.toDegrees(lattice.getMinY());
+		double north = GridLattice.toDegrees(lattice.getMaxY() + step);
+		double west = GridLattice.toDegrees(lattice.getMinX());
+		double east = GridLattice.toDegrees(lattice.getMaxX() + step);
+
+		// Vertical lines
+		for (int x = lattice.getMinX(); x <= lattice.getMaxX(); x += step) {
+			if (coarserUnits == 0 || x % coarserUnits != 0) {
+				double lon = GridLattice.toDegrees(x);
+				consumer.accept(lon, south, lon, north,
+						GridType.getLatticePrecision(x));
+			}
+		}
+
+		// Horizontal lines
+		for (int y = lattice.getMinY(); y <= lattice.getMaxY(); y += step) {
+			if (coarserUnits == 0 || y % coarserUnits != 0) {
+				double lat = GridLattice.toDegrees(y);
+				consumer.accept(west, lat, east, lat,
+						GridType.getLatticePrecision(y));
+			}
+		}
+
+	}
+
+	/**
+	 * Get the number of pixel lines for the tile, one per meridian and
+	 * parallel as in {@link #getMergedLines(GridTile)}
+	 * 
+	 * @param tile
+	 *            tile
+	 * @return pixel line count, 0 if the lines are not within the zoom
+	 */
+	public int getPixelLineCount(GridTile tile) {
+		int count = 0;
+		if (isLinesWithin(tile.getZoom())) {
+			GridLattice lattice = GridLattice.create(tile.getBounds(), type);
+			count = lattice.getColumns() + lattice.getRows();
+		}
+		return count;
+	}
+
+	/**
+	 * Get the merged lines for the tile as pixels, see
+	 * {@link #getPixelLines(GridTile, FloatBuffer, ByteBuffer)}
+	 * 
+	 * @param tile
+	 *            tile
+	 * @param pixels
+	 *            pixels to populate, four per line
+	 * @param types
+	 *            grid type ordinals to populate, one per line
+	 * @return number of lines written
+	 */
+	public int getPixelLines(GridTile tile, float[] pixels, byte[] types) {
+		return getPixelLines(tile, FloatBuffer.wrap(pixels),
+				ByteBuffer.wrap(types));
+	}
+
+	/**
+	 * Get the merged lines for the tile as pixels, in the order of
+	 * {@link #getMergedLines(GridTile)}. Each line is written as x1, y1, x2,
+	 * y2 pixels with a parallel {@link GridType} ordinal for styling. Each
+	 * distinct lattice longitude and latitude is projected once.
+	 * 
+	 * @param tile
+	 *            tile
+	 * @param pixels
+	 *            pixels to populate from the current position, four per line
+	 * @param types
+	 *            grid type ordinals to populate from the current position,
+	 *            one per line
+	 * @return number of lines written, 0 if the lines are not within the zoom
+	 * @throws IllegalArgumentException
+	 *             if the buffers have insufficient remaining capacity, see
+	 *             {@link #getPixelLineCount(GridTile)}
+	 */
+	public int getPixelLines(GridTile tile, FloatBuffer pixels,
+			ByteBuffer types) {
+
+		if (!isLinesWithin(tile.getZoom())) {
+			return 0;
+		}
+
+		GridRecorder recorder = this.recorder;
+		long start = recorder != null ? System.nanoTime() : 0;
+
+		GridLattice lattice = GridLattice.create(tile.getBounds(), type);
+		int step = lattice.getStep();
+		int columns = lattice.getColumns();
+		int rows = lattice.getRows();
+		int count = columns + rows;
+
+		if (pixels.remaining() < 4 * count || types.remaining() < count) {
+			throw new IllegalArgumentException(
+					"Insufficient capacity for " + count + " pixel lines");
+		}
+
+		GridTileProjection projection = new GridTileProjection(tile);
+		float[] xPixels = projection.getXPixels(lattice);
+		float[] yPixels = projection.getYPixels(lattice);
+
+		float top = yPixels[rows];
+		float bottom = yPixels[0];
+		float left = xPixels[0];
+		float right = xPixels[columns];
+
+		// Vertical lines
+		int x = lattice.getMinX();
+		for (int column = 0; column < columns; column++) {
+			float pixel = xPixels[column];
+			pixels.put(pixel).put(bottom).put(pixel).put(top);
+			types.put((byte) GridType.getLatticePrecision(x).ordinal());
+			x += step;
+		}
+
+		// Horizontal lines
+		int y = lattice.getMinY();
+		for (int row = 0; row < rows; row++) {
+			float pixel = yPixels[row];
+			pixels.put(left).put(pixel).put(right).put(pixel);
+			types.put((byte) GridType.getLatticePrecision(y).ordinal());
+			y += step;
+		}
+
+		if (recorder != null) {
+			recorder.record(GridOperation.MERGED_LINES, type, tile.getZoom(),
+					System.nanoTime() - start,
+					(long) columns * rows, count);
+		}
+
+		return count;
+	}
+
 	/**
 	 * Get the labels for the tile
 	 * 
@@ -315,12 +928,210 @@ public class Grid extends BaseGrid implements Comparable<Grid> {
 	 */
 	public List<GridLabel> getLabels(int zoom, Bounds tileBounds) {
 		List<GridLabel> labels = null;
-		if (isLabelerWithin(zoom)) {
+		GridTileCache tileCache = this.tileCache;
+		if (tileCache != null) {
+			labels = tileCache.getLabels(this, zoom, tileBounds);
+		} else if (isLabelerWithin(zoom)) {
+			labels = createLabels(zoom, tileBounds);
+		}
+		return labels;
+	}
+
+	/**
+	 * Create the labels for the zoom and tile bounds, recording metrics
+	 * 
+	 * @param zoom
+	 *            zoom level
+	 * @param tileBounds
+	 *            tile bounds
+	 * @return labels
+	 */
+	List<GridLabel> createLabels(int zoom, Bounds tileBounds) {
+		FeaturesEvent event = Events.getSink().beginFeatures();
+		List<GridLabel> labels;
+		GridRecorder recorder = this.recorder;
+		if (recorder == null) {
 			labels = getLabeler().getLabels(tileBounds, type);
+		} else {
+			long start = System.nanoTime();
+			labels = getLabeler().getLabels(tileBounds, type);
+			record(recorder, GridOperation.LABELS, zoom, tileBounds, start,
+					labels.size());
 		}
+		commit(event, GridOperation.LABELS, zoom, tileBounds,
+				labels.size());
 		return labels;
 	}
 
+	/**
+	 * Visit the labels for the tile without creating labels
+	 * 
+	 * @param tile
+	 *            tile
+	 * @param consumer
+	 *            label consumer
+	 * @return true if the labeler is within the zoom and labels were visited
+	 */
+	public boolean forEachLabel(GridTile tile, LabelConsumer consumer) {
+		return forEachLabel(tile.getZoom(), tile.getBounds(), consumer);
+	}
+
+	/**
+	 * Visit the labels for the zoom and tile bounds without creating labels
+	 * 
+	 * @param zoom
+	 *            zoom level
+	 * @param tileBounds
+	 *            tile bounds
+	 * @param consumer
+	 *            label consumer
+	 * @return true if the labeler is within the zoom and labels were visited
+	 */
+	public boolean forEachLabel(int zoom, Bounds tileBounds,
+			LabelConsumer consumer) {
+		boolean within = isLabelerWithin(zoom);
+		if (within) {
+			GridRecorder recorder = this.recorder;
+			FeaturesEvent event = Events.getSink().beginFeatures();
+			if (recorder == null && event == null) {
+				getLabeler().forEachLabel(tileBounds, type, consumer);
+			} else {
+				LabelCounter counter = new LabelCounter(consumer);
+				long start = System.nanoTime();
+				getLabeler().forEachLabel(tileBounds, type, counter);
+				if (recorder != null) {
+					record(recorder, GridOperation.LABELS, zoom, tileBounds,
+							start, counter.count);
+				}
+				commit(event, GridOperation.LABELS, zoom, tileBounds,
+						counter.count);
+			}
+		}
+		return within;
+	}
+
+	/**
+	 * Record a grid operation started at the nano time, visiting the tile
+	 * bounds lattice cells
+	 * 
+	 * @param recorder
+	 *            metrics recorder
+	 * @param operation
+	 *            grid operation
+	 * @param zoom
+	 *            zoom level
+	 * @param tileBounds
+	 *            tile bounds
+	 * @param start
+	 *            start nano time
+	 * @param features
+	 *            number of lines or labels emitted
+	 */
+	private void record(GridRecorder recorder, GridOperation operation,
+			int zoom, Bounds tileBounds, long start, long features) {
+		long nanos = System.nanoTime() - start;
+		GridLattice lattice = GridLattice.create(tileBounds, type);
+		recorder.record(operation, type, zoom, nanos,
+				(long) lattice.getColumns() * lattice.getRows(), features);
+	}
+
+	/**
+	 * Commit the grid lines or labels event when recording
+	 * 
+	 * @param event
+	 *            begun event, null if not recorded
+	 * @param operation
+	 *            grid operation
+	 * @param zoom
+	 *            zoom level
+	 * @param tileBounds
+	 *            tile bounds
+	 * @param features
+	 *            number of lines or labels
+	 */
+	private void commit(FeaturesEvent event, GridOperation operation,
+			int zoom, Bounds tileBounds, long features) {
+		if (event != null) {
+			event.commit(operation, type, zoom, tileBounds, features);
+		}
+	}
+
+	/**
+	 * Counting line consumer delegate
+	 */
+	static class LineCounter implements LineConsumer {
+
+		/**
+		 * Delegate consumer
+		 */
+		private final LineConsumer consumer;
+
+		/**
+		 * Line count
+		 */
+		long count;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param consumer
+		 *            delegate consumer
+		 */
+		LineCounter(LineConsumer consumer) {
+			this.consumer = consumer;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void accept(double lon1, double lat1, double lon2,
+				double lat2, GridType gridType) {
+			count++;
+			consumer.accept(lon1, lat1, lon2, lat2, gridType);
+		}
+
+	}
+
+	/**
+	 * Counting label consumer delegate
+	 */
+	private static class LabelCounter implements LabelConsumer {
+
+		/**
+		 * Delegate consumer
+		 */
+		private final LabelConsumer consumer;
+
+		/**
+		 * Label count
+		 */
+		private long count;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param consumer
+		 *            delegate consumer
+		 */
+		LabelCounter(LabelConsumer consumer) {
+			this.consumer = consumer;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void accept(double west, double south, double east,
+				double north, double centerLon, double centerLat, long cellId,
+				GridType gridType) {
+			count++;
+			consumer.accept(west, south, east, north, centerLon, centerLat,
+					cellId, gridType);
+		}
+
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -0,0 +1,71 @@
+package mil.nga.gars.grid;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Packed cell id iterator over the cells of a grid lattice, west to east
+ * and south to north within each column, without boxing or GARS object
+ * allocation
+ *
+ * @author osbornb
+ */
+class GridCellIdIterator implements PrimitiveIterator.OfLong {
+
+	/**
+	 * Grid lattice
+	 */
+	private final GridLattice lattice;
+
+	/**
+	 * Current cell western longitude in units
+	 */
+	private int x;
+
+	/**
+	 * Current cell southern latitude in units
+	 */
+	private int y;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param lattice
+	 *            grid lattice, empty when the maximums are below the
+	 *            minimums
+	 */
+	GridCellIdIterator(GridLattice lattice) {
+		this.lattice = lattice;
+		this.x = lattice.getMinX();
+		this.y = lattice.getMinY();
+		if (lattice.getMaxY() < y) {
+			x = lattice.getMaxX() + 1;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasNext() {
+		return x <= lattice.getMaxX();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long nextLong() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		long id = GridLattice.cellId(x, y, lattice.getType());
+		y += lattice.getStep();
+		if (y > lattice.getMaxY()) {
+			y = lattice.getMinY();
+			x += lattice.getStep();
+		}
+		return id;
+	}
+
+}
@@ -3,9 +3,12 @@ package mil.nga.gars.grid;
 import java.util.List;
 
 import mil.nga.color.Color;
+import mil.nga.gars.GARS;
+import mil.nga.gars.GARSCellId;
 import mil.nga.gars.property.GARSProperties;
 import mil.nga.grid.Labeler;
 import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
 import mil.nga.grid.property.PropertyConstants;
 
 /**
@@ -201,4 +204,31 @@ public abstract class GridLabeler extends Labeler {
 	public abstract List<GridLabel> getLabels(Bounds tileBounds,
 			GridType gridType);
 
+	/**
+	 * Visit the labels for the bounds. The default implementation visits the
+	 * created labels, override to visit without creating labels.
+	 * 
+	 * @param tileBounds
+	 *            tile bounds
+	 * @param gridType
+	 *            grid type
+	 * @param consumer
+	 *            label consumer
+	 */
+	public void forEachLabel(Bounds tileBounds, GridType gridType,
+			LabelConsumer consumer) {
+		for (GridLabel label : getLabels(tileBounds, gridType)) {
+			Bounds bounds = label.getBounds().toDegrees();
+			Point center = label.getCenter().toDegrees();
+			GARS coordinate = label.getCoordinate();
+			long cellId = coordinate != null ? coordinate.toCellId(gridType)
+					: GARSCellId.encode(center.getLongitude(),
+							center.getLatitude(), gridType);
+			consumer.accept(bounds.getMinLongitude(), bounds.getMinLatitude(),
+					bounds.getMaxLongitude(), bounds.getMaxLatitude(),
+					center.getLongitude(), center.getLatitude(), cellId,
+					gridType);
+		}
+	}
+
 }
@@ -0,0 +1,264 @@
+package mil.nga.gars.grid;
+
+import mil.nga.gars.GARSCellId;
+import mil.nga.gars.GARSUtils;
+import mil.nga.grid.features.Bounds;
+
+/**
+ * Integer lattice of grid cells counted in five minute units, where each
+ * grid type precision is a whole number of units. Cell boundaries are exact
+ * integers, so iteration requires no floating point drift correction and the
+ * precision of each line is classified with integer arithmetic.
+ *
+ * @author osbornb
+ */
+public class GridLattice {
+
+	/**
+	 * Five minute lattice units per degree
+	 */
+	public static final int UNITS_PER_DEGREE = 12;
+
+	/**
+	 * Lattice cell consumer
+	 */
+	@FunctionalInterface
+	public interface CellConsumer {
+
+		/**
+		 * Accept a lattice cell
+		 *
+		 * @param x
+		 *            western longitude in units
+		 * @param y
+		 *            southern latitude in units
+		 */
+		void accept(int x, int y);
+
+	}
+
+	/**
+	 * Grid type
+	 */
+	private final GridType type;
+
+	/**
+	 * Cell step in units
+	 */
+	private final int step;
+
+	/**
+	 * Minimum longitude in units
+	 */
+	private final int minX;
+
+	/**
+	 * Minimum latitude in units
+	 */
+	private final int minY;
+
+	/**
+	 * Maximum longitude in units
+	 */
+	private final int maxX;
+
+	/**
+	 * Maximum latitude in units
+	 */
+	private final int maxY;
+
+	/**
+	 * Create a lattice of the bounds expanded to the grid type precision,
+	 * matching {@link Bounds#toPrecision(double)}
+	 *
+	 * @param bounds
+	 *            bounds
+	 * @param type
+	 *            grid type
+	 * @return lattice
+	 */
+	public static GridLattice create(Bounds bounds, GridType type) {
+		bounds = bounds.toDegrees();
+		int step = type.getUnits();
+		int minX = floor(bounds.getMinLongitude(), step);
+		int minY = floor(bounds.getMinLatitude(), step);
+		int maxX = floor(bounds.getMaxLongitude(), step) + step;
+		int maxY = floor(bounds.getMaxLatitude(), step) + step;
+		return new GridLattice(type, minX, minY, maxX, maxY);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param type
+	 *            grid type
+	 * @param minX
+	 *            minimum longitude in units
+	 * @param minY
+	 *            minimum latitude in units
+	 * @param maxX
+	 *            maximum longitude in units
+	 * @param maxY
+	 *            maximum latitude in units
+	 */
+	public GridLattice(GridType type, int minX, int minY, int maxX,
+			int maxY) {
+		this.type = type;
+		this.step = type.getUnits();
+		this.minX = minX;
+		this.minY = minY;
+		this.maxX = maxX;
+		this.maxY = maxY;
+	}
+
+	/**
+	 * Get the grid type
+	 *
+	 * @return grid type
+	 */
+	public GridType getType() {
+		return type;
+	}
+
+	/**
+	 * Get the cell step in units
+	 *
+	 * @return step
+	 */
+	public int getStep() {
+		return step;
+	}
+
+	/**
+	 * Get the minimum longitude in units
+	 *
+	 * @return minimum x
+	 */
+	public int getMinX() {
+		return minX;
+	}
+
+	/**
+	 * Get the minimum latitude in units
+	 *
+	 * @return minimum y
+	 */
+	public int getMinY() {
+		return minY;
+	}
+
+	/**
+	 * Get the maximum longitude in units
+	 *
+	 * @return maximum x
+	 */
+	public int getMaxX() {
+		return maxX;
+	}
+
+	/**
+	 * Get the maximum latitude in units
+	 *
+	 * @return maximum y
+	 */
+	public int getMaxY() {
+		return maxY;
+	}
+
+	/**
+	 * Get the number of cell columns, including the maximum longitude column
+	 *
+	 * @return columns
+	 */
+	public int getColumns() {
+		return (maxX - minX) / step + 1;
+	}
+
+	/**
+	 * Get the number of cell rows, including the maximum latitude row
+	 *
+	 * @return rows
+	 */
+	public int getRows() {
+		return (maxY - minY) / step + 1;
+	}
+
+	/**
+	 * Visit each cell southwest corner from west to east, and south to north
+	 * within each column, through the inclusive maximums
+	 *
+	 * @param consumer
+	 *            cell consumer
+	 */
+	public void forEachCell(CellConsumer consumer) {
+		for (int x = minX; x <= maxX; x += step) {
+			for (int y = minY; y <= maxY; y += step) {
+				consumer.accept(x, y);
+			}
+		}
+	}
+
+	/**
+	 * Floor the degrees value to a multiple of the step
+	 *
+	 * @param degrees
+	 *            value in degrees
+	 * @param step
+	 *            step in units
+	 * @return floored value in units
+	 */
+	public static int floor(double degrees, int step) {
+		return (int) Math.floor(degrees * UNITS_PER_DEGREE / step) * step;
+	}
+
+	/**
+	 * Get the cell id of the cell with the southwest corner, with the
+	 * southwest quadrant and keypad of coarser precisions
+	 *
+	 * @param x
+	 *            western longitude in units
+	 * @param y
+	 *            southern latitude in units
+	 * @param precision
+	 *            grid type precision
+	 * @return cell id
+	 */
+	public static long cellId(int x, int y, GridType precision) {
+		int bandUnits = GridType.THIRTY_MINUTE.getUnits();
+		int keypadUnits = GridType.FIVE_MINUTE.getUnits();
+		int quadrantUnits = GridType.FIFTEEN_MINUTE.getUnits();
+		int column = x + 180 * UNITS_PER_DEGREE;
+		int row = y + 90 * UNITS_PER_DEGREE;
+		int bandColumn = column % bandUnits;
+		int bandRow = row % bandUnits;
+		return GARSCellId.encode(column / bandUnits + 1, row / bandUnits + 1,
+				GARSUtils.quadrant(bandColumn / quadrantUnits,
+						bandRow / quadrantUnits),
+				GARSUtils.keypad(bandColumn % quadrantUnits / keypadUnits,
+						bandRow % quadrantUnits / keypadUnits),
+				precision);
+	}
+
+	/**
+	 * Convert lattice degrees to units, rounding to the nearest unit
+	 *
+	 * @param degrees
+	 *            lattice value in degrees
+	 * @return value in units
+	 */
+	public static int toUnits(double degrees) {
+		return (int) Math.round(degrees * UNITS_PER_DEGREE);
+	}
+
+	/**
+	 * Convert units to degrees
+	 *
+	 * @param units
+	 *            value in units
+	 * @return value in degrees
+	 */
+	public static double toDegrees(int units) {
+		return units / (double) UNITS_PER_DEGREE;
+	}
+
+}
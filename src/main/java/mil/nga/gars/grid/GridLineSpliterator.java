@@ -0,0 +1,168 @@
+package mil.nga.gars.grid;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import mil.nga.gars.features.GridLine;
+import mil.nga.grid.features.Point;
+
+/**
+ * Lazy grid line spliterator over a grid lattice, generating each cell's
+ * vertical and horizontal line on demand in the order of
+ * {@link Grid#forEachLine(mil.nga.grid.features.Bounds, LineConsumer)}.
+ * Memory is constant regardless of the lattice size, and splits divide the
+ * remaining lattice columns for parallel streams.
+ *
+ * @author osbornb
+ */
+class GridLineSpliterator implements Spliterator<GridLine> {
+
+	/**
+	 * Lattice minimum x in units
+	 */
+	private final int minX;
+
+	/**
+	 * Lattice minimum y in units
+	 */
+	private final int minY;
+
+	/**
+	 * Lattice step in units
+	 */
+	private final int step;
+
+	/**
+	 * Lattice rows
+	 */
+	private final int rows;
+
+	/**
+	 * Current column
+	 */
+	private int column;
+
+	/**
+	 * End column, exclusive
+	 */
+	private final int endColumn;
+
+	/**
+	 * Current row
+	 */
+	private int row;
+
+	/**
+	 * True when the current cell vertical line has been generated
+	 */
+	private boolean horizontal;
+
+	/**
+	 * Constructor
+	 * 
+	 * @param lattice
+	 *            grid lattice
+	 */
+	GridLineSpliterator(GridLattice lattice) {
+		this(lattice.getMinX(), lattice.getMinY(), lattice.getStep(),
+				lattice.getRows(), 0, lattice.getColumns());
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param minX
+	 *            lattice minimum x in units
+	 * @param minY
+	 *            lattice minimum y in units
+	 * @param step
+	 *            lattice step in units
+	 * @param rows
+	 *            lattice rows
+	 * @param column
+	 *            start column
+	 * @param endColumn
+	 *            end column, exclusive
+	 */
+	private GridLineSpliterator(int minX, int minY, int step, int rows,
+			int column, int endColumn) {
+		this.minX = minX;
+		this.minY = minY;
+		this.step = step;
+		this.rows = rows;
+		this.column = column;
+		this.endColumn = endColumn;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean tryAdvance(Consumer<? super GridLine> action) {
+		if (column >= endColumn) {
+			return false;
+		}
+
+		int x = minX + column * step;
+		int y = minY + row * step;
+		double lon = GridLattice.toDegrees(x);
+		double lat = GridLattice.toDegrees(y);
+
+		GridLine line;
+		if (!horizontal) {
+			line = GridLine.line(Point.point(lon, lat),
+					Point.point(lon, GridLattice.toDegrees(y + step)),
+					GridType.getLatticePrecision(x));
+			horizontal = true;
+		} else {
+			line = GridLine.line(Point.point(lon, lat),
+					Point.point(GridLattice.toDegrees(x + step), lat),
+					GridType.getLatticePrecision(y));
+			horizontal = false;
+			if (++row == rows) {
+				row = 0;
+				column++;
+			}
+		}
+
+		action.accept(line);
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Spliterator<GridLine> trySplit() {
+		GridLineSpliterator prefix = null;
+		if (endColumn - column >= 2) {
+			int split = column + (endColumn - column) / 2;
+			prefix = new GridLineSpliterator(minX, minY, step, rows, column,
+					split);
+			prefix.row = row;
+			prefix.horizontal = horizontal;
+			column = split;
+			row = 0;
+			horizontal = false;
+		}
+		return prefix;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long estimateSize() {
+		return 2 * ((long) (endColumn - column) * rows - row)
+				- (horizontal ? 1 : 0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int characteristics() {
+		return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+	}
+
+}
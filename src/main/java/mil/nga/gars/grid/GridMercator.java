@@ -0,0 +1,166 @@
+package mil.nga.gars.grid;
+
+import mil.nga.sf.util.GeometryConstants;
+
+/**
+ * Primitive Web Mercator conversions, numerically identical to the point
+ * conversions of {@link mil.nga.sf.util.GeometryUtils} without allocating
+ * points
+ *
+ * @author osbornb
+ */
+public class GridMercator {
+
+	/**
+	 * Minimum lattice latitude in units, -90 degrees
+	 */
+	private static final int MIN_LATITUDE_UNITS = -90
+			* GridLattice.UNITS_PER_DEGREE;
+
+	/**
+	 * Maximum lattice latitude in units, 90 degrees
+	 */
+	private static final int MAX_LATITUDE_UNITS = 90
+			* GridLattice.UNITS_PER_DEGREE;
+
+	/**
+	 * Web Mercator y in meters of each five minute lattice latitude from -90
+	 * to 90 degrees, 2,161 values
+	 */
+	private static final double[] LATITUDE_METERS = new double[MAX_LATITUDE_UNITS
+			- MIN_LATITUDE_UNITS + 1];
+
+	static {
+		for (int i = 0; i < LATITUDE_METERS.length; i++) {
+			LATITUDE_METERS[i] = latitudeToMeters(
+					GridLattice.toDegrees(MIN_LATITUDE_UNITS + i));
+		}
+	}
+
+	/**
+	 * Convert a longitude in degrees to meters
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @return x in meters
+	 */
+	public static double longitudeToMeters(double longitude) {
+		if (longitude < -GeometryConstants.WGS84_HALF_WORLD_LON_WIDTH) {
+			longitude += 2 * GeometryConstants.WGS84_HALF_WORLD_LON_WIDTH;
+		} else if (longitude > GeometryConstants.WGS84_HALF_WORLD_LON_WIDTH) {
+			longitude -= 2 * GeometryConstants.WGS84_HALF_WORLD_LON_WIDTH;
+		}
+		return longitude * GeometryConstants.WEB_MERCATOR_HALF_WORLD_WIDTH
+				/ GeometryConstants.WGS84_HALF_WORLD_LON_WIDTH;
+	}
+
+	/**
+	 * Convert a latitude in degrees to meters
+	 *
+	 * @param latitude
+	 *            latitude in degrees
+	 * @return y in meters
+	 */
+	public static double latitudeToMeters(double latitude) {
+		latitude = Math.min(latitude,
+				GeometryConstants.WGS84_HALF_WORLD_LAT_HEIGHT);
+		latitude = Math.max(latitude,
+				GeometryConstants.DEGREES_TO_METERS_MIN_LAT);
+		double y = Math.log(Math.tan(
+				(GeometryConstants.WGS84_HALF_WORLD_LAT_HEIGHT + latitude)
+						* Math.PI / 360.0))
+				/ GeometryConstants.DEGREES_TO_RADIANS;
+		return y * GeometryConstants.WEB_MERCATOR_HALF_WORLD_WIDTH
+				/ GeometryConstants.WGS84_HALF_WORLD_LON_WIDTH;
+	}
+
+	/**
+	 * Convert an x in meters to a longitude in degrees
+	 *
+	 * @param x
+	 *            x in meters
+	 * @return longitude in degrees
+	 */
+	public static double metersToLongitude(double x) {
+		return x * GeometryConstants.WGS84_HALF_WORLD_LON_WIDTH
+				/ GeometryConstants.WEB_MERCATOR_HALF_WORLD_WIDTH;
+	}
+
+	/**
+	 * Convert a y in meters to a latitude in degrees
+	 *
+	 * @param y
+	 *            y in meters
+	 * @return latitude in degrees
+	 */
+	public static double metersToLatitude(double y) {
+		double latitude = y * GeometryConstants.WGS84_HALF_WORLD_LON_WIDTH
+				/ GeometryConstants.WEB_MERCATOR_HALF_WORLD_WIDTH;
+		return Math.atan(
+				Math.exp(latitude * GeometryConstants.DEGREES_TO_RADIANS))
+				/ Math.PI * 360.0
+				- GeometryConstants.WGS84_HALF_WORLD_LAT_HEIGHT;
+	}
+
+	/**
+	 * Get the longitude of the Web Mercator centroid of a longitude range, as
+	 * used by {@link mil.nga.grid.features.Bounds#getCentroid()}
+	 *
+	 * @param west
+	 *            western longitude in degrees
+	 * @param east
+	 *            eastern longitude in degrees
+	 * @return center longitude in degrees
+	 */
+	public static double centerLongitude(double west, double east) {
+		return metersToLongitude(
+				(longitudeToMeters(west) + longitudeToMeters(east)) / 2.0);
+	}
+
+	/**
+	 * Get the latitude of the Web Mercator centroid of a latitude range, as
+	 * used by {@link mil.nga.grid.features.Bounds#getCentroid()}
+	 *
+	 * @param south
+	 *            southern latitude in degrees
+	 * @param north
+	 *            northern latitude in degrees
+	 * @return center latitude in degrees
+	 */
+	public static double centerLatitude(double south, double north) {
+		return metersToLatitude(
+				(latitudeToMeters(south) + latitudeToMeters(north)) / 2.0);
+	}
+
+	/**
+	 * Convert a lattice latitude to meters by table lookup, identical to
+	 * {@link #latitudeToMeters(double)} of the latitude in degrees. Latitudes
+	 * beyond the poles are clamped as in {@link #latitudeToMeters(double)}.
+	 *
+	 * @param units
+	 *            latitude in five minute lattice units
+	 * @return y in meters
+	 */
+	public static double latticeLatitudeToMeters(int units) {
+		int index = Math.min(Math.max(units, MIN_LATITUDE_UNITS),
+				MAX_LATITUDE_UNITS) - MIN_LATITUDE_UNITS;
+		return LATITUDE_METERS[index];
+	}
+
+	/**
+	 * Get the latitude of the Web Mercator centroid of a lattice latitude
+	 * range by table lookup, identical to
+	 * {@link #centerLatitude(double, double)} of the latitudes in degrees
+	 *
+	 * @param south
+	 *            southern latitude in five minute lattice units
+	 * @param north
+	 *            northern latitude in five minute lattice units
+	 * @return center latitude in degrees
+	 */
+	public static double latticeCenterLatitude(int south, int north) {
+		return metersToLatitude((latticeLatitudeToMeters(south)
+				+ latticeLatitudeToMeters(north)) / 2.0);
+	}
+
+}
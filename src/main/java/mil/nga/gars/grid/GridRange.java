@@ -1,8 +1,15 @@
 package mil.nga.gars.grid;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
 
 import mil.nga.gars.GARS;
+import mil.nga.gars.GARSUtils;
 import mil.nga.grid.features.Bounds;
 
 /**
@@ -22,6 +29,11 @@ public class GridRange implements Iterable<GARS> {
 	 */
 	private BandLettersRange bandLettersRange;
 
+	/**
+	 * Clip bounds of precision iteration, null to iterate the full bands
+	 */
+	private Bounds clipBounds;
+
 	/**
 	 * Constructor, full range
 	 */
@@ -44,6 +56,23 @@ public class GridRange implements Iterable<GARS> {
 		this.bandLettersRange = bandLettersRange;
 	}
 
+	/**
+	 * Constructor
+	 * 
+	 * @param bandNumberRange
+	 *            band number range
+	 * @param bandLettersRange
+	 *            band letters range
+	 * @param clipBounds
+	 *            clip bounds of precision iteration, null to iterate the
+	 *            full bands
+	 */
+	public GridRange(BandNumberRange bandNumberRange,
+			BandLettersRange bandLettersRange, Bounds clipBounds) {
+		this(bandNumberRange, bandLettersRange);
+		this.clipBounds = clipBounds;
+	}
+
 	/**
 	 * Get the band number range
 	 * 
@@ -82,6 +111,25 @@ public class GridRange implements Iterable<GARS> {
 		this.bandLettersRange = bandLettersRange;
 	}
 
+	/**
+	 * Get the clip bounds of precision iteration
+	 * 
+	 * @return clip bounds or null to iterate the full bands
+	 */
+	public Bounds getClipBounds() {
+		return clipBounds;
+	}
+
+	/**
+	 * Set the clip bounds of precision iteration
+	 * 
+	 * @param clipBounds
+	 *            clip bounds or null to iterate the full bands
+	 */
+	public void setClipBounds(Bounds clipBounds) {
+		this.clipBounds = clipBounds;
+	}
+
 	/**
 	 * Get the grid range bounds
 	 * 
@@ -97,6 +145,173 @@ public class GridRange implements Iterable<GARS> {
 		return Bounds.degrees(west, south, east, north);
 	}
 
+	/**
+	 * Get the lattice of the grid range cells at the precision, within the
+	 * bands and clipped to the cells intersecting the clip bounds. The
+	 * lattice maximums are the southwest corners of the last cells, below the
+	 * minimums when empty.
+	 * 
+	 * @param precision
+	 *            thirty minute, fifteen minute or five minute precision
+	 * @return lattice
+	 */
+	public GridLattice getLattice(GridType precision) {
+
+		int step = precision.getUnits();
+		int bandUnits = GridType.THIRTY_MINUTE.getUnits();
+		if (step > bandUnits) {
+			throw new IllegalArgumentException(
+					"Grid range precision must be thirty minute or finer. Precision: "
+							+ precision);
+		}
+
+		int halfWidth = 180 * GridLattice.UNITS_PER_DEGREE;
+		int halfHeight = 90 * GridLattice.UNITS_PER_DEGREE;
+
+		int minX = Math.max(
+				(bandNumberRange.getWest() - 1) * bandUnits - halfWidth,
+				-halfWidth);
+		int maxX = Math.min(bandNumberRange.getEast() * bandUnits - halfWidth,
+				halfWidth) - step;
+		int minY = Math.max(
+				(bandLettersRange.getSouthValue() - 1) * bandUnits
+						- halfHeight,
+				-halfHeight);
+		int maxY = Math.min(
+				bandLettersRange.getNorthValue() * bandUnits - halfHeight,
+				halfHeight) - step;
+
+		if (clipBounds != null) {
+			Bounds bounds = clipBounds.toDegrees();
+			int west = GridLattice.floor(bounds.getMinLongitude(), step);
+			int south = GridLattice.floor(bounds.getMinLatitude(), step);
+			minX = Math.max(minX, west);
+			minY = Math.max(minY, south);
+			maxX = Math.min(maxX, lastCell(bounds.getMaxLongitude(), west,
+					step));
+			maxY = Math.min(maxY, lastCell(bounds.getMaxLatitude(), south,
+					step));
+		}
+
+		return new GridLattice(precision, minX, minY, maxX, maxY);
+	}
+
+	/**
+	 * Get the number of grid range cells at the precision, see
+	 * {@link #getLattice(GridType)}
+	 * 
+	 * @param precision
+	 *            thirty minute, fifteen minute or five minute precision
+	 * @return cell count
+	 */
+	public long getCellCount(GridType precision) {
+		return count(getLattice(precision));
+	}
+
+	/**
+	 * Iterate the GARS cells at the precision, within the bands and clipped
+	 * to the clip bounds, west to east and south to north within each
+	 * column. Fifteen minute cells have the southwest keypad and thirty
+	 * minute cells the southwest quadrant and keypad.
+	 * 
+	 * @param precision
+	 *            thirty minute, fifteen minute or five minute precision
+	 * @return GARS iterable
+	 */
+	public Iterable<GARS> iterate(GridType precision) {
+		GridLattice lattice = getLattice(precision);
+		return () -> new Iterator<GARS>() {
+
+			/**
+			 * Cell ids
+			 */
+			private final PrimitiveIterator.OfLong ids = new GridCellIdIterator(
+					lattice);
+
+			/**
+			 * {@inheritDoc}
+			 */
+			@Override
+			public boolean hasNext() {
+				return ids.hasNext();
+			}
+
+			/**
+			 * {@inheritDoc}
+			 */
+			@Override
+			public GARS next() {
+				return GARS.fromCellId(ids.nextLong());
+			}
+
+		};
+	}
+
+	/**
+	 * Iterate the packed cell ids at the precision without boxing, in the
+	 * order of {@link #iterate(GridType)}
+	 * 
+	 * @param precision
+	 *            thirty minute, fifteen minute or five minute precision
+	 * @return cell id iterator
+	 * @see mil.nga.gars.GARSCellId
+	 */
+	public PrimitiveIterator.OfLong cellIds(GridType precision) {
+		return new GridCellIdIterator(getLattice(precision));
+	}
+
+	/**
+	 * Stream the packed cell ids at the precision, in the order of
+	 * {@link #iterate(GridType)}
+	 * 
+	 * @param precision
+	 *            thirty minute, fifteen minute or five minute precision
+	 * @return cell id stream
+	 * @see mil.nga.gars.GARSCellId
+	 */
+	public LongStream streamCellIds(GridType precision) {
+		GridLattice lattice = getLattice(precision);
+		return StreamSupport.longStream(Spliterators.spliterator(
+				new GridCellIdIterator(lattice), count(lattice),
+				Spliterator.ORDERED | Spliterator.DISTINCT
+						| Spliterator.NONNULL | Spliterator.IMMUTABLE),
+				false);
+	}
+
+	/**
+	 * Get the southwest corner in units of the last cell intersecting the
+	 * bounds up to the maximum, or of the first cell for empty bounds
+	 * 
+	 * @param max
+	 *            maximum degrees
+	 * @param first
+	 *            first cell in units
+	 * @param step
+	 *            cell step in units
+	 * @return last cell in units
+	 */
+	private static int lastCell(double max, int first, int step) {
+		int last = (int) Math.ceil(max * GridLattice.UNITS_PER_DEGREE / step)
+				* step - step;
+		return Math.max(first, last);
+	}
+
+	/**
+	 * Get the number of cells in the lattice
+	 * 
+	 * @param lattice
+	 *            lattice
+	 * @return cell count
+	 */
+	private static long count(GridLattice lattice) {
+		long count = 0;
+		if (lattice.getMaxX() >= lattice.getMinX()
+				&& lattice.getMaxY() >= lattice.getMinY()) {
+			count = (long) lattice.getColumns() * lattice.getRows();
+		}
+		return count;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -105,29 +320,36 @@ public class GridRange implements Iterable<GARS> {
 		return new Iterator<GARS>() {
 
 			/**
-			 * Band numbers
+			 * East band number
 			 */
-			private final Iterator<Integer> bandNumbers = bandNumberRange
-					.iterator();
+			private final int east = bandNumberRange.getEast();
 
 			/**
-			 * Band letters
+			 * South band letters value
 			 */
-			private Iterator<String> bandLetters = bandLettersRange.iterator();
+			private final int south = bandLettersRange.getSouthValue();
+
+			/**
+			 * North band letters value
+			 */
+			private final int north = bandLettersRange.getNorthValue();
 
 			/**
 			 * Current band number
 			 */
-			private Integer bandNumber = bandNumbers.hasNext()
-					? bandNumbers.next()
-					: null;
+			private int bandNumber = bandNumberRange.getWest();
+
+			/**
+			 * Current band letters value
+			 */
+			private int bandLetters = south;
 
 			/**
 			 * {@inheritDoc}
 			 */
 			@Override
 			public boolean hasNext() {
-				return bandNumber != null && bandLetters.hasNext();
+				return bandNumber <= east && south <= north;
 			}
 
 			/**
@@ -135,15 +357,14 @@ public class GridRange implements Iterable<GARS> {
 			 */
 			@Override
 			public GARS next() {
-				String letters = bandLetters.next();
-				GARS gars = GARS.create(bandNumber, letters);
-				if (!bandLetters.hasNext()) {
-					if (bandNumbers.hasNext()) {
-						bandNumber = bandNumbers.next();
-						bandLetters = bandLettersRange.iterator();
-					} else {
-						bandNumber = null;
-					}
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				GARS gars = GARS.create(bandNumber,
+						GARSUtils.bandLetters(bandLetters));
+				if (++bandLetters > north) {
+					bandLetters = south;
+					bandNumber++;
 				}
 				return gars;
 			}
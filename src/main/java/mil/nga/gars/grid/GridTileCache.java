@@ -0,0 +1,510 @@
+package mil.nga.gars.grid;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import mil.nga.gars.features.GridLine;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Unit;
+import mil.nga.grid.tile.GridTile;
+
+/**
+ * Thread safe, size bounded cache of grid tile lines and labels. Entries are
+ * keyed by grid, zoom, tile bounds and grid configuration version, so
+ * modifying a grid through its setters invalidates its cached tiles, with
+ * superseded entries aging out through eviction. Zoom range checks are
+ * evaluated on each request. The cache is split into independently locked
+ * segments, each evicting its least recently used entries.
+ *
+ * Set the cache on grids with {@link Grids#setTileCache(GridTileCache)} or
+ * {@link Grid#setTileCache(GridTileCache)} to cache the zoom level
+ * {@link Grid#getLines(GridTile)}, {@link Grid#getMergedLines(GridTile)} and
+ * {@link Grid#getLabels(GridTile)} requests, or request through the cache
+ * directly. A cache may be shared by multiple grids.
+ *
+ * Cached lists are unmodifiable and shared between callers, and the lines
+ * and labels within them must not be modified.
+ *
+ * @author osbornb
+ */
+public class GridTileCache {
+
+	/**
+	 * Default maximum number of cached tile results
+	 */
+	public static final int DEFAULT_MAX_SIZE = 1024;
+
+	/**
+	 * Default number of segments
+	 */
+	public static final int DEFAULT_SEGMENTS = 16;
+
+	/**
+	 * Lines result kind
+	 */
+	private static final int LINES = 0;
+
+	/**
+	 * Merged lines result kind
+	 */
+	private static final int MERGED_LINES = 1;
+
+	/**
+	 * Labels result kind
+	 */
+	private static final int LABELS = 2;
+
+	/**
+	 * Cache segments
+	 */
+	private final Segment[] segments;
+
+	/**
+	 * Maximum number of cached tile results
+	 */
+	private final int maxSize;
+
+	/**
+	 * Cache hits
+	 */
+	private final LongAdder hits = new LongAdder();
+
+	/**
+	 * Cache misses
+	 */
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Cache evictions
+	 */
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Constructor, default maximum size of {@link #DEFAULT_MAX_SIZE}
+	 */
+	public GridTileCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxSize
+	 *            maximum number of cached tile results
+	 */
+	public GridTileCache(int maxSize) {
+		this(maxSize, DEFAULT_SEGMENTS);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxSize
+	 *            maximum number of cached tile results
+	 * @param segments
+	 *            number of independently locked segments, rounded up to a
+	 *            power of two
+	 */
+	public GridTileCache(int maxSize, int segments) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException(
+					"Max size must be positive: " + maxSize);
+		}
+		if (segments < 1) {
+			throw new IllegalArgumentException(
+					"Segments must be positive: " + segments);
+		}
+		int count = 1;
+		while (count < segments && count * 2 <= maxSize) {
+			count <<= 1;
+		}
+		int segmentSize = (maxSize + count - 1) / count;
+		this.segments = new Segment[count];
+		for (int i = 0; i < count; i++) {
+			this.segments[i] = new Segment(segmentSize);
+		}
+		this.maxSize = segmentSize * count;
+	}
+
+	/**
+	 * Get the maximum number of cached tile results, the requested maximum
+	 * rounded up to a multiple of the segments
+	 *
+	 * @return max size
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Get the lines for the tile, see {@link Grid#getLines(GridTile)}
+	 *
+	 * @param grid
+	 *            grid
+	 * @param tile
+	 *            tile
+	 * @return lines
+	 */
+	public List<GridLine> getLines(Grid grid, GridTile tile) {
+		return getLines(grid, tile.getZoom(), tile.getBounds());
+	}
+
+	/**
+	 * Get the lines for the zoom and tile bounds, see
+	 * {@link Grid#getLines(int, Bounds)}
+	 *
+	 * @param grid
+	 *            grid
+	 * @param zoom
+	 *            zoom level
+	 * @param tileBounds
+	 *            tile bounds
+	 * @return lines
+	 */
+	public List<GridLine> getLines(Grid grid, int zoom, Bounds tileBounds) {
+		List<GridLine> lines = null;
+		if (grid.isLinesWithin(zoom)) {
+			lines = get(LINES, grid, zoom, tileBounds,
+					() -> grid.createLines(zoom, tileBounds));
+		}
+		return lines;
+	}
+
+	/**
+	 * Get the merged lines for the tile, see
+	 * {@link Grid#getMergedLines(GridTile)}
+	 *
+	 * @param grid
+	 *            grid
+	 * @param tile
+	 *            tile
+	 * @return lines
+	 */
+	public List<GridLine> getMergedLines(Grid grid, GridTile tile) {
+		return getMergedLines(grid, tile.getZoom(), tile.getBounds());
+	}
+
+	/**
+	 * Get the merged lines for the zoom and tile bounds, see
+	 * {@link Grid#getMergedLines(int, Bounds)}
+	 *
+	 * @param grid
+	 *            grid
+	 * @param zoom
+	 *            zoom level
+	 * @param tileBounds
+	 *            tile bounds
+	 * @return lines
+	 */
+	public List<GridLine> getMergedLines(Grid grid, int zoom,
+			Bounds tileBounds) {
+		List<GridLine> lines = null;
+		if (grid.isLinesWithin(zoom)) {
+			lines = get(MERGED_LINES, grid, zoom, tileBounds,
+					() -> grid.getMergedLines(zoom, tileBounds, 0));
+		}
+		return lines;
+	}
+
+	/**
+	 * Get the labels for the tile, see {@link Grid#getLabels(GridTile)}
+	 *
+	 * @param grid
+	 *            grid
+	 * @param tile
+	 *            tile
+	 * @return labels
+	 */
+	public List<GridLabel> getLabels(Grid grid, GridTile tile) {
+		return getLabels(grid, tile.getZoom(), tile.getBounds());
+	}
+
+	/**
+	 * Get the labels for the zoom and tile bounds, see
+	 * {@link Grid#getLabels(int, Bounds)}
+	 *
+	 * @param grid
+	 *            grid
+	 * @param zoom
+	 *            zoom level
+	 * @param tileBounds
+	 *            tile bounds
+	 * @return labels
+	 */
+	public List<GridLabel> getLabels(Grid grid, int zoom, Bounds tileBounds) {
+		List<GridLabel> labels = null;
+		if (grid.isLabelerWithin(zoom)) {
+			labels = get(LABELS, grid, zoom, tileBounds,
+					() -> grid.createLabels(zoom, tileBounds));
+		}
+		return labels;
+	}
+
+	/**
+	 * Get the number of cache hits
+	 *
+	 * @return hits
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Get the number of cache misses
+	 *
+	 * @return misses
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Get the number of cache evictions
+	 *
+	 * @return evictions
+	 */
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Get the number of cached tile results
+	 *
+	 * @return size
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Clear the cached tile results, retaining the statistics
+	 */
+	public void clear() {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	/**
+	 * Reset the hit, miss and eviction statistics
+	 */
+	public void resetStatistics() {
+		hits.reset();
+		misses.reset();
+		evictions.reset();
+	}
+
+	/**
+	 * Get the cached result or create and cache it
+	 *
+	 * @param kind
+	 *            result kind
+	 * @param grid
+	 *            grid
+	 * @param zoom
+	 *            zoom level
+	 * @param tileBounds
+	 *            tile bounds
+	 * @param create
+	 *            result creator, called outside of the segment lock
+	 * @return unmodifiable result
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> List<T> get(int kind, Grid grid, int zoom, Bounds tileBounds,
+			Supplier<List<T>> create) {
+
+		Key key = new Key(kind, grid, zoom, tileBounds);
+		Segment segment = segments[key.hash & (segments.length - 1)];
+
+		List<T> result;
+		synchronized (segment) {
+			result = (List<T>) segment.get(key);
+		}
+
+		if (result != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+			result = Collections.unmodifiableList(create.get());
+			synchronized (segment) {
+				List<T> existing = (List<T>) segment.putIfAbsent(key, result);
+				if (existing != null) {
+					result = existing;
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Least recently used cache segment
+	 */
+	private class Segment extends LinkedHashMap<Key, List<?>> {
+
+		/**
+		 * Serial Version UID
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Maximum number of entries
+		 */
+		private final int maxEntries;
+
+		/**
+		 * Constructor
+		 *
+		 * @param maxEntries
+		 *            maximum number of entries
+		 */
+		Segment(int maxEntries) {
+			super(16, 0.75f, true);
+			this.maxEntries = maxEntries;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, List<?>> eldest) {
+			boolean remove = size() > maxEntries;
+			if (remove) {
+				evictions.increment();
+			}
+			return remove;
+		}
+
+	}
+
+	/**
+	 * Tile result key
+	 */
+	private static final class Key {
+
+		/**
+		 * Result kind
+		 */
+		private final int kind;
+
+		/**
+		 * Grid
+		 */
+		private final Grid grid;
+
+		/**
+		 * Grid configuration version
+		 */
+		private final long version;
+
+		/**
+		 * Zoom level
+		 */
+		private final int zoom;
+
+		/**
+		 * Tile bounds unit
+		 */
+		private final Unit unit;
+
+		/**
+		 * Tile bounds minimum longitude
+		 */
+		private final double minLongitude;
+
+		/**
+		 * Tile bounds minimum latitude
+		 */
+		private final double minLatitude;
+
+		/**
+		 * Tile bounds maximum longitude
+		 */
+		private final double maxLongitude;
+
+		/**
+		 * Tile bounds maximum latitude
+		 */
+		private final double maxLatitude;
+
+		/**
+		 * Hash code
+		 */
+		private final int hash;
+
+		/**
+		 * Constructor
+		 *
+		 * @param kind
+		 *            result kind
+		 * @param grid
+		 *            grid
+		 * @param zoom
+		 *            zoom level
+		 * @param bounds
+		 *            tile bounds
+		 */
+		Key(int kind, Grid grid, int zoom, Bounds bounds) {
+			this.kind = kind;
+			this.grid = grid;
+			this.version = grid.getVersion();
+			this.zoom = zoom;
+			this.unit = bounds.getUnit();
+			this.minLongitude = bounds.getMinLongitude();
+			this.minLatitude = bounds.getMinLatitude();
+			this.maxLongitude = bounds.getMaxLongitude();
+			this.maxLatitude = bounds.getMaxLatitude();
+			int result = kind;
+			result = 31 * result + System.identityHashCode(grid);
+			result = 31 * result + Long.hashCode(version);
+			result = 31 * result + zoom;
+			result = 31 * result + Double.hashCode(minLongitude);
+			result = 31 * result + Double.hashCode(minLatitude);
+			result = 31 * result + Double.hashCode(maxLongitude);
+			result = 31 * result + Double.hashCode(maxLatitude);
+			result = 31 * result + (unit != null ? unit.hashCode() : 0);
+			this.hash = result ^ (result >>> 16);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return hash == other.hash && kind == other.kind
+					&& grid == other.grid && version == other.version
+					&& zoom == other.zoom && unit == other.unit
+					&& Double.compare(minLongitude, other.minLongitude) == 0
+					&& Double.compare(minLatitude, other.minLatitude) == 0
+					&& Double.compare(maxLongitude, other.maxLongitude) == 0
+					&& Double.compare(maxLatitude, other.maxLatitude) == 0;
+		}
+
+	}
+
+}
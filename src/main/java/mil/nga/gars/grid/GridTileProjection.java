@@ -0,0 +1,187 @@
+package mil.nga.gars.grid;
+
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.tile.GridTile;
+
+/**
+ * Tile pixel projection of degree coordinates, numerically identical to
+ * {@link mil.nga.grid.features.Point#getPixel(GridTile)} without allocating
+ * points or pixels. Lattice coordinates are projected once per distinct
+ * longitude and latitude.
+ *
+ * @author osbornb
+ */
+public class GridTileProjection {
+
+	/**
+	 * Tile width in pixels
+	 */
+	private final int width;
+
+	/**
+	 * Tile height in pixels
+	 */
+	private final int height;
+
+	/**
+	 * Tile minimum x in meters
+	 */
+	private final double minX;
+
+	/**
+	 * Tile maximum y in meters
+	 */
+	private final double maxY;
+
+	/**
+	 * Tile width in meters
+	 */
+	private final double metersWidth;
+
+	/**
+	 * Tile height in meters
+	 */
+	private final double metersHeight;
+
+	/**
+	 * Constructor
+	 *
+	 * @param tile
+	 *            tile
+	 */
+	public GridTileProjection(GridTile tile) {
+		this.width = tile.getWidth();
+		this.height = tile.getHeight();
+		Bounds bounds = tile.getBounds().toMeters();
+		this.minX = bounds.getMinLongitude();
+		this.maxY = bounds.getMaxLatitude();
+		this.metersWidth = bounds.getMaxLongitude() - minX;
+		this.metersHeight = maxY - bounds.getMinLatitude();
+	}
+
+	/**
+	 * Get the tile width in pixels
+	 *
+	 * @return width
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Get the tile height in pixels
+	 *
+	 * @return height
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Get the x pixel of a longitude
+	 *
+	 * @param longitude
+	 *            longitude in degrees
+	 * @return x pixel
+	 */
+	public float getXPixel(double longitude) {
+		return getXPixelMeters(GridMercator.longitudeToMeters(longitude));
+	}
+
+	/**
+	 * Get the y pixel of a latitude
+	 *
+	 * @param latitude
+	 *            latitude in degrees
+	 * @return y pixel
+	 */
+	public float getYPixel(double latitude) {
+		return getYPixelMeters(GridMercator.latitudeToMeters(latitude));
+	}
+
+	/**
+	 * Get the y pixel of a lattice latitude by Web Mercator table lookup
+	 *
+	 * @param units
+	 *            latitude in five minute lattice units
+	 * @return y pixel
+	 */
+	public float getLatticeYPixel(int units) {
+		return getYPixelMeters(GridMercator.latticeLatitudeToMeters(units));
+	}
+
+	/**
+	 * Get the y pixel of the Web Mercator centroid of a lattice latitude
+	 * range by table lookup, the pixel of
+	 * {@link GridMercator#latticeCenterLatitude(int, int)}
+	 *
+	 * @param south
+	 *            southern latitude in five minute lattice units
+	 * @param north
+	 *            northern latitude in five minute lattice units
+	 * @return y pixel
+	 */
+	public float getLatticeCenterYPixel(int south, int north) {
+		return getYPixelMeters((GridMercator.latticeLatitudeToMeters(south)
+				+ GridMercator.latticeLatitudeToMeters(north)) / 2.0);
+	}
+
+	/**
+	 * Get the x pixel of a Web Mercator x
+	 *
+	 * @param x
+	 *            x in meters
+	 * @return x pixel
+	 */
+	public float getXPixelMeters(double x) {
+		return (float) ((x - minX) / metersWidth * width);
+	}
+
+	/**
+	 * Get the y pixel of a Web Mercator y
+	 *
+	 * @param y
+	 *            y in meters
+	 * @return y pixel
+	 */
+	public float getYPixelMeters(double y) {
+		return (float) ((maxY - y) / metersHeight * height);
+	}
+
+	/**
+	 * Project each lattice longitude, from the minimum through one step past
+	 * the maximum
+	 *
+	 * @param lattice
+	 *            grid lattice
+	 * @return x pixels indexed by column
+	 */
+	public float[] getXPixels(GridLattice lattice) {
+		float[] pixels = new float[lattice.getColumns() + 1];
+		int x = lattice.getMinX();
+		for (int i = 0; i < pixels.length; i++) {
+			pixels[i] = getXPixel(GridLattice.toDegrees(x));
+			x += lattice.getStep();
+		}
+		return pixels;
+	}
+
+	/**
+	 * Project each lattice latitude, from the minimum through one step past
+	 * the maximum, using the Web Mercator lattice latitude table
+	 *
+	 * @param lattice
+	 *            grid lattice
+	 * @return y pixels indexed by row
+	 */
+	public float[] getYPixels(GridLattice lattice) {
+		float[] pixels = new float[lattice.getRows() + 1];
+		int y = lattice.getMinY();
+		for (int i = 0; i < pixels.length; i++) {
+			pixels[i] = getLatticeYPixel(y);
+			y += lattice.getStep();
+		}
+		return pixels;
+	}
+
+}
@@ -14,51 +14,59 @@ public enum GridType {
 	/**
 	 * Twenty Degree
 	 */
-	TWENTY_DEGREE(20.0),
+	TWENTY_DEGREE(20.0, 240),
 
 	/**
 	 * Ten Degree
 	 */
-	TEN_DEGREE(10.0),
+	TEN_DEGREE(10.0, 120),
 
 	/**
 	 * Five Degree
 	 */
-	FIVE_DEGREE(5.0),
+	FIVE_DEGREE(5.0, 60),
 
 	/**
 	 * One Degree
 	 */
-	ONE_DEGREE(1.0),
+	ONE_DEGREE(1.0, 12),
 
 	/**
 	 * Thirty Minute
 	 */
-	THIRTY_MINUTE(0.5),
+	THIRTY_MINUTE(0.5, 6),
 
 	/**
 	 * Fifteen Minute
 	 */
-	FIFTEEN_MINUTE(0.25),
+	FIFTEEN_MINUTE(0.25, 3),
 
 	/**
 	 * Five Minute
 	 */
-	FIVE_MINUTE(0.25 / 3.0);
+	FIVE_MINUTE(0.25 / 3.0, 1);
 
 	/**
 	 * Grid precision in degrees
 	 */
 	private double precision;
 
+	/**
+	 * Grid precision in five minute lattice units
+	 */
+	private int units;
+
 	/**
 	 * Constructor
 	 * 
 	 * @param precision
 	 *            precision in degrees
+	 * @param units
+	 *            precision in five minute lattice units
 	 */
-	private GridType(double precision) {
+	private GridType(double precision, int units) {
 		this.precision = precision;
+		this.units = units;
 	}
 
 	/**
@@ -70,6 +78,16 @@ public enum GridType {
 		return precision;
 	}
 
+	/**
+	 * Get the precision in five minute lattice units
+	 * 
+	 * @return precision units
+	 * @see GridLattice
+	 */
+	public int getUnits() {
+		return units;
+	}
+
 	/**
 	 * Get the precision of the value in degrees
 	 * 
@@ -97,6 +115,35 @@ public enum GridType {
 		return precision;
 	}
 
+	/**
+	 * Get the least precise grid type that the five minute lattice unit value
+	 * falls on
+	 * 
+	 * @param units
+	 *            value in five minute lattice units
+	 * @return grid type precision
+	 * @see GridLattice
+	 */
+	public static GridType getLatticePrecision(int units) {
+		GridType precision = null;
+		if (units % TWENTY_DEGREE.units == 0) {
+			precision = TWENTY_DEGREE;
+		} else if (units % TEN_DEGREE.units == 0) {
+			precision = TEN_DEGREE;
+		} else if (units % FIVE_DEGREE.units == 0) {
+			precision = FIVE_DEGREE;
+		} else if (units % ONE_DEGREE.units == 0) {
+			precision = ONE_DEGREE;
+		} else if (units % THIRTY_MINUTE.units == 0) {
+			precision = THIRTY_MINUTE;
+		} else if (units % FIFTEEN_MINUTE.units == 0) {
+			precision = FIFTEEN_MINUTE;
+		} else {
+			precision = FIVE_MINUTE;
+		}
+		return precision;
+	}
+
 	/**
 	 * Get the less precise (larger precision value) grid types
 	 * 
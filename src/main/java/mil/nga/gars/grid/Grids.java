@@ -8,6 +8,7 @@ import java.util.Map;
 import java.util.Set;
 
 import mil.nga.color.Color;
+import mil.nga.gars.metrics.GridRecorder;
 import mil.nga.gars.property.GARSProperties;
 import mil.nga.grid.BaseGrids;
 import mil.nga.grid.GridStyle;
@@ -292,6 +293,56 @@ public class Grids extends BaseGrids<Grid, ZoomGrids> {
 		return getGrids(zoom).getPrecision();
 	}
 
+	/**
+	 * Set the metrics recorder of all grids, see
+	 * {@link Grid#setRecorder(GridRecorder)}
+	 * 
+	 * @param recorder
+	 *            recorder or null to disable recording
+	 */
+	public void setRecorder(GridRecorder recorder) {
+		for (Grid grid : grids.values()) {
+			grid.setRecorder(recorder);
+		}
+	}
+
+	/**
+	 * Set the metrics recorder of the grid type
+	 * 
+	 * @param type
+	 *            grid type
+	 * @param recorder
+	 *            recorder or null to disable recording
+	 */
+	public void setRecorder(GridType type, GridRecorder recorder) {
+		getGrid(type).setRecorder(recorder);
+	}
+
+	/**
+	 * Set the tile cache of all grids, see
+	 * {@link Grid#setTileCache(GridTileCache)}
+	 * 
+	 * @param tileCache
+	 *            tile cache or null to disable caching
+	 */
+	public void setTileCache(GridTileCache tileCache) {
+		for (Grid grid : grids.values()) {
+			grid.setTileCache(tileCache);
+		}
+	}
+
+	/**
+	 * Set the tile cache of the grid type
+	 * 
+	 * @param type
+	 *            grid type
+	 * @param tileCache
+	 *            tile cache or null to disable caching
+	 */
+	public void setTileCache(GridType type, GridTileCache tileCache) {
+		getGrid(type).setTileCache(tileCache);
+	}
+
 	/**
 	 * Set the active grid types
 	 * 
@@ -0,0 +1,37 @@
+package mil.nga.gars.grid;
+
+/**
+ * Grid label consumer, receiving label cell values without label, bounds,
+ * point or coordinate allocation
+ *
+ * @author osbornb
+ */
+@FunctionalInterface
+public interface LabelConsumer {
+
+	/**
+	 * Accept a grid label cell
+	 *
+	 * @param west
+	 *            cell western longitude in degrees
+	 * @param south
+	 *            cell southern latitude in degrees
+	 * @param east
+	 *            cell eastern longitude in degrees
+	 * @param north
+	 *            cell northern latitude in degrees
+	 * @param centerLon
+	 *            label center longitude in degrees
+	 * @param centerLat
+	 *            label center latitude in degrees
+	 * @param cellId
+	 *            packed {@link mil.nga.gars.GARSCellId} of the label center
+	 *            with the grid type precision
+	 * @param gridType
+	 *            grid type
+	 */
+	void accept(double west, double south, double east, double north,
+			double centerLon, double centerLat, long cellId,
+			GridType gridType);
+
+}
@@ -0,0 +1,29 @@
+package mil.nga.gars.grid;
+
+/**
+ * Grid line consumer, receiving line coordinates without line or point
+ * allocation
+ *
+ * @author osbornb
+ */
+@FunctionalInterface
+public interface LineConsumer {
+
+	/**
+	 * Accept a grid line
+	 *
+	 * @param lon1
+	 *            first point longitude in degrees
+	 * @param lat1
+	 *            first point latitude in degrees
+	 * @param lon2
+	 *            second point longitude in degrees
+	 * @param lat2
+	 *            second point latitude in degrees
+	 * @param gridType
+	 *            line grid type precision
+	 */
+	void accept(double lon1, double lat1, double lon2, double lat2,
+			GridType gridType);
+
+}
@@ -1,6 +1,17 @@
 package mil.nga.gars.grid;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import mil.nga.gars.features.GridLine;
+import mil.nga.gars.metrics.EventSink.FeaturesEvent;
+import mil.nga.gars.metrics.Events;
+import mil.nga.gars.metrics.GridOperation;
 import mil.nga.grid.BaseZoomGrids;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.tile.GridTile;
 
 /**
  * Zoom Level Matching Grids
@@ -32,4 +43,134 @@ public class ZoomGrids extends BaseZoomGrids<Grid> {
 		return type;
 	}
 
+	/**
+	 * Get the grid owning the combined merged lines of the grid type
+	 * precision, the coarsest grid drawing lines at the zoom level whose
+	 * precision is at least as precise, see {@link #getLines(Bounds)}
+	 * 
+	 * @param type
+	 *            line grid type precision
+	 * @return owning grid or null
+	 */
+	public Grid getLineGrid(GridType type) {
+		Grid lineGrid = null;
+		Iterator<Grid> iterator = grids.descendingIterator();
+		while (iterator.hasNext()) {
+			Grid grid = iterator.next();
+			if (grid.isLinesWithin(getZoom())
+					&& grid.getType().ordinal() >= type.ordinal()) {
+				lineGrid = grid;
+				break;
+			}
+		}
+		return lineGrid;
+	}
+
+	/**
+	 * Get the combined merged lines of the grids for the tile, see
+	 * {@link #getLines(Bounds)}
+	 * 
+	 * @param tile
+	 *            tile
+	 * @return lines by owning grid, coarsest grid first
+	 */
+	public Map<Grid, List<GridLine>> getLines(GridTile tile) {
+		return getLines(tile.getBounds());
+	}
+
+	/**
+	 * Get the combined merged lines of the grids for the tile bounds. Each
+	 * meridian and parallel is generated once, owned by the coarsest grid
+	 * drawing lines at the zoom level whose precision it falls on. Lines are
+	 * tagged with their grid type precision for styling with
+	 * {@link Grid#getStyle(GridType)}.
+	 * 
+	 * @param tileBounds
+	 *            tile bounds
+	 * @return lines by owning grid, coarsest grid first
+	 */
+	public Map<Grid, List<GridLine>> getLines(Bounds tileBounds) {
+		FeaturesEvent event = Events.getSink().beginFeatures();
+		Map<Grid, List<GridLine>> lines = new LinkedHashMap<>();
+		int count = 0;
+		int coarserUnits = 0;
+		Iterator<Grid> iterator = grids.descendingIterator();
+		while (iterator.hasNext()) {
+			Grid grid = iterator.next();
+			if (grid.isLinesWithin(getZoom())) {
+				List<GridLine> gridLines = grid.getMergedLines(getZoom(),
+						tileBounds, coarserUnits);
+				if (!gridLines.isEmpty()) {
+					lines.put(grid, gridLines);
+					count += gridLines.size();
+				}
+				coarserUnits = grid.getType().getUnits();
+			}
+		}
+		commit(event, tileBounds, count);
+		return lines;
+	}
+
+	/**
+	 * Visit the combined merged lines of the grids for the tile without
+	 * creating lines, see {@link #getLines(GridTile)}
+	 * 
+	 * @param tile
+	 *            tile
+	 * @param consumer
+	 *            line consumer
+	 */
+	public void forEachLine(GridTile tile, LineConsumer consumer) {
+		forEachLine(tile.getBounds(), consumer);
+	}
+
+	/**
+	 * Visit the combined merged lines of the grids for the tile bounds
+	 * without creating lines, coarsest grid first, see
+	 * {@link #getLines(Bounds)}
+	 * 
+	 * @param tileBounds
+	 *            tile bounds
+	 * @param consumer
+	 *            line consumer
+	 */
+	public void forEachLine(Bounds tileBounds, LineConsumer consumer) {
+		FeaturesEvent event = Events.getSink().beginFeatures();
+		Grid.LineCounter counter = null;
+		if (event != null) {
+			counter = new Grid.LineCounter(consumer);
+			consumer = counter;
+		}
+		int coarserUnits = 0;
+		Iterator<Grid> iterator = grids.descendingIterator();
+		while (iterator.hasNext()) {
+			Grid grid = iterator.next();
+			if (grid.isLinesWithin(getZoom())) {
+				grid.forEachMergedLine(getZoom(), tileBounds, coarserUnits,
+						consumer);
+				coarserUnits = grid.getType().getUnits();
+			}
+		}
+		if (counter != null) {
+			commit(event, tileBounds, counter.count);
+		}
+	}
+
+	/**
+	 * Commit the combined merged lines event when recording
+	 * 
+	 * @param event
+	 *            begun event, null if not recorded
+	 * @param tileBounds
+	 *            tile bounds
+	 * @param lines
+	 *            number of lines
+	 */
+	private void commit(FeaturesEvent event, Bounds tileBounds, long lines) {
+		if (event != null) {
+			event.commit(GridOperation.MERGED_LINES, getPrecision(), getZoom(),
+					tileBounds, lines);
+		}
+	}
+
 }
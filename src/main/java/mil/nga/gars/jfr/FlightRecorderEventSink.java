@@ -0,0 +1,60 @@
+package mil.nga.gars.jfr;
+
+import mil.nga.gars.metrics.EventSink;
+
+/**
+ * Java Flight Recorder event sink, installed by default by
+ * {@link mil.nga.gars.metrics.Events} when the {@code jdk.jfr} module is
+ * present. Events are only begun when enabled in a recording.
+ *
+ * @author osbornb
+ */
+public class FlightRecorderEventSink implements EventSink {
+
+	/**
+	 * Constructor
+	 */
+	public FlightRecorderEventSink() {
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public TileEvent beginTile() {
+		GridTileGeneratedEvent event = new GridTileGeneratedEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public FeaturesEvent beginFeatures() {
+		GridFeaturesGeneratedEvent event = new GridFeaturesGeneratedEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public BatchEvent beginBatch() {
+		GARSBatchEvent event = new GARSBatchEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.begin();
+		return event;
+	}
+
+}
@@ -0,0 +1,128 @@
+package mil.nga.gars.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import mil.nga.gars.grid.GridType;
+import mil.nga.gars.metrics.EventSink.BatchEvent;
+
+/**
+ * Java Flight Recorder event of a bulk GARS conversion batch. Batches are
+ * sampled by a default duration threshold of 1 ms, configurable in the
+ * recording settings, so frequent small batches do not flood a recording.
+ * Begun by {@link FlightRecorderEventSink} only when enabled, and populated
+ * and committed only when {@link #shouldCommit()}.
+ *
+ * @author osbornb
+ */
+@Name(GARSBatchEvent.NAME)
+@Label("GARS Batch")
+@Category({ "GARS", "Conversion" })
+@Description("Bulk GARS conversion of coordinates, cell ids or strings")
+@Threshold("1 ms")
+@StackTrace(false)
+public class GARSBatchEvent extends Event implements BatchEvent {
+
+	/**
+	 * Event name
+	 */
+	public static final String NAME = "mil.nga.gars.GARSBatch";
+
+	/**
+	 * Batch operation
+	 */
+	@Label("Operation")
+	private String operation;
+
+	/**
+	 * Grid type precision
+	 */
+	@Label("Precision")
+	private String precision;
+
+	/**
+	 * Batch size
+	 */
+	@Label("Count")
+	private int count;
+
+	/**
+	 * Invalid values
+	 */
+	@Label("Invalid")
+	@Description("Number of values that failed to parse")
+	private int invalid;
+
+	/**
+	 * Set the batch values
+	 *
+	 * @param operation
+	 *            batch operation
+	 * @param precision
+	 *            grid type precision, null if not applicable
+	 * @param count
+	 *            batch size
+	 * @param invalid
+	 *            number of invalid values
+	 */
+	public void set(String operation, GridType precision, int count,
+			int invalid) {
+		this.operation = operation;
+		this.precision = precision != null ? precision.name() : null;
+		this.count = count;
+		this.invalid = invalid;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void commit(String operation, GridType precision, int count,
+			int invalid) {
+		if (shouldCommit()) {
+			set(operation, precision, count, invalid);
+			commit();
+		}
+	}
+
+	/**
+	 * Get the batch operation
+	 *
+	 * @return operation
+	 */
+	public String getOperation() {
+		return operation;
+	}
+
+	/**
+	 * Get the grid type precision name
+	 *
+	 * @return precision
+	 */
+	public String getPrecision() {
+		return precision;
+	}
+
+	/**
+	 * Get the batch size
+	 *
+	 * @return count
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Get the number of invalid values
+	 *
+	 * @return invalid
+	 */
+	public int getInvalid() {
+		return invalid;
+	}
+
+}
@@ -0,0 +1,165 @@
+package mil.nga.gars.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import mil.nga.gars.grid.GridType;
+import mil.nga.gars.metrics.EventSink.FeaturesEvent;
+import mil.nga.gars.metrics.GridOperation;
+import mil.nga.grid.features.Bounds;
+
+/**
+ * Java Flight Recorder event of the grid lines or labels generated for a tile
+ * by {@link mil.nga.gars.grid.Grid} and {@link mil.nga.gars.grid.ZoomGrids}
+ * tile requests, timing the generation. Events nested within a
+ * {@link GridTileGeneratedEvent} break down the tile generation without
+ * adding to its counts. Begun by {@link FlightRecorderEventSink} only when
+ * enabled, and populated and committed only when {@link #shouldCommit()}.
+ *
+ * @author osbornb
+ */
+@Name(GridFeaturesGeneratedEvent.NAME)
+@Label("Grid Features Generated")
+@Category({ "GARS", "Grid" })
+@Description("Grid lines or labels generated for a tile")
+@StackTrace(false)
+public class GridFeaturesGeneratedEvent extends Event
+		implements FeaturesEvent {
+
+	/**
+	 * Event name
+	 */
+	public static final String NAME = "mil.nga.gars.GridFeaturesGenerated";
+
+	/**
+	 * Grid operation
+	 */
+	@Label("Operation")
+	private String operation;
+
+	/**
+	 * Grid type precision
+	 */
+	@Label("Grid Type")
+	private String gridType;
+
+	/**
+	 * Zoom level
+	 */
+	@Label("Zoom")
+	private int zoom;
+
+	/**
+	 * Tile x coordinate
+	 */
+	@Label("Tile X")
+	private int x;
+
+	/**
+	 * Tile y coordinate
+	 */
+	@Label("Tile Y")
+	private int y;
+
+	/**
+	 * Line or label count
+	 */
+	@Label("Count")
+	@Description("Number of lines or labels generated")
+	private long count;
+
+	/**
+	 * Set the feature values
+	 *
+	 * @param operation
+	 *            grid operation
+	 * @param gridType
+	 *            grid type precision
+	 * @param zoom
+	 *            zoom level
+	 * @param tileBounds
+	 *            tile bounds
+	 * @param count
+	 *            line or label count
+	 */
+	public void set(GridOperation operation, GridType gridType, int zoom,
+			Bounds tileBounds, long count) {
+		this.operation = operation.name();
+		this.gridType = gridType != null ? gridType.name() : null;
+		this.zoom = zoom;
+		this.count = count;
+		Bounds bounds = tileBounds.toMeters();
+		this.x = GridTileGeneratedEvent.getTileX(zoom, bounds);
+		this.y = GridTileGeneratedEvent.getTileY(zoom, bounds);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void commit(GridOperation operation, GridType gridType, int zoom,
+			Bounds tileBounds, long count) {
+		if (shouldCommit()) {
+			set(operation, gridType, zoom, tileBounds, count);
+			commit();
+		}
+	}
+
+	/**
+	 * Get the grid operation name
+	 *
+	 * @return operation
+	 */
+	public String getOperation() {
+		return operation;
+	}
+
+	/**
+	 * Get the grid type precision name
+	 *
+	 * @return grid type
+	 */
+	public String getGridType() {
+		return gridType;
+	}
+
+	/**
+	 * Get the zoom level
+	 *
+	 * @return zoom
+	 */
+	public int getZoom() {
+		return zoom;
+	}
+
+	/**
+	 * Get the tile x coordinate
+	 *
+	 * @return x
+	 */
+	public int getX() {
+		return x;
+	}
+
+	/**
+	 * Get the tile y coordinate
+	 *
+	 * @return y
+	 */
+	public int getY() {
+		return y;
+	}
+
+	/**
+	 * Get the line or label count
+	 *
+	 * @return count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+}
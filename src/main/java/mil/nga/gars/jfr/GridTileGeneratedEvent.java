@@ -0,0 +1,213 @@
+package mil.nga.gars.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import mil.nga.gars.grid.GridType;
+import mil.nga.gars.metrics.EventSink.TileEvent;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.tile.GridTile;
+import mil.nga.sf.util.GeometryConstants;
+
+/**
+ * Java Flight Recorder event of a generated raster or vector grid tile,
+ * timing the line and label generation. Begun by
+ * {@link FlightRecorderEventSink} only when enabled, and populated and
+ * committed only when {@link #shouldCommit()}.
+ *
+ * @author osbornb
+ */
+@Name(GridTileGeneratedEvent.NAME)
+@Label("Grid Tile Generated")
+@Category({ "GARS", "Grid" })
+@Description("Grid lines and labels generated for a tile")
+@StackTrace(false)
+public class GridTileGeneratedEvent extends Event implements TileEvent {
+
+	/**
+	 * Event name
+	 */
+	public static final String NAME = "mil.nga.gars.GridTileGenerated";
+
+	/**
+	 * Tile format
+	 */
+	@Label("Format")
+	private String format;
+
+	/**
+	 * Grid type precision
+	 */
+	@Label("Grid Type")
+	@Description("Zoom level grid type precision")
+	private String gridType;
+
+	/**
+	 * Zoom level
+	 */
+	@Label("Zoom")
+	private int zoom;
+
+	/**
+	 * Tile x coordinate
+	 */
+	@Label("Tile X")
+	private int x;
+
+	/**
+	 * Tile y coordinate
+	 */
+	@Label("Tile Y")
+	private int y;
+
+	/**
+	 * Line count
+	 */
+	@Label("Lines")
+	private int lines;
+
+	/**
+	 * Label count
+	 */
+	@Label("Labels")
+	private int labels;
+
+	/**
+	 * Set the tile values
+	 *
+	 * @param format
+	 *            tile format
+	 * @param tile
+	 *            tile
+	 * @param gridType
+	 *            grid type precision, null if no grids
+	 * @param lines
+	 *            line count
+	 * @param labels
+	 *            label count
+	 */
+	public void set(String format, GridTile tile, GridType gridType,
+			int lines, int labels) {
+		this.format = format;
+		this.gridType = gridType != null ? gridType.name() : null;
+		this.zoom = tile.getZoom();
+		this.lines = lines;
+		this.labels = labels;
+		Bounds bounds = tile.getBoundsMeters();
+		this.x = getTileX(zoom, bounds);
+		this.y = getTileY(zoom, bounds);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void commit(String format, GridTile tile, GridType gridType,
+			int lines, int labels) {
+		if (shouldCommit()) {
+			set(format, tile, gridType, lines, labels);
+			commit();
+		}
+	}
+
+	/**
+	 * Get the tile x coordinate of the tile bounds center
+	 *
+	 * @param zoom
+	 *            zoom level
+	 * @param bounds
+	 *            tile bounds in meters
+	 * @return tile x
+	 */
+	static int getTileX(int zoom, Bounds bounds) {
+		double halfWidth = GeometryConstants.WEB_MERCATOR_HALF_WORLD_WIDTH;
+		double centerX = (bounds.getMinLongitude() + bounds.getMaxLongitude())
+				/ 2;
+		return (int) Math
+				.floor((centerX + halfWidth) * (1L << zoom) / (2 * halfWidth));
+	}
+
+	/**
+	 * Get the tile y coordinate of the tile bounds center
+	 *
+	 * @param zoom
+	 *            zoom level
+	 * @param bounds
+	 *            tile bounds in meters
+	 * @return tile y
+	 */
+	static int getTileY(int zoom, Bounds bounds) {
+		double halfWidth = GeometryConstants.WEB_MERCATOR_HALF_WORLD_WIDTH;
+		double centerY = (bounds.getMinLatitude() + bounds.getMaxLatitude())
+				/ 2;
+		return (int) Math
+				.floor((halfWidth - centerY) * (1L << zoom) / (2 * halfWidth));
+	}
+
+	/**
+	 * Get the tile format
+	 *
+	 * @return format
+	 */
+	public String getFormat() {
+		return format;
+	}
+
+	/**
+	 * Get the grid type precision name
+	 *
+	 * @return grid type
+	 */
+	public String getGridType() {
+		return gridType;
+	}
+
+	/**
+	 * Get the zoom level
+	 *
+	 * @return zoom
+	 */
+	public int getZoom() {
+		return zoom;
+	}
+
+	/**
+	 * Get the tile x coordinate
+	 *
+	 * @return x
+	 */
+	public int getX() {
+		return x;
+	}
+
+	/**
+	 * Get the tile y coordinate
+	 *
+	 * @return y
+	 */
+	public int getY() {
+		return y;
+	}
+
+	/**
+	 * Get the line count
+	 *
+	 * @return lines
+	 */
+	public int getLines() {
+		return lines;
+	}
+
+	/**
+	 * Get the label count
+	 *
+	 * @return labels
+	 */
+	public int getLabels() {
+		return labels;
+	}
+
+}
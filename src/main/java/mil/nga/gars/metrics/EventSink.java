@@ -0,0 +1,162 @@
+package mil.nga.gars.metrics;
+
+import mil.nga.gars.grid.GridType;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.tile.GridTile;
+
+/**
+ * Tile generation and conversion batch event sink, set with
+ * {@link Events#setSink(EventSink)}. Each begin method starts timing an
+ * event and returns its handle, or null when the event is not recorded so
+ * callers skip any counting. The Java Flight Recorder sink is installed by
+ * default only when the {@code jdk.jfr} module is present, keeping the core
+ * free of flight recorder references on platforms such as Android.
+ *
+ * @author osbornb
+ */
+public interface EventSink {
+
+	/**
+	 * No operation event sink
+	 */
+	public static final EventSink NONE = new EventSink() {
+
+		@Override
+		public TileEvent beginTile() {
+			return null;
+		}
+
+		@Override
+		public FeaturesEvent beginFeatures() {
+			return null;
+		}
+
+		@Override
+		public BatchEvent beginBatch() {
+			return null;
+		}
+
+	};
+
+	/**
+	 * Begin a raster or vector tile generated event
+	 *
+	 * @return begun event or null if not recorded
+	 */
+	TileEvent beginTile();
+
+	/**
+	 * Begin a grid lines or labels generated event
+	 *
+	 * @return begun event or null if not recorded
+	 */
+	FeaturesEvent beginFeatures();
+
+	/**
+	 * Begin a bulk GARS conversion batch event
+	 *
+	 * @return begun event or null if not recorded
+	 */
+	BatchEvent beginBatch();
+
+	/**
+	 * Begun raster or vector tile generated event
+	 */
+	public interface TileEvent {
+
+		/**
+		 * Raster tile format
+		 */
+		public static final String RASTER = "raster";
+
+		/**
+		 * Vector tile format
+		 */
+		public static final String VECTOR = "vector";
+
+		/**
+		 * End and commit the event
+		 *
+		 * @param format
+		 *            tile format
+		 * @param tile
+		 *            tile
+		 * @param gridType
+		 *            grid type precision, null if no grids
+		 * @param lines
+		 *            line count
+		 * @param labels
+		 *            label count
+		 */
+		void commit(String format, GridTile tile, GridType gridType,
+				int lines, int labels);
+
+	}
+
+	/**
+	 * Begun grid lines or labels generated event
+	 */
+	public interface FeaturesEvent {
+
+		/**
+		 * End and commit the event
+		 *
+		 * @param operation
+		 *            grid operation
+		 * @param gridType
+		 *            grid type precision
+		 * @param zoom
+		 *            zoom level
+		 * @param tileBounds
+		 *            tile bounds
+		 * @param count
+		 *            line or label count
+		 */
+		void commit(GridOperation operation, GridType gridType, int zoom,
+				Bounds tileBounds, long count);
+
+	}
+
+	/**
+	 * Begun bulk GARS conversion batch event
+	 */
+	public interface BatchEvent {
+
+		/**
+		 * Coordinates to cell ids operation
+		 */
+		public static final String ENCODE = "encode";
+
+		/**
+		 * Cell ids to southwest corners operation
+		 */
+		public static final String DECODE_SOUTHWEST = "decodeSouthwest";
+
+		/**
+		 * Cell ids to centers operation
+		 */
+		public static final String DECODE_CENTERS = "decodeCenters";
+
+		/**
+		 * GARS strings to cell ids operation
+		 */
+		public static final String PARSE = "parse";
+
+		/**
+		 * End and commit the event
+		 *
+		 * @param operation
+		 *            batch operation
+		 * @param precision
+		 *            grid type precision, null if not applicable
+		 * @param count
+		 *            batch size
+		 * @param invalid
+		 *            number of invalid values
+		 */
+		void commit(String operation, GridType precision, int count,
+				int invalid);
+
+	}
+
+}
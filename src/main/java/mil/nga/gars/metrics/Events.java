@@ -0,0 +1,77 @@
+package mil.nga.gars.metrics;
+
+/**
+ * Event sink registry. Defaults to the Java Flight Recorder sink when the
+ * {@code jdk.jfr} module is present, otherwise to {@link EventSink#NONE}.
+ *
+ * @author osbornb
+ */
+public class Events {
+
+	/**
+	 * Flight recorder event base class, required by the default sink
+	 */
+	private static final String FLIGHT_RECORDER_EVENT = "jdk.jfr.Event";
+
+	/**
+	 * Default flight recorder event sink class
+	 */
+	private static final String FLIGHT_RECORDER_SINK = "mil.nga.gars.jfr.FlightRecorderEventSink";
+
+	/**
+	 * Default event sink
+	 */
+	private static final EventSink DEFAULT_SINK = createDefaultSink();
+
+	/**
+	 * Event sink
+	 */
+	private static volatile EventSink sink = DEFAULT_SINK;
+
+	/**
+	 * Constructor
+	 */
+	private Events() {
+
+	}
+
+	/**
+	 * Get the event sink
+	 *
+	 * @return event sink
+	 */
+	public static EventSink getSink() {
+		return sink;
+	}
+
+	/**
+	 * Set the event sink, {@link EventSink#NONE} to disable events
+	 *
+	 * @param sink
+	 *            event sink, null to restore the default sink
+	 */
+	public static void setSink(EventSink sink) {
+		Events.sink = sink != null ? sink : DEFAULT_SINK;
+	}
+
+	/**
+	 * Create the default event sink, loading the flight recorder sink only
+	 * when the flight recorder is available
+	 *
+	 * @return default event sink
+	 */
+	private static EventSink createDefaultSink() {
+		EventSink sink = EventSink.NONE;
+		ClassLoader classLoader = Events.class.getClassLoader();
+		try {
+			Class.forName(FLIGHT_RECORDER_EVENT, false, classLoader);
+			sink = (EventSink) Class
+					.forName(FLIGHT_RECORDER_SINK, true, classLoader)
+					.getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			// Flight recorder not available
+		}
+		return sink;
+	}
+
+}
@@ -0,0 +1,164 @@
+package mil.nga.gars.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import mil.nga.gars.grid.GridType;
+
+/**
+ * Recorded metrics of a grid operation for a grid type and zoom level
+ *
+ * @author osbornb
+ */
+public class GridMetric {
+
+	/**
+	 * Grid operation
+	 */
+	private final GridOperation operation;
+
+	/**
+	 * Grid type
+	 */
+	private final GridType type;
+
+	/**
+	 * Zoom level
+	 */
+	private final int zoom;
+
+	/**
+	 * Latency histogram in nanoseconds
+	 */
+	private final LatencyHistogram latency;
+
+	/**
+	 * Visited cells
+	 */
+	private final LongAdder cells = new LongAdder();
+
+	/**
+	 * Emitted lines or labels
+	 */
+	private final LongAdder features = new LongAdder();
+
+	/**
+	 * Constructor
+	 *
+	 * @param operation
+	 *            grid operation
+	 * @param type
+	 *            grid type
+	 * @param zoom
+	 *            zoom level
+	 * @param latency
+	 *            latency histogram
+	 */
+	public GridMetric(GridOperation operation, GridType type, int zoom,
+			LatencyHistogram latency) {
+		this.operation = operation;
+		this.type = type;
+		this.zoom = zoom;
+		this.latency = latency;
+	}
+
+	/**
+	 * Record an operation
+	 *
+	 * @param nanos
+	 *            duration in nanoseconds
+	 * @param cells
+	 *            number of grid cells visited
+	 * @param features
+	 *            number of lines or labels emitted
+	 */
+	public void record(long nanos, long cells, long features) {
+		latency.record(nanos);
+		this.cells.add(cells);
+		this.features.add(features);
+	}
+
+	/**
+	 * Get the grid operation
+	 *
+	 * @return grid operation
+	 */
+	public GridOperation getOperation() {
+		return operation;
+	}
+
+	/**
+	 * Get the grid type
+	 *
+	 * @return grid type
+	 */
+	public GridType getType() {
+		return type;
+	}
+
+	/**
+	 * Get the zoom level
+	 *
+	 * @return zoom level
+	 */
+	public int getZoom() {
+		return zoom;
+	}
+
+	/**
+	 * Get the latency histogram in nanoseconds
+	 *
+	 * @return latency histogram
+	 */
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+
+	/**
+	 * Get the number of recorded operations
+	 *
+	 * @return count
+	 */
+	public long getCount() {
+		return latency.getCount();
+	}
+
+	/**
+	 * Get the total number of visited cells
+	 *
+	 * @return cells
+	 */
+	public long getCells() {
+		return cells.sum();
+	}
+
+	/**
+	 * Get the total number of emitted lines or labels
+	 *
+	 * @return features
+	 */
+	public long getFeatures() {
+		return features.sum();
+	}
+
+	/**
+	 * Reset the metrics
+	 */
+	public void reset() {
+		latency.reset();
+		cells.reset();
+		features.reset();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return operation + " " + type + " zoom " + zoom + ": count="
+				+ getCount() + ", cells=" + getCells() + ", features="
+				+ getFeatures() + ", p50=" + latency.getValueAtPercentile(50)
+				+ "ns, p99=" + latency.getValueAtPercentile(99) + "ns, max="
+				+ latency.getMax() + "ns";
+	}
+
+}
@@ -0,0 +1,130 @@
+package mil.nga.gars.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import mil.nga.gars.grid.GridType;
+
+/**
+ * In memory grid metrics recorder of counters and latency histograms by grid
+ * operation, grid type and zoom level
+ *
+ * @author osbornb
+ */
+public class GridMetricsRecorder implements GridRecorder {
+
+	/**
+	 * Metrics by operation, type and zoom key
+	 */
+	private final Map<Integer, GridMetric> metrics = new ConcurrentHashMap<>();
+
+	/**
+	 * Latency histogram precision bits
+	 */
+	private final int precisionBits;
+
+	/**
+	 * Constructor, using the default latency histogram precision
+	 */
+	public GridMetricsRecorder() {
+		this(LatencyHistogram.DEFAULT_PRECISION_BITS);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param precisionBits
+	 *            latency histogram precision bits, see
+	 *            {@link LatencyHistogram#LatencyHistogram(int)}
+	 */
+	public GridMetricsRecorder(int precisionBits) {
+		LatencyHistogram.validatePrecisionBits(precisionBits);
+		this.precisionBits = precisionBits;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void record(GridOperation operation, GridType type, int zoom,
+			long nanos, long cells, long features) {
+		int key = key(operation, type, zoom);
+		GridMetric metric = metrics.get(key);
+		if (metric == null) {
+			metric = metrics.computeIfAbsent(key,
+					k -> new GridMetric(operation, type, zoom,
+							new LatencyHistogram(precisionBits)));
+		}
+		metric.record(nanos, cells, features);
+	}
+
+	/**
+	 * Get the metric for the operation, grid type and zoom
+	 *
+	 * @param operation
+	 *            grid operation
+	 * @param type
+	 *            grid type
+	 * @param zoom
+	 *            zoom level
+	 * @return metric or null if not recorded
+	 */
+	public GridMetric getMetric(GridOperation operation, GridType type,
+			int zoom) {
+		return metrics.get(key(operation, type, zoom));
+	}
+
+	/**
+	 * Get the recorded metrics ordered by operation, grid type and zoom
+	 *
+	 * @return metrics
+	 */
+	public List<GridMetric> getMetrics() {
+		List<GridMetric> list = new ArrayList<>(metrics.values());
+		list.sort(Comparator.comparing(GridMetric::getOperation)
+				.thenComparing(GridMetric::getType)
+				.thenComparingInt(GridMetric::getZoom));
+		return list;
+	}
+
+	/**
+	 * Get the recorded metrics ordered from the slowest latency at the
+	 * percentile
+	 *
+	 * @param percentile
+	 *            latency percentile, 0.0 through 100.0
+	 * @return metrics, slowest first
+	 */
+	public List<GridMetric> getSlowest(double percentile) {
+		List<GridMetric> list = getMetrics();
+		list.sort(Comparator.comparingLong((GridMetric metric) -> metric
+				.getLatency().getValueAtPercentile(percentile)).reversed());
+		return list;
+	}
+
+	/**
+	 * Remove all recorded metrics
+	 */
+	public void reset() {
+		metrics.clear();
+	}
+
+	/**
+	 * Get the metric key
+	 *
+	 * @param operation
+	 *            grid operation
+	 * @param type
+	 *            grid type
+	 * @param zoom
+	 *            zoom level
+	 * @return key
+	 */
+	private static int key(GridOperation operation, GridType type, int zoom) {
+		return (zoom << 8) | (type.ordinal() << 2) | operation.ordinal();
+	}
+
+}
@@ -0,0 +1,29 @@
+package mil.nga.gars.metrics;
+
+/**
+ * Recorded grid tile generation operation
+ *
+ * @author osbornb
+ */
+public enum GridOperation {
+
+	/**
+	 * Cell lines, see {@link mil.nga.gars.grid.Grid#getLines(int,
+	 * mil.nga.grid.features.Bounds)}
+	 */
+	LINES,
+
+	/**
+	 * Merged meridian and parallel lines, see
+	 * {@link mil.nga.gars.grid.Grid#getMergedLines(int,
+	 * mil.nga.grid.features.Bounds)}
+	 */
+	MERGED_LINES,
+
+	/**
+	 * Cell labels, see {@link mil.nga.gars.grid.Grid#getLabels(int,
+	 * mil.nga.grid.features.Bounds)}
+	 */
+	LABELS;
+
+}
@@ -0,0 +1,36 @@
+package mil.nga.gars.metrics;
+
+import mil.nga.gars.grid.GridType;
+
+/**
+ * Grid metrics recorder, called after each recorded grid operation when set
+ * on a {@link mil.nga.gars.grid.Grid}. Implementations must be thread safe
+ * and should return quickly, as they are called on the tile generation
+ * thread. Grids without a recorder skip timing entirely.
+ *
+ * @author osbornb
+ */
+@FunctionalInterface
+public interface GridRecorder {
+
+	/**
+	 * Record a grid operation
+	 *
+	 * @param operation
+	 *            grid operation
+	 * @param type
+	 *            grid type
+	 * @param zoom
+	 *            zoom level
+	 * @param nanos
+	 *            duration in nanoseconds, including the consumer of visiting
+	 *            operations
+	 * @param cells
+	 *            number of grid cells visited
+	 * @param features
+	 *            number of lines or labels emitted
+	 */
+	void record(GridOperation operation, GridType type, int zoom, long nanos,
+			long cells, long features);
+
+}
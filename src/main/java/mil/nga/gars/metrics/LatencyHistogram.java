@@ -0,0 +1,257 @@
+package mil.nga.gars.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe, fixed memory latency histogram of non negative values, in the
+ * style of an HDR histogram. Values below 2^precisionBits are counted exactly
+ * and larger values in log linear buckets of 2^(precisionBits - 1)
+ * sub-buckets per power of two, bounding the relative error of reported
+ * percentiles by 1 / 2^(precisionBits - 1) across the full long range.
+ * Recording is lock free and allocation free.
+ *
+ * @author osbornb
+ */
+public class LatencyHistogram {
+
+	/**
+	 * Default precision bits, a relative error of at most 1 / 64
+	 */
+	public static final int DEFAULT_PRECISION_BITS = 7;
+
+	/**
+	 * Precision bits
+	 */
+	private final int precisionBits;
+
+	/**
+	 * Half of the sub-bucket count
+	 */
+	private final int halfCount;
+
+	/**
+	 * Bucket counts
+	 */
+	private final AtomicLongArray counts;
+
+	/**
+	 * Value count
+	 */
+	private final LongAdder count = new LongAdder();
+
+	/**
+	 * Value total
+	 */
+	private final LongAdder total = new LongAdder();
+
+	/**
+	 * Minimum value
+	 */
+	private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+	/**
+	 * Maximum value
+	 */
+	private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+	/**
+	 * Constructor, using the default precision bits
+	 */
+	public LatencyHistogram() {
+		this(DEFAULT_PRECISION_BITS);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param precisionBits
+	 *            precision bits, 1 through 16
+	 */
+	public LatencyHistogram(int precisionBits) {
+		validatePrecisionBits(precisionBits);
+		this.precisionBits = precisionBits;
+		this.halfCount = 1 << (precisionBits - 1);
+		this.counts = new AtomicLongArray(index(Long.MAX_VALUE) + 1);
+	}
+
+	/**
+	 * Get the precision bits
+	 *
+	 * @return precision bits
+	 */
+	public int getPrecisionBits() {
+		return precisionBits;
+	}
+
+	/**
+	 * Record a value, negative values are recorded as 0
+	 *
+	 * @param value
+	 *            value
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		counts.incrementAndGet(index(value));
+		count.increment();
+		total.add(value);
+		if (value < min.get()) {
+			min.accumulateAndGet(value, Math::min);
+		}
+		if (value > max.get()) {
+			max.accumulateAndGet(value, Math::max);
+		}
+	}
+
+	/**
+	 * Get the number of recorded values
+	 *
+	 * @return count
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Get the total of the recorded values
+	 *
+	 * @return total
+	 */
+	public long getTotal() {
+		return total.sum();
+	}
+
+	/**
+	 * Get the minimum recorded value
+	 *
+	 * @return minimum, 0 if empty
+	 */
+	public long getMin() {
+		return getCount() > 0 ? min.get() : 0;
+	}
+
+	/**
+	 * Get the maximum recorded value
+	 *
+	 * @return maximum, 0 if empty
+	 */
+	public long getMax() {
+		return getCount() > 0 ? max.get() : 0;
+	}
+
+	/**
+	 * Get the mean of the recorded values
+	 *
+	 * @return mean, 0 if empty
+	 */
+	public double getMean() {
+		long count = getCount();
+		return count > 0 ? getTotal() / (double) count : 0;
+	}
+
+	/**
+	 * Get the value at the percentile, the highest value equivalent to the
+	 * bucket containing the percentile rank, capped at the maximum
+	 *
+	 * @param percentile
+	 *            percentile, 0.0 through 100.0
+	 * @return value, 0 if empty
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (percentile < 0.0 || percentile > 100.0) {
+			throw new IllegalArgumentException(
+					"Percentile must be 0.0 through 100.0. Percentile: "
+							+ percentile);
+		}
+		long value = 0;
+		long count = getCount();
+		if (count > 0) {
+			long rank = Math.max(1,
+					(long) Math.ceil(percentile / 100.0 * count));
+			long cumulative = 0;
+			for (int i = 0; i < counts.length(); i++) {
+				cumulative += counts.get(i);
+				if (cumulative >= rank) {
+					value = highestEquivalent(i);
+					break;
+				}
+			}
+			value = Math.max(Math.min(value, getMax()), getMin());
+		}
+		return value;
+	}
+
+	/**
+	 * Reset the histogram, values recorded concurrently with a reset may be
+	 * partially retained
+	 */
+	public void reset() {
+		for (int i = 0; i < counts.length(); i++) {
+			counts.set(i, 0);
+		}
+		count.reset();
+		total.reset();
+		min.set(Long.MAX_VALUE);
+		max.set(Long.MIN_VALUE);
+	}
+
+	/**
+	 * Validate the precision bits
+	 *
+	 * @param precisionBits
+	 *            precision bits
+	 * @throws IllegalArgumentException
+	 *             if not 1 through 16
+	 */
+	static void validatePrecisionBits(int precisionBits) {
+		if (precisionBits < 1 || precisionBits > 16) {
+			throw new IllegalArgumentException(
+					"Precision bits must be 1 through 16. Precision bits: "
+							+ precisionBits);
+		}
+	}
+
+	/**
+	 * Get the bucket index of a value
+	 *
+	 * @param value
+	 *            non negative value
+	 * @return bucket index
+	 */
+	private int index(long value) {
+		int index;
+		if (value < 2 * halfCount) {
+			index = (int) value;
+		} else {
+			int shift = 64 - Long.numberOfLeadingZeros(value) - precisionBits;
+			index = shift * halfCount + (int) (value >>> shift);
+		}
+		return index;
+	}
+
+	/**
+	 * Get the highest value equivalent to a bucket index
+	 *
+	 * @param index
+	 *            bucket index
+	 * @return highest equivalent value
+	 */
+	private long highestEquivalent(int index) {
+		long value;
+		if (index < 2 * halfCount) {
+			value = index;
+		} else {
+			int shift = index / halfCount - 1;
+			long subBucket = index - (long) shift * halfCount;
+			value = ((subBucket + 1) << shift) - 1;
+			if (value < 0) {
+				value = Long.MAX_VALUE;
+			}
+		}
+		return value;
+	}
+
+}
@@ -0,0 +1,629 @@
+package mil.nga.gars.render;
+
+import java.awt.BasicStroke;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import mil.nga.color.Color;
+import mil.nga.gars.GARSCellId;
+import mil.nga.gars.GARSUtils;
+import mil.nga.gars.grid.Grid;
+import mil.nga.gars.grid.GridLabeler;
+import mil.nga.gars.grid.GridLattice;
+import mil.nga.gars.grid.GridTileProjection;
+import mil.nga.gars.grid.GridType;
+import mil.nga.gars.grid.Grids;
+import mil.nga.gars.grid.LabelConsumer;
+import mil.nga.gars.grid.LineConsumer;
+import mil.nga.gars.grid.ZoomGrids;
+import mil.nga.gars.metrics.EventSink.TileEvent;
+import mil.nga.gars.metrics.Events;
+import mil.nga.grid.tile.GridTile;
+
+/**
+ * Headless raster renderer of grid overlay tiles as ARGB pixels, images or
+ * PNG bytes. Lines are drawn from the combined merged lines of
+ * {@link ZoomGrids#forEachLine(GridTile, LineConsumer)}, each meridian and
+ * parallel once with the grid type precision color and width of its owning
+ * grid, finest precision first so coarser lines draw on top. Labels are drawn
+ * centered in their cells when the text fits within the labeler buffer, with
+ * the labeler color and text size.
+ *
+ * The renderer is thread safe for concurrent rendering of unmodified grids.
+ * Each thread reuses its own canvas, line buffers, fonts and resolved colors
+ * and strokes between tiles. Styles are re-resolved when grid colors, widths
+ * or labeler settings change.
+ *
+ * @author osbornb
+ */
+public class GridTileRenderer {
+
+	/**
+	 * Default label font name
+	 */
+	public static final String DEFAULT_FONT_NAME = Font.SANS_SERIF;
+
+	/**
+	 * PNG image format name
+	 */
+	private static final String PNG = "png";
+
+	/**
+	 * Grid types indexed by ordinal
+	 */
+	private static final GridType[] TYPES = GridType.values();
+
+	/**
+	 * Number of grid types
+	 */
+	private static final int GRID_TYPES = TYPES.length;
+
+	/**
+	 * Grids
+	 */
+	private final Grids grids;
+
+	/**
+	 * Label font name
+	 */
+	private final String fontName;
+
+	/**
+	 * Per thread canvases
+	 */
+	private final ThreadLocal<Canvas> canvases = ThreadLocal
+			.withInitial(Canvas::new);
+
+	/**
+	 * Constructor, default font of {@link #DEFAULT_FONT_NAME}
+	 *
+	 * @param grids
+	 *            grids
+	 */
+	public GridTileRenderer(Grids grids) {
+		this(grids, DEFAULT_FONT_NAME);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param grids
+	 *            grids
+	 * @param fontName
+	 *            label font name
+	 */
+	public GridTileRenderer(Grids grids, String fontName) {
+		this.grids = grids;
+		this.fontName = fontName;
+	}
+
+	/**
+	 * Get the grids
+	 *
+	 * @return grids
+	 */
+	public Grids getGrids() {
+		return grids;
+	}
+
+	/**
+	 * Get the label font name
+	 *
+	 * @return font name
+	 */
+	public String getFontName() {
+		return fontName;
+	}
+
+	/**
+	 * Render the tile as ARGB pixels
+	 *
+	 * @param tile
+	 *            tile
+	 * @return ARGB pixels, row major from the top left
+	 */
+	public int[] renderArgb(GridTile tile) {
+		int[] argb = new int[tile.getWidth() * tile.getHeight()];
+		renderArgb(tile, argb);
+		return argb;
+	}
+
+	/**
+	 * Render the tile into ARGB pixels
+	 *
+	 * @param tile
+	 *            tile
+	 * @param argb
+	 *            ARGB pixels to populate, row major from the top left, of at
+	 *            least the tile width times height
+	 */
+	public void renderArgb(GridTile tile, int[] argb) {
+		Canvas canvas = draw(tile);
+		System.arraycopy(canvas.pixels, 0, argb, 0, canvas.pixels.length);
+	}
+
+	/**
+	 * Render the tile as an ARGB image
+	 *
+	 * @param tile
+	 *            tile
+	 * @return image
+	 */
+	public BufferedImage renderImage(GridTile tile) {
+		BufferedImage image = new BufferedImage(tile.getWidth(),
+				tile.getHeight(), BufferedImage.TYPE_INT_ARGB);
+		renderArgb(tile, ((DataBufferInt) image.getRaster().getDataBuffer())
+				.getData());
+		return image;
+	}
+
+	/**
+	 * Render the tile as PNG bytes
+	 *
+	 * @param tile
+	 *            tile
+	 * @return PNG bytes
+	 */
+	public byte[] renderPng(GridTile tile) {
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		try {
+			renderPng(tile, stream);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to write PNG tile", e);
+		}
+		return stream.toByteArray();
+	}
+
+	/**
+	 * Render the tile as PNG bytes to the output stream
+	 *
+	 * @param tile
+	 *            tile
+	 * @param stream
+	 *            output stream
+	 * @throws IOException
+	 *             upon failure to write
+	 */
+	public void renderPng(GridTile tile, OutputStream stream)
+			throws IOException {
+		Canvas canvas = draw(tile);
+		if (!ImageIO.write(canvas.image, PNG, stream)) {
+			throw new IOException("No PNG image writer available");
+		}
+	}
+
+	/**
+	 * Draw the tile on the current thread canvas
+	 *
+	 * @param tile
+	 *            tile
+	 * @return canvas
+	 */
+	private Canvas draw(GridTile tile) {
+
+		TileEvent event = Events.getSink().beginTile();
+
+		Canvas canvas = canvases.get();
+		canvas.reset(tile.getWidth(), tile.getHeight());
+
+		int lines = 0;
+
+		ZoomGrids zoomGrids = grids.getGrids(tile.getZoom());
+		if (zoomGrids.hasGrids()) {
+
+			GridTileProjection projection = new GridTileProjection(tile);
+
+			lines = canvas.drawLines(zoomGrids, tile, projection);
+
+			for (Grid grid : zoomGrids) {
+				if (grid.isLabelerWithin(tile.getZoom())) {
+					canvas.drawLabels(grid, tile, projection);
+				}
+			}
+
+		}
+
+		if (event != null) {
+			event.commit(TileEvent.RASTER, tile, zoomGrids.getPrecision(),
+					lines, canvas.labels);
+		}
+
+		return canvas;
+	}
+
+	/**
+	 * Resolved AWT styles of a grid
+	 */
+	private static class Styles {
+
+		/**
+		 * Resolved line ARGB colors by grid type ordinal
+		 */
+		private final int[] lineArgb = new int[GRID_TYPES];
+
+		/**
+		 * Line colors by grid type ordinal
+		 */
+		private final java.awt.Color[] lineColors = new java.awt.Color[GRID_TYPES];
+
+		/**
+		 * Line strokes by grid type ordinal
+		 */
+		private final BasicStroke[] lineStrokes = new BasicStroke[GRID_TYPES];
+
+		/**
+		 * Resolved label ARGB color
+		 */
+		private int labelArgb;
+
+		/**
+		 * Label color
+		 */
+		private java.awt.Color labelColor;
+
+		/**
+		 * Resolve the line colors and strokes of the grid type precisions
+		 * drawn by the grid
+		 *
+		 * @param grid
+		 *            grid
+		 */
+		void resolveLines(Grid grid) {
+			for (int i = 0; i <= grid.getType().ordinal(); i++) {
+				GridType type = TYPES[i];
+				int argb = argb(grid.getColor(type));
+				if (lineColors[i] == null || lineArgb[i] != argb) {
+					lineColors[i] = new java.awt.Color(argb, true);
+					lineArgb[i] = argb;
+				}
+				float width = (float) grid.getWidth(type);
+				if (lineStrokes[i] == null
+						|| lineStrokes[i].getLineWidth() != width) {
+					lineStrokes[i] = new BasicStroke(width);
+				}
+			}
+		}
+
+		/**
+		 * Resolve the label color
+		 *
+		 * @param labeler
+		 *            labeler
+		 * @return label color
+		 */
+		java.awt.Color resolveLabel(GridLabeler labeler) {
+			int argb = argb(labeler.getColor());
+			if (labelColor == null || labelArgb != argb) {
+				labelColor = new java.awt.Color(argb, true);
+				labelArgb = argb;
+			}
+			return labelColor;
+		}
+
+		/**
+		 * Get the ARGB value of a color
+		 *
+		 * @param color
+		 *            color, null for opaque black
+		 * @return ARGB
+		 */
+		private static int argb(Color color) {
+			return color != null ? color.getColorWithAlpha() : 0xFF000000;
+		}
+
+	}
+
+	/**
+	 * Per thread reusable drawing canvas, also the line consumer of the zoom
+	 * grids and label consumer of the grid being drawn
+	 */
+	private class Canvas implements LineConsumer, LabelConsumer {
+
+		/**
+		 * Image
+		 */
+		private BufferedImage image;
+
+		/**
+		 * Image ARGB pixels
+		 */
+		private int[] pixels;
+
+		/**
+		 * Image graphics
+		 */
+		private Graphics2D graphics;
+
+		/**
+		 * Reusable line
+		 */
+		private final Line2D.Float line = new Line2D.Float();
+
+		/**
+		 * Line pixel buffer
+		 */
+		private float[] linePixels = new float[0];
+
+		/**
+		 * Line grid type ordinal buffer
+		 */
+		private byte[] lineTypes = new byte[0];
+
+		/**
+		 * Number of buffered lines
+		 */
+		private int lineCount;
+
+		/**
+		 * Owning grid line colors by grid type ordinal
+		 */
+		private final java.awt.Color[] lineColors = new java.awt.Color[GRID_TYPES];
+
+		/**
+		 * Owning grid line strokes by grid type ordinal
+		 */
+		private final BasicStroke[] lineStrokes = new BasicStroke[GRID_TYPES];
+
+		/**
+		 * Resolved styles by grid
+		 */
+		private final Map<Grid, Styles> styles = new IdentityHashMap<>();
+
+		/**
+		 * Fonts by text size
+		 */
+		private final Map<Float, Font> fonts = new HashMap<>();
+
+		/**
+		 * Current font metrics
+		 */
+		private FontMetrics metrics;
+
+		/**
+		 * Label name buffer
+		 */
+		private final StringBuilder name = new StringBuilder();
+
+		/**
+		 * Label name characters
+		 */
+		private char[] nameChars = new char[16];
+
+		/**
+		 * Current label projection
+		 */
+		private GridTileProjection projection;
+
+		/**
+		 * Current label fit percentage of the cell, excluding the buffers
+		 */
+		private double labelPercentage;
+
+		/**
+		 * Number of labels drawn on the current tile
+		 */
+		private int labels;
+
+		/**
+		 * Reset the canvas to a transparent image of the size
+		 *
+		 * @param width
+		 *            width
+		 * @param height
+		 *            height
+		 */
+		void reset(int width, int height) {
+			if (image == null || image.getWidth() != width
+					|| image.getHeight() != height) {
+				if (graphics != null) {
+					graphics.dispose();
+				}
+				image = new BufferedImage(width, height,
+						BufferedImage.TYPE_INT_ARGB);
+				pixels = ((DataBufferInt) image.getRaster().getDataBuffer())
+						.getData();
+				graphics = image.createGraphics();
+				graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+						RenderingHints.VALUE_ANTIALIAS_ON);
+				graphics.setRenderingHint(
+						RenderingHints.KEY_TEXT_ANTIALIASING,
+						RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+				graphics.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL,
+						RenderingHints.VALUE_STROKE_PURE);
+				metrics = null;
+			} else {
+				Arrays.fill(pixels, 0);
+			}
+			labels = 0;
+		}
+
+		/**
+		 * Draw the combined merged lines of the zoom grids
+		 *
+		 * @param zoomGrids
+		 *            zoom grids
+		 * @param tile
+		 *            tile
+		 * @param projection
+		 *            tile projection
+		 * @return number of lines drawn
+		 */
+		int drawLines(ZoomGrids zoomGrids, GridTile tile,
+				GridTileProjection projection) {
+
+			this.projection = projection;
+			lineCount = 0;
+			zoomGrids.forEachLine(tile, this);
+			this.projection = null;
+
+			if (lineCount > 0) {
+
+				Grid previous = null;
+				for (GridType type : TYPES) {
+					Grid grid = zoomGrids.getLineGrid(type);
+					if (grid != null) {
+						Styles gridStyles = getStyles(grid);
+						if (grid != previous) {
+							gridStyles.resolveLines(grid);
+							previous = grid;
+						}
+						lineColors[type.ordinal()] = gridStyles.lineColors[type
+								.ordinal()];
+						lineStrokes[type.ordinal()] = gridStyles.lineStrokes[type
+								.ordinal()];
+					}
+				}
+
+				// Lines are visited coarsest grid first, draw in reverse
+				int currentType = -1;
+				for (int i = lineCount - 1; i >= 0; i--) {
+					int type = lineTypes[i];
+					if (type != currentType) {
+						graphics.setColor(lineColors[type]);
+						graphics.setStroke(lineStrokes[type]);
+						currentType = type;
+					}
+					int offset = 4 * i;
+					line.setLine(linePixels[offset], linePixels[offset + 1],
+							linePixels[offset + 2], linePixels[offset + 3]);
+					graphics.draw(line);
+				}
+
+			}
+
+			return lineCount;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void accept(double lon1, double lat1, double lon2, double lat2,
+				GridType gridType) {
+			if (lineTypes.length == lineCount) {
+				int capacity = Math.max(16, 2 * lineCount);
+				linePixels = Arrays.copyOf(linePixels, 4 * capacity);
+				lineTypes = Arrays.copyOf(lineTypes, capacity);
+			}
+			// Line endpoints are lattice points
+			int offset = 4 * lineCount;
+			linePixels[offset] = projection.getXPixel(lon1);
+			linePixels[offset + 1] = projection
+					.getLatticeYPixel(GridLattice.toUnits(lat1));
+			linePixels[offset + 2] = projection.getXPixel(lon2);
+			linePixels[offset + 3] = projection
+					.getLatticeYPixel(GridLattice.toUnits(lat2));
+			lineTypes[lineCount++] = (byte) gridType.ordinal();
+		}
+
+		/**
+		 * Get the resolved styles of the grid
+		 *
+		 * @param grid
+		 *            grid
+		 * @return styles
+		 */
+		Styles getStyles(Grid grid) {
+			return styles.computeIfAbsent(grid, g -> new Styles());
+		}
+
+		/**
+		 * Draw the grid labels
+		 *
+		 * @param grid
+		 *            grid
+		 * @param tile
+		 *            tile
+		 * @param projection
+		 *            tile projection
+		 */
+		void drawLabels(Grid grid, GridTile tile,
+				GridTileProjection projection) {
+
+			GridLabeler labeler = grid.getLabeler();
+
+			graphics.setColor(getStyles(grid).resolveLabel(labeler));
+			float textSize = (float) labeler.getTextSize();
+			if (metrics == null || metrics.getFont().getSize2D() != textSize) {
+				Font font = fonts.computeIfAbsent(textSize,
+						size -> new Font(fontName, Font.PLAIN, 1)
+								.deriveFont(size));
+				graphics.setFont(font);
+				metrics = graphics.getFontMetrics(font);
+			}
+
+			this.projection = projection;
+			this.labelPercentage = 1.0 - (2 * labeler.getBuffer());
+
+			grid.forEachLabel(tile, this);
+
+			this.projection = null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void accept(double west, double south, double east,
+				double north, double centerLon, double centerLat, long cellId,
+				GridType gridType) {
+
+			name.setLength(0);
+			switch (gridType) {
+			case TWENTY_DEGREE:
+			case TEN_DEGREE:
+			case FIVE_DEGREE:
+			case ONE_DEGREE:
+				GARSUtils.appendDegreeLabel(name, west, south);
+				break;
+			default:
+				GARSCellId.appendTo(cellId, name, gridType);
+			}
+
+			int length = name.length();
+			if (nameChars.length < length) {
+				nameChars = new char[length];
+			}
+			name.getChars(0, length, nameChars, 0);
+
+			int textWidth = metrics.charsWidth(nameChars, 0, length);
+			int textHeight = metrics.getAscent();
+
+			int southUnits = GridLattice.toUnits(south);
+			int northUnits = GridLattice.toUnits(north);
+
+			double maxWidth = labelPercentage * Math.abs(
+					projection.getXPixel(east) - projection.getXPixel(west));
+			double maxHeight = labelPercentage
+					* Math.abs(projection.getLatticeYPixel(southUnits)
+							- projection.getLatticeYPixel(northUnits));
+
+			if (textWidth <= maxWidth && textHeight <= maxHeight) {
+				float x = projection.getXPixel(centerLon) - textWidth / 2.0f;
+				float y = projection.getLatticeCenterYPixel(southUnits,
+						northUnits) + textHeight / 2.0f;
+				graphics.drawChars(nameChars, 0, length, Math.round(x),
+						Math.round(y));
+				labels++;
+			}
+
+		}
+
+	}
+
+}
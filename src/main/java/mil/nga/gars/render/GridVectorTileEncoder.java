@@ -0,0 +1,828 @@
+package mil.nga.gars.render;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import mil.nga.gars.GARSCellId;
+import mil.nga.gars.GARSUtils;
+import mil.nga.gars.grid.Grid;
+import mil.nga.gars.grid.GridLattice;
+import mil.nga.gars.grid.GridTileProjection;
+import mil.nga.gars.grid.GridType;
+import mil.nga.gars.grid.Grids;
+import mil.nga.gars.grid.LabelConsumer;
+import mil.nga.gars.grid.LineConsumer;
+import mil.nga.gars.grid.ZoomGrids;
+import mil.nga.gars.metrics.EventSink.TileEvent;
+import mil.nga.gars.metrics.Events;
+import mil.nga.grid.tile.GridTile;
+
+/**
+ * Mapbox Vector Tile (version 2) encoder of grid lines and labels, writing
+ * the protobuf wire format directly with no dependencies beyond the JDK.
+ *
+ * Each grid type precision is a layer named by the {@link GridType} name. The
+ * combined merged lines of a precision, see {@link ZoomGrids#getLines(GridTile)},
+ * are a single multi line string feature. Each label is a point feature
+ * located at the label center. Features carry a "type" attribute of the grid
+ * type name, and labels also carry "gars" coordinate and "name" label
+ * attributes. Coordinates are integer tile-local positions within the extent,
+ * delta and zigzag encoded, with lines clipped to the tile buffer.
+ *
+ * The encoder is thread safe for concurrent encoding of unmodified grids.
+ * Each thread reuses its own byte buffers between tiles.
+ *
+ * @author osbornb
+ */
+public class GridVectorTileEncoder {
+
+	/**
+	 * Default tile extent
+	 */
+	public static final int DEFAULT_EXTENT = 4096;
+
+	/**
+	 * Default tile buffer beyond the extent
+	 */
+	public static final int DEFAULT_BUFFER = 64;
+
+	/**
+	 * Vector tile specification version
+	 */
+	private static final int VERSION = 2;
+
+	/**
+	 * Grid type attribute key
+	 */
+	public static final String TYPE_KEY = "type";
+
+	/**
+	 * GARS coordinate attribute key
+	 */
+	public static final String GARS_KEY = "gars";
+
+	/**
+	 * Label name attribute key
+	 */
+	public static final String NAME_KEY = "name";
+
+	/**
+	 * Attribute keys in key index order
+	 */
+	private static final String[] KEYS = { TYPE_KEY, GARS_KEY, NAME_KEY };
+
+	/**
+	 * Tile layers field
+	 */
+	private static final int TILE_LAYERS = 3;
+
+	/**
+	 * Layer name field
+	 */
+	private static final int LAYER_NAME = 1;
+
+	/**
+	 * Layer features field
+	 */
+	private static final int LAYER_FEATURES = 2;
+
+	/**
+	 * Layer keys field
+	 */
+	private static final int LAYER_KEYS = 3;
+
+	/**
+	 * Layer values field
+	 */
+	private static final int LAYER_VALUES = 4;
+
+	/**
+	 * Layer extent field
+	 */
+	private static final int LAYER_EXTENT = 5;
+
+	/**
+	 * Layer version field
+	 */
+	private static final int LAYER_VERSION = 15;
+
+	/**
+	 * Feature tags field
+	 */
+	private static final int FEATURE_TAGS = 2;
+
+	/**
+	 * Feature geometry type field
+	 */
+	private static final int FEATURE_TYPE = 3;
+
+	/**
+	 * Feature geometry field
+	 */
+	private static final int FEATURE_GEOMETRY = 4;
+
+	/**
+	 * Value string field
+	 */
+	private static final int VALUE_STRING = 1;
+
+	/**
+	 * Point geometry type
+	 */
+	private static final int POINT = 1;
+
+	/**
+	 * Line string geometry type
+	 */
+	private static final int LINESTRING = 2;
+
+	/**
+	 * Move to command
+	 */
+	private static final int MOVE_TO = 1;
+
+	/**
+	 * Line to command
+	 */
+	private static final int LINE_TO = 2;
+
+	/**
+	 * Grid types indexed by ordinal
+	 */
+	private static final GridType[] TYPES = GridType.values();
+
+	/**
+	 * Grids
+	 */
+	private final Grids grids;
+
+	/**
+	 * Tile extent
+	 */
+	private final int extent;
+
+	/**
+	 * Tile buffer beyond the extent
+	 */
+	private final int buffer;
+
+	/**
+	 * Per thread encodings
+	 */
+	private final ThreadLocal<Encoding> encodings = ThreadLocal
+			.withInitial(Encoding::new);
+
+	/**
+	 * Constructor, default extent of {@link #DEFAULT_EXTENT} and buffer of
+	 * {@link #DEFAULT_BUFFER}
+	 *
+	 * @param grids
+	 *            grids
+	 */
+	public GridVectorTileEncoder(Grids grids) {
+		this(grids, DEFAULT_EXTENT, DEFAULT_BUFFER);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param grids
+	 *            grids
+	 * @param extent
+	 *            tile extent
+	 * @param buffer
+	 *            tile buffer beyond the extent
+	 */
+	public GridVectorTileEncoder(Grids grids, int extent, int buffer) {
+		if (extent < 1) {
+			throw new IllegalArgumentException(
+					"Extent must be positive: " + extent);
+		}
+		if (buffer < 0) {
+			throw new IllegalArgumentException(
+					"Buffer must be non negative: " + buffer);
+		}
+		this.grids = grids;
+		this.extent = extent;
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Get the grids
+	 *
+	 * @return grids
+	 */
+	public Grids getGrids() {
+		return grids;
+	}
+
+	/**
+	 * Get the tile extent
+	 *
+	 * @return extent
+	 */
+	public int getExtent() {
+		return extent;
+	}
+
+	/**
+	 * Get the tile buffer beyond the extent
+	 *
+	 * @return buffer
+	 */
+	public int getBuffer() {
+		return buffer;
+	}
+
+	/**
+	 * Encode the tile
+	 *
+	 * @param tile
+	 *            tile
+	 * @return vector tile bytes
+	 */
+	public byte[] encode(GridTile tile) {
+		Buffer bytes = encodeTile(tile);
+		return Arrays.copyOf(bytes.data, bytes.size);
+	}
+
+	/**
+	 * Encode the tile to the output stream
+	 *
+	 * @param tile
+	 *            tile
+	 * @param stream
+	 *            output stream
+	 * @throws IOException
+	 *             upon failure to write
+	 */
+	public void encode(GridTile tile, OutputStream stream) throws IOException {
+		Buffer bytes = encodeTile(tile);
+		stream.write(bytes.data, 0, bytes.size);
+	}
+
+	/**
+	 * Encode the tile into the current thread buffers
+	 *
+	 * @param tile
+	 *            tile
+	 * @return encoded tile buffer
+	 */
+	private Buffer encodeTile(GridTile tile) {
+
+		TileEvent event = Events.getSink().beginTile();
+
+		Encoding encoding = encodings.get();
+		encoding.reset(tile);
+
+		ZoomGrids zoomGrids = grids.getGrids(tile.getZoom());
+		if (zoomGrids.hasGrids()) {
+
+			zoomGrids.forEachLine(tile, encoding);
+
+			for (Grid grid : zoomGrids) {
+				grid.forEachLabel(tile, encoding);
+			}
+
+		}
+
+		Buffer bytes = encoding.finish();
+
+		if (event != null) {
+			event.commit(TileEvent.VECTOR, tile, zoomGrids.getPrecision(),
+					encoding.lines, encoding.labels);
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * Per thread tile encoding state, also the line and label consumer
+	 */
+	private class Encoding implements LineConsumer, LabelConsumer {
+
+		/**
+		 * Layers by grid type ordinal
+		 */
+		private final Layer[] layers = new Layer[TYPES.length];
+
+		/**
+		 * Tile buffer
+		 */
+		private final Buffer tile = new Buffer();
+
+		/**
+		 * Layer buffer
+		 */
+		private final Buffer layer = new Buffer();
+
+		/**
+		 * Feature buffer
+		 */
+		private final Buffer feature = new Buffer();
+
+		/**
+		 * Label name buffer
+		 */
+		private final StringBuilder name = new StringBuilder();
+
+		/**
+		 * Tile projection
+		 */
+		private GridTileProjection projection;
+
+		/**
+		 * Pixel to extent x scale
+		 */
+		private double xScale;
+
+		/**
+		 * Pixel to extent y scale
+		 */
+		private double yScale;
+
+		/**
+		 * Number of lines encoded for the current tile
+		 */
+		private int lines;
+
+		/**
+		 * Number of labels encoded for the current tile
+		 */
+		private int labels;
+
+		/**
+		 * Constructor
+		 */
+		Encoding() {
+			for (int i = 0; i < layers.length; i++) {
+				layers[i] = new Layer(TYPES[i]);
+			}
+		}
+
+		/**
+		 * Reset for encoding the tile
+		 *
+		 * @param gridTile
+		 *            tile
+		 */
+		void reset(GridTile gridTile) {
+			projection = new GridTileProjection(gridTile);
+			xScale = extent / (double) gridTile.getWidth();
+			yScale = extent / (double) gridTile.getHeight();
+			for (Layer gridLayer : layers) {
+				gridLayer.reset();
+			}
+			tile.clear();
+			lines = 0;
+			labels = 0;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void accept(double lon1, double lat1, double lon2, double lat2,
+				GridType gridType) {
+
+			// Line endpoints are lattice points
+			double x1 = projection.getXPixel(lon1) * xScale;
+			double y1 = projection.getLatticeYPixel(GridLattice.toUnits(lat1))
+					* yScale;
+			double x2 = projection.getXPixel(lon2) * xScale;
+			double y2 = projection.getLatticeYPixel(GridLattice.toUnits(lat2))
+					* yScale;
+
+			// Lines are meridians and parallels, clipped by clamping
+			double min = -buffer;
+			double max = extent + buffer;
+			if (Math.max(x1, x2) < min || Math.min(x1, x2) > max
+					|| Math.max(y1, y2) < min || Math.min(y1, y2) > max) {
+				return;
+			}
+
+			int startX = clamp(x1);
+			int startY = clamp(y1);
+			int endX = clamp(x2);
+			int endY = clamp(y2);
+			if (startX == endX && startY == endY) {
+				return;
+			}
+
+			layers[gridType.ordinal()].addLine(startX, startY, endX, endY);
+			lines++;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void accept(double west, double south, double east,
+				double north, double centerLon, double centerLat, long cellId,
+				GridType gridType) {
+
+			int x = (int) Math
+					.round(projection.getXPixel(centerLon) * xScale);
+			int y = (int) Math.round(projection.getLatticeCenterYPixel(
+					GridLattice.toUnits(south), GridLattice.toUnits(north))
+					* yScale);
+			if (x < -buffer || x > extent + buffer || y < -buffer
+					|| y > extent + buffer) {
+				return;
+			}
+
+			name.setLength(0);
+			switch (gridType) {
+			case TWENTY_DEGREE:
+			case TEN_DEGREE:
+			case FIVE_DEGREE:
+			case ONE_DEGREE:
+				GARSUtils.appendDegreeLabel(name, west, south);
+				break;
+			default:
+				GARSCellId.appendTo(cellId, name, gridType);
+			}
+
+			Layer gridLayer = layers[gridType.ordinal()];
+			int nameIndex = gridLayer.value(name.toString());
+			int garsIndex = nameIndex;
+			if (gridType.ordinal() <= GridType.ONE_DEGREE.ordinal()) {
+				name.setLength(0);
+				GARSCellId.appendTo(cellId, name, gridType);
+				garsIndex = gridLayer.value(name.toString());
+			}
+
+			feature.clear();
+			feature.writeTag(FEATURE_TAGS, Buffer.LENGTH_DELIMITED);
+			int tagsLength = 2 + Buffer.varintSize(garsIndex) + 1
+					+ Buffer.varintSize(nameIndex) + 1;
+			feature.writeVarint(tagsLength);
+			feature.writeVarint(0);
+			feature.writeVarint(0);
+			feature.writeVarint(1);
+			feature.writeVarint(garsIndex);
+			feature.writeVarint(2);
+			feature.writeVarint(nameIndex);
+			feature.writeTag(FEATURE_TYPE, Buffer.VARINT);
+			feature.writeVarint(POINT);
+			feature.writeTag(FEATURE_GEOMETRY, Buffer.LENGTH_DELIMITED);
+			int command = command(MOVE_TO, 1);
+			feature.writeVarint(Buffer.varintSize(command)
+					+ Buffer.varintSize(zigzag(x))
+					+ Buffer.varintSize(zigzag(y)));
+			feature.writeVarint(command);
+			feature.writeVarint(zigzag(x));
+			feature.writeVarint(zigzag(y));
+
+			gridLayer.labels.writeBytes(LAYER_FEATURES, feature);
+			labels++;
+		}
+
+		/**
+		 * Clamp and round an extent coordinate to the buffered extent
+		 *
+		 * @param value
+		 *            extent coordinate
+		 * @return clamped coordinate
+		 */
+		private int clamp(double value) {
+			return (int) Math.round(
+					Math.min(Math.max(value, -buffer), extent + buffer));
+		}
+
+		/**
+		 * Finish encoding the layers into the tile
+		 *
+		 * @return tile buffer
+		 */
+		Buffer finish() {
+			for (Layer gridLayer : layers) {
+				if (gridLayer.hasFeatures()) {
+					layer.clear();
+					gridLayer.write(layer, feature);
+					tile.writeBytes(TILE_LAYERS, layer);
+				}
+			}
+			return tile;
+		}
+
+	}
+
+	/**
+	 * Grid type layer features
+	 */
+	private class Layer {
+
+		/**
+		 * Grid type
+		 */
+		private final GridType type;
+
+		/**
+		 * Line geometry commands and parameters
+		 */
+		private final Buffer lines = new Buffer();
+
+		/**
+		 * Encoded label features
+		 */
+		private final Buffer labels = new Buffer();
+
+		/**
+		 * Value indices
+		 */
+		private final Map<String, Integer> valueIndices = new HashMap<>();
+
+		/**
+		 * Values in index order
+		 */
+		private final List<String> values = new ArrayList<>();
+
+		/**
+		 * Line geometry cursor x
+		 */
+		private int cursorX;
+
+		/**
+		 * Line geometry cursor y
+		 */
+		private int cursorY;
+
+		/**
+		 * Constructor
+		 *
+		 * @param type
+		 *            grid type
+		 */
+		Layer(GridType type) {
+			this.type = type;
+		}
+
+		/**
+		 * Reset for a new tile
+		 */
+		void reset() {
+			lines.clear();
+			labels.clear();
+			valueIndices.clear();
+			values.clear();
+			value(type.name());
+			cursorX = 0;
+			cursorY = 0;
+		}
+
+		/**
+		 * Check if the layer has features
+		 *
+		 * @return true if features
+		 */
+		boolean hasFeatures() {
+			return lines.size > 0 || labels.size > 0;
+		}
+
+		/**
+		 * Get the index of a value, adding it if needed
+		 *
+		 * @param value
+		 *            value
+		 * @return value index
+		 */
+		int value(String value) {
+			Integer index = valueIndices.get(value);
+			if (index == null) {
+				index = values.size();
+				valueIndices.put(value, index);
+				values.add(value);
+			}
+			return index;
+		}
+
+		/**
+		 * Add a line part to the multi line string geometry
+		 *
+		 * @param x1
+		 *            start x
+		 * @param y1
+		 *            start y
+		 * @param x2
+		 *            end x
+		 * @param y2
+		 *            end y
+		 */
+		void addLine(int x1, int y1, int x2, int y2) {
+			lines.writeVarint(command(MOVE_TO, 1));
+			lines.writeVarint(zigzag(x1 - cursorX));
+			lines.writeVarint(zigzag(y1 - cursorY));
+			lines.writeVarint(command(LINE_TO, 1));
+			lines.writeVarint(zigzag(x2 - x1));
+			lines.writeVarint(zigzag(y2 - y1));
+			cursorX = x2;
+			cursorY = y2;
+		}
+
+		/**
+		 * Write the layer message contents
+		 *
+		 * @param layer
+		 *            layer buffer
+		 * @param feature
+		 *            feature scratch buffer
+		 */
+		void write(Buffer layer, Buffer feature) {
+
+			layer.writeTag(LAYER_VERSION, Buffer.VARINT);
+			layer.writeVarint(VERSION);
+			layer.writeString(LAYER_NAME, type.name());
+
+			if (lines.size > 0) {
+				feature.clear();
+				feature.writeTag(FEATURE_TAGS, Buffer.LENGTH_DELIMITED);
+				feature.writeVarint(2);
+				feature.writeVarint(0);
+				feature.writeVarint(0);
+				feature.writeTag(FEATURE_TYPE, Buffer.VARINT);
+				feature.writeVarint(LINESTRING);
+				feature.writeBytes(FEATURE_GEOMETRY, lines);
+				layer.writeBytes(LAYER_FEATURES, feature);
+			}
+			layer.writeRaw(labels);
+
+			for (String key : KEYS) {
+				layer.writeString(LAYER_KEYS, key);
+			}
+			for (String value : values) {
+				feature.clear();
+				feature.writeString(VALUE_STRING, value);
+				layer.writeBytes(LAYER_VALUES, feature);
+			}
+
+			layer.writeTag(LAYER_EXTENT, Buffer.VARINT);
+			layer.writeVarint(extent);
+		}
+
+	}
+
+	/**
+	 * Create a geometry command integer
+	 *
+	 * @param id
+	 *            command id
+	 * @param count
+	 *            command count
+	 * @return command integer
+	 */
+	private static int command(int id, int count) {
+		return (id & 0x7) | (count << 3);
+	}
+
+	/**
+	 * Zigzag encode a geometry parameter
+	 *
+	 * @param value
+	 *            value
+	 * @return zigzag encoded value
+	 */
+	private static int zigzag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	/**
+	 * Growable protobuf byte buffer
+	 */
+	private static class Buffer {
+
+		/**
+		 * Varint wire type
+		 */
+		static final int VARINT = 0;
+
+		/**
+		 * Length delimited wire type
+		 */
+		static final int LENGTH_DELIMITED = 2;
+
+		/**
+		 * Bytes
+		 */
+		private byte[] data = new byte[256];
+
+		/**
+		 * Number of bytes written
+		 */
+		private int size;
+
+		/**
+		 * Clear the written bytes, retaining the capacity
+		 */
+		void clear() {
+			size = 0;
+		}
+
+		/**
+		 * Ensure capacity for additional bytes
+		 *
+		 * @param count
+		 *            additional byte count
+		 */
+		private void ensure(int count) {
+			if (size + count > data.length) {
+				data = Arrays.copyOf(data,
+						Math.max(size + count, 2 * data.length));
+			}
+		}
+
+		/**
+		 * Write a field tag
+		 *
+		 * @param field
+		 *            field number
+		 * @param wireType
+		 *            wire type
+		 */
+		void writeTag(int field, int wireType) {
+			writeVarint((field << 3) | wireType);
+		}
+
+		/**
+		 * Write an unsigned varint
+		 *
+		 * @param value
+		 *            value, treated as unsigned
+		 */
+		void writeVarint(int value) {
+			ensure(5);
+			while ((value & ~0x7F) != 0) {
+				data[size++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			data[size++] = (byte) value;
+		}
+
+		/**
+		 * Write a length delimited field of the buffer bytes
+		 *
+		 * @param field
+		 *            field number
+		 * @param bytes
+		 *            bytes
+		 */
+		void writeBytes(int field, Buffer bytes) {
+			writeTag(field, LENGTH_DELIMITED);
+			writeVarint(bytes.size);
+			writeRaw(bytes);
+		}
+
+		/**
+		 * Write the buffer bytes
+		 *
+		 * @param bytes
+		 *            bytes
+		 */
+		void writeRaw(Buffer bytes) {
+			ensure(bytes.size);
+			System.arraycopy(bytes.data, 0, data, size, bytes.size);
+			size += bytes.size;
+		}
+
+		/**
+		 * Write a UTF-8 string field
+		 *
+		 * @param field
+		 *            field number
+		 * @param value
+		 *            string value
+		 */
+		void writeString(int field, String value) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			writeTag(field, LENGTH_DELIMITED);
+			writeVarint(bytes.length);
+			ensure(bytes.length);
+			System.arraycopy(bytes, 0, data, size, bytes.length);
+			size += bytes.length;
+		}
+
+		/**
+		 * Get the encoded size of an unsigned varint
+		 *
+		 * @param value
+		 *            value, treated as unsigned
+		 * @return byte count
+		 */
+		static int varintSize(int value) {
+			int size = 1;
+			while ((value & ~0x7F) != 0) {
+				value >>>= 7;
+				size++;
+			}
+			return size;
+		}
+
+	}
+
+}
@@ -0,0 +1,123 @@
+package mil.nga.gars.tile;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Tile store of one file per tile in a zoom/x/y directory structure. Tiles
+ * are written to a temporary file and moved into place, so interrupted
+ * writes never leave partial tiles.
+ *
+ * @author osbornb
+ */
+public class DirectoryTileStore implements TileStore {
+
+	/**
+	 * Temporary file suffix
+	 */
+	private static final String TEMP_SUFFIX = ".tmp";
+
+	/**
+	 * Root directory
+	 */
+	private final Path directory;
+
+	/**
+	 * Tile file extension, including the leading period
+	 */
+	private final String extension;
+
+	/**
+	 * Constructor
+	 *
+	 * @param directory
+	 *            root directory
+	 * @param extension
+	 *            tile file extension without the leading period, such as
+	 *            "png" or "mvt"
+	 */
+	public DirectoryTileStore(Path directory, String extension) {
+		this.directory = directory;
+		this.extension = "." + extension;
+	}
+
+	/**
+	 * Get the root directory
+	 *
+	 * @return directory
+	 */
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Get the tile file path
+	 *
+	 * @param zoom
+	 *            zoom level
+	 * @param x
+	 *            x tile coordinate
+	 * @param y
+	 *            y tile coordinate
+	 * @return tile path
+	 */
+	public Path getPath(int zoom, int x, int y) {
+		return directory.resolve(Integer.toString(zoom))
+				.resolve(Integer.toString(x)).resolve(y + extension);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains(int zoom, int x, int y) {
+		return Files.isRegularFile(getPath(zoom, x, y));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public byte[] read(int zoom, int x, int y) throws IOException {
+		byte[] tile = null;
+		Path path = getPath(zoom, x, y);
+		if (Files.isRegularFile(path)) {
+			tile = Files.readAllBytes(path);
+		}
+		return tile;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(int zoom, int x, int y, byte[] tile) throws IOException {
+		Path path = getPath(zoom, x, y);
+		Path parent = path.getParent();
+		Files.createDirectories(parent);
+		Path temp = Files.createTempFile(parent,
+				path.getFileName().toString(), TEMP_SUFFIX);
+		try {
+			Files.write(temp, tile);
+			try {
+				Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE,
+						StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() {
+	}
+
+}
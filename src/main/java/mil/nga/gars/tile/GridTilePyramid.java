@@ -0,0 +1,529 @@
+package mil.nga.gars.tile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import mil.nga.gars.grid.Grids;
+import mil.nga.gars.render.GridTileRenderer;
+import mil.nga.gars.render.GridVectorTileEncoder;
+import mil.nga.grid.GridUtils;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.tile.GridTile;
+import mil.nga.sf.util.GeometryConstants;
+
+/**
+ * Parallel tile pyramid generator, encoding every tile intersecting a bounds
+ * over a zoom range into a {@link TileStore}. Tile ranges are recursively
+ * split into fork join tasks so idle workers steal remaining work. Tiles
+ * already in the store are skipped, so an interrupted generation resumes
+ * where it stopped.
+ *
+ * @author osbornb
+ */
+public class GridTilePyramid {
+
+	/**
+	 * Default tile width and height in pixels
+	 */
+	public static final int DEFAULT_TILE_SIZE = 256;
+
+	/**
+	 * Default number of completed tiles between progress reports
+	 */
+	public static final long DEFAULT_PROGRESS_INTERVAL = 1000;
+
+	/**
+	 * Maximum number of tiles generated by a task without splitting
+	 */
+	private static final int SPLIT_THRESHOLD = 16;
+
+	/**
+	 * Progress listener
+	 */
+	@FunctionalInterface
+	public interface ProgressListener {
+
+		/**
+		 * Report progress, called from generating worker threads
+		 *
+		 * @param progress
+		 *            progress
+		 */
+		void progress(PyramidProgress progress);
+
+	}
+
+	/**
+	 * Tile encoder
+	 */
+	private final Function<GridTile, byte[]> encoder;
+
+	/**
+	 * Tile store
+	 */
+	private final TileStore store;
+
+	/**
+	 * Tile width and height in pixels
+	 */
+	private int tileSize = DEFAULT_TILE_SIZE;
+
+	/**
+	 * Fork join pool
+	 */
+	private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+	/**
+	 * Progress listener
+	 */
+	private ProgressListener listener;
+
+	/**
+	 * Number of completed tiles between progress reports
+	 */
+	private long progressInterval = DEFAULT_PROGRESS_INTERVAL;
+
+	/**
+	 * Create a PNG raster tile pyramid generator
+	 *
+	 * @param grids
+	 *            grids
+	 * @param store
+	 *            tile store
+	 * @return generator
+	 */
+	public static GridTilePyramid png(Grids grids, TileStore store) {
+		GridTileRenderer renderer = new GridTileRenderer(grids);
+		return new GridTilePyramid(renderer::renderPng, store);
+	}
+
+	/**
+	 * Create a Mapbox Vector Tile pyramid generator
+	 *
+	 * @param grids
+	 *            grids
+	 * @param store
+	 *            tile store
+	 * @return generator
+	 */
+	public static GridTilePyramid vectorTiles(Grids grids, TileStore store) {
+		GridVectorTileEncoder encoder = new GridVectorTileEncoder(grids);
+		return new GridTilePyramid(encoder::encode, store);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param encoder
+	 *            thread safe tile encoder
+	 * @param store
+	 *            tile store
+	 */
+	public GridTilePyramid(Function<GridTile, byte[]> encoder,
+			TileStore store) {
+		this.encoder = encoder;
+		this.store = store;
+	}
+
+	/**
+	 * Get the tile store
+	 *
+	 * @return tile store
+	 */
+	public TileStore getStore() {
+		return store;
+	}
+
+	/**
+	 * Get the tile width and height in pixels
+	 *
+	 * @return tile size
+	 */
+	public int getTileSize() {
+		return tileSize;
+	}
+
+	/**
+	 * Set the tile width and height in pixels
+	 *
+	 * @param tileSize
+	 *            tile size
+	 */
+	public void setTileSize(int tileSize) {
+		this.tileSize = tileSize;
+	}
+
+	/**
+	 * Get the fork join pool
+	 *
+	 * @return pool
+	 */
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * Set the fork join pool, the common pool by default
+	 *
+	 * @param pool
+	 *            pool
+	 */
+	public void setPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Get the progress listener
+	 *
+	 * @return progress listener
+	 */
+	public ProgressListener getProgressListener() {
+		return listener;
+	}
+
+	/**
+	 * Set the thread safe progress listener
+	 *
+	 * @param listener
+	 *            progress listener
+	 */
+	public void setProgressListener(ProgressListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Get the number of completed tiles between progress reports
+	 *
+	 * @return progress interval
+	 */
+	public long getProgressInterval() {
+		return progressInterval;
+	}
+
+	/**
+	 * Set the number of completed tiles between progress reports
+	 *
+	 * @param progressInterval
+	 *            progress interval
+	 */
+	public void setProgressInterval(long progressInterval) {
+		if (progressInterval < 1) {
+			throw new IllegalArgumentException(
+					"Progress interval must be positive: " + progressInterval);
+		}
+		this.progressInterval = progressInterval;
+	}
+
+	/**
+	 * Generate the tiles intersecting the bounds for the zoom range, skipping
+	 * tiles already in the store
+	 *
+	 * @param bounds
+	 *            bounds
+	 * @param minZoom
+	 *            minimum zoom level
+	 * @param maxZoom
+	 *            maximum zoom level, inclusive
+	 * @return final progress
+	 * @throws IOException
+	 *             upon failure to check or write a tile
+	 */
+	public PyramidProgress generate(Bounds bounds, int minZoom, int maxZoom)
+			throws IOException {
+
+		Generation generation = new Generation(count(bounds, minZoom, maxZoom));
+
+		List<TileRangeTask> tasks = new ArrayList<>();
+		for (int zoom = minZoom; zoom <= maxZoom; zoom++) {
+			int[] range = getTileRange(bounds, zoom);
+			tasks.add(new TileRangeTask(generation, zoom, range[0], range[1],
+					range[2], range[3]));
+		}
+
+		try {
+			pool.invoke(new RecursiveAction() {
+
+				/**
+				 * Serial Version UID
+				 */
+				private static final long serialVersionUID = 1L;
+
+				/**
+				 * {@inheritDoc}
+				 */
+				@Override
+				protected void compute() {
+					invokeAll(tasks);
+				}
+
+			});
+		} catch (UncheckedIOException e) {
+			// Fork join may rethrow a copy wrapping the original exception
+			Throwable cause = e;
+			while (cause instanceof UncheckedIOException) {
+				cause = cause.getCause();
+			}
+			throw cause instanceof IOException ? (IOException) cause
+					: new IOException(cause);
+		}
+
+		PyramidProgress progress = generation.progress();
+		if (listener != null) {
+			listener.progress(progress);
+		}
+		return progress;
+	}
+
+	/**
+	 * Count the tiles intersecting the bounds for the zoom range
+	 *
+	 * @param bounds
+	 *            bounds
+	 * @param minZoom
+	 *            minimum zoom level
+	 * @param maxZoom
+	 *            maximum zoom level, inclusive
+	 * @return tile count
+	 */
+	public static long count(Bounds bounds, int minZoom, int maxZoom) {
+		long count = 0;
+		for (int zoom = minZoom; zoom <= maxZoom; zoom++) {
+			int[] range = getTileRange(bounds, zoom);
+			count += (long) (range[2] - range[0] + 1)
+					* (range[3] - range[1] + 1);
+		}
+		return count;
+	}
+
+	/**
+	 * Get the range of tiles intersecting the bounds at the zoom level
+	 *
+	 * @param bounds
+	 *            bounds
+	 * @param zoom
+	 *            zoom level
+	 * @return minimum x, minimum y, maximum x and maximum y tile coordinates,
+	 *         inclusive
+	 */
+	public static int[] getTileRange(Bounds bounds, int zoom) {
+		Bounds meters = bounds.toMeters();
+		double halfWidth = GeometryConstants.WEB_MERCATOR_HALF_WORLD_WIDTH;
+		int tiles = GridUtils.tilesPerSide(zoom);
+		double size = 2 * halfWidth / tiles;
+		int maxTile = tiles - 1;
+		int minX = tile(Math.floor((meters.getMinLongitude() + halfWidth)
+				/ size), maxTile);
+		int maxX = tile(Math.ceil((meters.getMaxLongitude() + halfWidth)
+				/ size) - 1, maxTile);
+		int minY = tile(Math.floor((halfWidth - meters.getMaxLatitude())
+				/ size), maxTile);
+		int maxY = tile(Math.ceil((halfWidth - meters.getMinLatitude())
+				/ size) - 1, maxTile);
+		return new int[] { minX, minY, Math.max(minX, maxX),
+				Math.max(minY, maxY) };
+	}
+
+	/**
+	 * Clamp a tile coordinate to the zoom level tiles
+	 *
+	 * @param value
+	 *            tile coordinate
+	 * @param maxTile
+	 *            maximum tile coordinate
+	 * @return clamped tile coordinate
+	 */
+	private static int tile(double value, int maxTile) {
+		return (int) Math.min(Math.max(value, 0), maxTile);
+	}
+
+	/**
+	 * Generate a single tile unless already stored
+	 *
+	 * @param generation
+	 *            generation state
+	 * @param zoom
+	 *            zoom level
+	 * @param x
+	 *            x tile coordinate
+	 * @param y
+	 *            y tile coordinate
+	 * @throws IOException
+	 *             upon failure to check or write the tile
+	 */
+	private void generateTile(Generation generation, int zoom, int x, int y)
+			throws IOException {
+		if (store.contains(zoom, x, y)) {
+			generation.skipped.increment();
+		} else {
+			GridTile tile = GridTile.tile(tileSize, tileSize, x, y, zoom);
+			store.write(zoom, x, y, encoder.apply(tile));
+			generation.generated.increment();
+		}
+		long completed = generation.completed.incrementAndGet();
+		if (listener != null && completed % progressInterval == 0) {
+			listener.progress(generation.progress());
+		}
+	}
+
+	/**
+	 * Generation state
+	 */
+	private static class Generation {
+
+		/**
+		 * Total number of tiles
+		 */
+		private final long total;
+
+		/**
+		 * Start time
+		 */
+		private final long start = System.nanoTime();
+
+		/**
+		 * Number of generated tiles
+		 */
+		private final LongAdder generated = new LongAdder();
+
+		/**
+		 * Number of skipped tiles
+		 */
+		private final LongAdder skipped = new LongAdder();
+
+		/**
+		 * Number of completed tiles
+		 */
+		private final AtomicLong completed = new AtomicLong();
+
+		/**
+		 * Constructor
+		 *
+		 * @param total
+		 *            total number of tiles
+		 */
+		Generation(long total) {
+			this.total = total;
+		}
+
+		/**
+		 * Snapshot the progress
+		 *
+		 * @return progress
+		 */
+		PyramidProgress progress() {
+			return new PyramidProgress(total, generated.sum(), skipped.sum(),
+					System.nanoTime() - start);
+		}
+
+	}
+
+	/**
+	 * Recursively split tile range task
+	 */
+	private class TileRangeTask extends RecursiveAction {
+
+		/**
+		 * Serial Version UID
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Generation state
+		 */
+		private final Generation generation;
+
+		/**
+		 * Zoom level
+		 */
+		private final int zoom;
+
+		/**
+		 * Minimum x tile coordinate
+		 */
+		private final int minX;
+
+		/**
+		 * Minimum y tile coordinate
+		 */
+		private final int minY;
+
+		/**
+		 * Maximum x tile coordinate, inclusive
+		 */
+		private final int maxX;
+
+		/**
+		 * Maximum y tile coordinate, inclusive
+		 */
+		private final int maxY;
+
+		/**
+		 * Constructor
+		 *
+		 * @param generation
+		 *            generation state
+		 * @param zoom
+		 *            zoom level
+		 * @param minX
+		 *            minimum x tile coordinate
+		 * @param minY
+		 *            minimum y tile coordinate
+		 * @param maxX
+		 *            maximum x tile coordinate, inclusive
+		 * @param maxY
+		 *            maximum y tile coordinate, inclusive
+		 */
+		TileRangeTask(Generation generation, int zoom, int minX, int minY,
+				int maxX, int maxY) {
+			this.generation = generation;
+			this.zoom = zoom;
+			this.minX = minX;
+			this.minY = minY;
+			this.maxX = maxX;
+			this.maxY = maxY;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void compute() {
+			int width = maxX - minX + 1;
+			int height = maxY - minY + 1;
+			if ((long) width * height <= SPLIT_THRESHOLD) {
+				try {
+					for (int x = minX; x <= maxX; x++) {
+						for (int y = minY; y <= maxY; y++) {
+							generateTile(generation, zoom, x, y);
+						}
+					}
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			} else if (width >= height) {
+				int middle = minX + width / 2;
+				invokeAll(
+						new TileRangeTask(generation, zoom, minX, minY,
+								middle - 1, maxY),
+						new TileRangeTask(generation, zoom, middle, minY, maxX,
+								maxY));
+			} else {
+				int middle = minY + height / 2;
+				invokeAll(
+						new TileRangeTask(generation, zoom, minX, minY, maxX,
+								middle - 1),
+						new TileRangeTask(generation, zoom, minX, middle, maxX,
+								maxY));
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,287 @@
+package mil.nga.gars.tile;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Tile store of all tiles appended to a single packed file. Each record is a
+ * header of the zoom, x, y, length and CRC-32 of the tile bytes followed by
+ * the bytes, with rewritten tiles superseding earlier records. Opening an
+ * existing file rebuilds the in memory index and truncates an incomplete or
+ * corrupt trailing record left by an interruption, so generation can resume.
+ *
+ * @author osbornb
+ */
+public class PackedTileStore implements TileStore {
+
+	/**
+	 * File magic number, "GTPK"
+	 */
+	private static final int MAGIC = 0x4754504B;
+
+	/**
+	 * File format version
+	 */
+	private static final int VERSION = 1;
+
+	/**
+	 * File header length
+	 */
+	private static final int FILE_HEADER = 8;
+
+	/**
+	 * Record header length
+	 */
+	private static final int RECORD_HEADER = 20;
+
+	/**
+	 * Maximum zoom level
+	 */
+	public static final int MAX_ZOOM = 29;
+
+	/**
+	 * File channel
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * Record offsets by tile key
+	 */
+	private final Map<Long, Long> index = new ConcurrentHashMap<>();
+
+	/**
+	 * End of the written records
+	 */
+	private long end;
+
+	/**
+	 * Open or create the packed tile file
+	 *
+	 * @param file
+	 *            packed tile file
+	 * @throws IOException
+	 *             upon failure to open or if not a packed tile file
+	 */
+	public PackedTileStore(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			if (channel.size() < FILE_HEADER) {
+				channel.truncate(0);
+				ByteBuffer header = ByteBuffer.allocate(FILE_HEADER);
+				header.putInt(MAGIC).putInt(VERSION).flip();
+				writeFully(header, 0);
+				end = FILE_HEADER;
+			} else {
+				ByteBuffer header = ByteBuffer.allocate(FILE_HEADER);
+				readFully(header, 0);
+				header.flip();
+				if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+					throw new IOException(
+							"Not a version " + VERSION + " packed tile file: "
+									+ file);
+				}
+				end = scan();
+				if (end < channel.size()) {
+					channel.truncate(end);
+				}
+			}
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Get the number of tiles
+	 *
+	 * @return tile count
+	 */
+	public int size() {
+		return index.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains(int zoom, int x, int y) {
+		return index.containsKey(key(zoom, x, y));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public byte[] read(int zoom, int x, int y) throws IOException {
+		byte[] tile = null;
+		Long offset = index.get(key(zoom, x, y));
+		if (offset != null) {
+			ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+			readFully(header, offset);
+			tile = new byte[header.getInt(12)];
+			readFully(ByteBuffer.wrap(tile), offset + RECORD_HEADER);
+		}
+		return tile;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(int zoom, int x, int y, byte[] tile) throws IOException {
+		long key = key(zoom, x, y);
+		CRC32 crc = new CRC32();
+		crc.update(tile);
+		ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + tile.length);
+		record.putInt(zoom).putInt(x).putInt(y).putInt(tile.length)
+				.putInt((int) crc.getValue()).put(tile).flip();
+		synchronized (this) {
+			writeFully(record, end);
+			index.put(key, end);
+			end += record.capacity();
+		}
+	}
+
+	/**
+	 * Force written tiles to storage
+	 *
+	 * @throws IOException
+	 *             upon failure to force
+	 */
+	public void flush() throws IOException {
+		channel.force(false);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			channel.force(true);
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Scan the records, indexing complete and valid records
+	 *
+	 * @return end of the valid records
+	 * @throws IOException
+	 *             upon failure to read
+	 */
+	private long scan() throws IOException {
+		long size = channel.size();
+		long offset = FILE_HEADER;
+		ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+		CRC32 crc = new CRC32();
+		while (offset + RECORD_HEADER <= size) {
+			header.clear();
+			readFully(header, offset);
+			header.flip();
+			int zoom = header.getInt();
+			int x = header.getInt();
+			int y = header.getInt();
+			int length = header.getInt();
+			int checksum = header.getInt();
+			if (!isValid(zoom, x, y) || length < 0
+					|| offset + RECORD_HEADER + length > size) {
+				break;
+			}
+			byte[] tile = new byte[length];
+			readFully(ByteBuffer.wrap(tile), offset + RECORD_HEADER);
+			crc.reset();
+			crc.update(tile);
+			if ((int) crc.getValue() != checksum) {
+				break;
+			}
+			index.put(key(zoom, x, y), offset);
+			offset += RECORD_HEADER + length;
+		}
+		return offset;
+	}
+
+	/**
+	 * Write the buffer fully at the position
+	 *
+	 * @param buffer
+	 *            buffer
+	 * @param position
+	 *            file position
+	 * @throws IOException
+	 *             upon failure to write
+	 */
+	private void writeFully(ByteBuffer buffer, long position)
+			throws IOException {
+		while (buffer.hasRemaining()) {
+			position += channel.write(buffer, position);
+		}
+	}
+
+	/**
+	 * Read the buffer fully from the position
+	 *
+	 * @param buffer
+	 *            buffer
+	 * @param position
+	 *            file position
+	 * @throws IOException
+	 *             upon failure to read or end of file
+	 */
+	private void readFully(ByteBuffer buffer, long position)
+			throws IOException {
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, position);
+			if (read < 0) {
+				throw new EOFException(
+						"Unexpected end of packed tile file at " + position);
+			}
+			position += read;
+		}
+	}
+
+	/**
+	 * Check if the tile coordinates are valid
+	 *
+	 * @param zoom
+	 *            zoom level
+	 * @param x
+	 *            x tile coordinate
+	 * @param y
+	 *            y tile coordinate
+	 * @return true if valid
+	 */
+	private static boolean isValid(int zoom, int x, int y) {
+		return zoom >= 0 && zoom <= MAX_ZOOM && x >= 0 && y >= 0
+				&& (x >>> zoom) == 0 && (y >>> zoom) == 0;
+	}
+
+	/**
+	 * Pack the tile coordinates into a key
+	 *
+	 * @param zoom
+	 *            zoom level
+	 * @param x
+	 *            x tile coordinate
+	 * @param y
+	 *            y tile coordinate
+	 * @return key
+	 */
+	private static long key(int zoom, int x, int y) {
+		if (!isValid(zoom, x, y)) {
+			throw new IllegalArgumentException("Invalid tile coordinates. Zoom: "
+					+ zoom + ", x: " + x + ", y: " + y);
+		}
+		return ((long) zoom << 58) | ((long) x << 29) | y;
+	}
+
+}
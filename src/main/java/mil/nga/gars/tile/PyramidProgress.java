@@ -0,0 +1,125 @@
+package mil.nga.gars.tile;
+
+/**
+ * Snapshot of tile pyramid generation progress
+ *
+ * @author osbornb
+ */
+public class PyramidProgress {
+
+	/**
+	 * Total number of tiles
+	 */
+	private final long total;
+
+	/**
+	 * Number of generated tiles
+	 */
+	private final long generated;
+
+	/**
+	 * Number of skipped existing tiles
+	 */
+	private final long skipped;
+
+	/**
+	 * Elapsed nanoseconds
+	 */
+	private final long elapsedNanos;
+
+	/**
+	 * Constructor
+	 *
+	 * @param total
+	 *            total number of tiles
+	 * @param generated
+	 *            number of generated tiles
+	 * @param skipped
+	 *            number of skipped existing tiles
+	 * @param elapsedNanos
+	 *            elapsed nanoseconds
+	 */
+	public PyramidProgress(long total, long generated, long skipped,
+			long elapsedNanos) {
+		this.total = total;
+		this.generated = generated;
+		this.skipped = skipped;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/**
+	 * Get the total number of tiles
+	 *
+	 * @return total
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+	 * Get the number of generated tiles
+	 *
+	 * @return generated
+	 */
+	public long getGenerated() {
+		return generated;
+	}
+
+	/**
+	 * Get the number of skipped tiles already in the store
+	 *
+	 * @return skipped
+	 */
+	public long getSkipped() {
+		return skipped;
+	}
+
+	/**
+	 * Get the number of completed tiles, generated or skipped
+	 *
+	 * @return completed
+	 */
+	public long getCompleted() {
+		return generated + skipped;
+	}
+
+	/**
+	 * Get the completed fraction of the total
+	 *
+	 * @return fraction between 0.0 and 1.0
+	 */
+	public double getFraction() {
+		return total > 0 ? getCompleted() / (double) total : 1.0;
+	}
+
+	/**
+	 * Get the elapsed nanoseconds
+	 *
+	 * @return elapsed nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * Get the generation throughput, excluding skipped tiles
+	 *
+	 * @return generated tiles per second
+	 */
+	public double getTilesPerSecond() {
+		return elapsedNanos > 0 ? generated * 1_000_000_000.0 / elapsedNanos
+				: 0.0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return String.format("%d/%d tiles (%.1f%%), %d generated, %d skipped, "
+				+ "%.1f tiles/s", getCompleted(), total,
+				getFraction() * 100.0, generated, skipped,
+				getTilesPerSecond());
+	}
+
+}
@@ -0,0 +1,61 @@
+package mil.nga.gars.tile;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Store of encoded tiles by zoom level and x, y tile coordinates. Stores are
+ * written concurrently by {@link GridTilePyramid} and must be thread safe.
+ *
+ * @author osbornb
+ */
+public interface TileStore extends Closeable {
+
+	/**
+	 * Check if the store contains the tile
+	 *
+	 * @param zoom
+	 *            zoom level
+	 * @param x
+	 *            x tile coordinate
+	 * @param y
+	 *            y tile coordinate
+	 * @return true if contained
+	 * @throws IOException
+	 *             upon failure to check
+	 */
+	boolean contains(int zoom, int x, int y) throws IOException;
+
+	/**
+	 * Read the tile
+	 *
+	 * @param zoom
+	 *            zoom level
+	 * @param x
+	 *            x tile coordinate
+	 * @param y
+	 *            y tile coordinate
+	 * @return tile bytes, null if not contained
+	 * @throws IOException
+	 *             upon failure to read
+	 */
+	byte[] read(int zoom, int x, int y) throws IOException;
+
+	/**
+	 * Write the tile, replacing an existing tile. A tile is only contained
+	 * once completely written.
+	 *
+	 * @param zoom
+	 *            zoom level
+	 * @param x
+	 *            x tile coordinate
+	 * @param y
+	 *            y tile coordinate
+	 * @param tile
+	 *            tile bytes
+	 * @throws IOException
+	 *             upon failure to write
+	 */
+	void write(int zoom, int x, int y, byte[] tile) throws IOException;
+
+}
@@ -2,14 +2,28 @@ package mil.nga.gars;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.junit.Test;
 
 import mil.nga.gars.grid.GridRange;
 import mil.nga.gars.grid.GridType;
+import mil.nga.grid.features.Bounds;
 import mil.nga.grid.features.Point;
 import mil.nga.sf.util.GeometryConstants;
 
@@ -239,6 +253,164 @@ public class GARSTest {
 
 	}
 
+	/**
+	 * Test the parser against the GARS regular expression pattern
+	 */
+	@Test
+	public void testParserPattern() {
+
+		Pattern pattern = Pattern.compile(
+				"^(\\d{3})([A-HJ-NP-Z]{2})(?:([1-4])([1-9])?)?$",
+				Pattern.CASE_INSENSITIVE);
+
+		String characters = "0123456789AHIJNOPQRZaiopqz \t\n\u000B\u0085\u2028\u2029-";
+		Random random = new Random(1);
+
+		for (int i = 0; i < 200000; i++) {
+
+			StringBuilder value = new StringBuilder();
+			int length = random.nextInt(10);
+			for (int j = 0; j < length; j++) {
+				if (j < 3 && random.nextInt(4) > 0) {
+					value.append((char) ('0' + random.nextInt(10)));
+				} else {
+					value.append(characters
+							.charAt(random.nextInt(characters.length())));
+				}
+			}
+			String gars = value.toString();
+
+			Matcher matcher = pattern.matcher(gars.replaceAll("\\s", ""));
+			boolean matches = matcher.matches();
+			boolean valid = matches;
+			if (valid) {
+				int longitude = Integer.parseInt(matcher.group(1));
+				int latitude = GARSUtils
+						.bandValue(matcher.group(2).toUpperCase());
+				valid = longitude >= GARSConstants.MIN_BAND_NUMBER
+						&& longitude <= GARSConstants.MAX_BAND_NUMBER
+						&& latitude >= GARSConstants.MIN_BAND_LETTERS_NUMBER
+						&& latitude <= GARSConstants.MAX_BAND_LETTERS_NUMBER;
+			}
+
+			assertEquals(gars, valid, GARS.isGARS(gars));
+			try {
+				GridType precision = GARS.precision(gars);
+				assertTrue(gars, matches);
+				assertEquals(gars, matcher.group(4) != null
+						? GridType.FIVE_MINUTE
+						: matcher.group(3) != null ? GridType.FIFTEEN_MINUTE
+								: GridType.THIRTY_MINUTE,
+						precision);
+			} catch (ParseException e) {
+				assertFalse(gars, matches);
+			}
+
+		}
+
+		assertTrue(GARS.isGARS(" 006 ag 3 9 "));
+		assertFalse(GARS.isGARS("006AG39\u2028"));
+
+	}
+
+	/**
+	 * Test parsing without exceptions
+	 * 
+	 * @throws ParseException
+	 *             upon failure to parse
+	 */
+	@Test
+	public void testTryParse() throws ParseException {
+
+		assertEquals(GARS.parse("006AG39"), GARS.tryParse("006AG39"));
+		assertEquals(GARS.parse("006ag3"), GARS.tryParse("006ag3"));
+		assertEquals(null, GARS.tryParse("006AG30"));
+		assertEquals(GARS.parse("006AG39").toCellId(),
+				GARS.tryParseCellId(" 006AG39 "));
+
+		assertEquals(GARSParseStatus.VALID, GARS.validate("006AG39"));
+		assertEquals(GARSParseStatus.VALID, GARS.validate("006AG"));
+		assertEquals(GARSParseStatus.INVALID_LENGTH, GARS.validate(""));
+		assertEquals(GARSParseStatus.INVALID_LENGTH, GARS.validate("001A"));
+		assertEquals(GARSParseStatus.INVALID_LENGTH,
+				GARS.validate("006AG310"));
+		assertEquals(GARSParseStatus.INVALID_BAND_NUMBER,
+				GARS.validate("1AA"));
+		assertEquals(GARSParseStatus.INVALID_BAND_NUMBER,
+				GARS.validate("000AA"));
+		assertEquals(GARSParseStatus.INVALID_BAND_NUMBER,
+				GARS.validate("721AG39"));
+		assertEquals(GARSParseStatus.INVALID_BAND_LETTERS,
+				GARS.validate("001IA"));
+		assertEquals(GARSParseStatus.INVALID_BAND_LETTERS,
+				GARS.validate("001RA"));
+		assertEquals(GARSParseStatus.INVALID_BAND_LETTERS,
+				GARS.validate("006ZZ39"));
+		assertEquals(GARSParseStatus.INVALID_QUADRANT,
+				GARS.validate("006AG59"));
+		assertEquals(GARSParseStatus.INVALID_KEYPAD,
+				GARS.validate("006AG30"));
+
+		String[] values = { "006AG39", "006AG30", "720QZ", "721AA" };
+		long[] results = new long[values.length];
+		assertEquals(2,
+				GARSParser.parse(values, 0, values.length, results, 0));
+		assertEquals(GARSParseStatus.VALID,
+				GARSParseStatus.fromResult(results[0]));
+		assertEquals(GARSParseStatus.INVALID_KEYPAD,
+				GARSParseStatus.fromResult(results[1]));
+		assertEquals(GARSParseStatus.VALID,
+				GARSParseStatus.fromResult(results[2]));
+		assertEquals(GARSParseStatus.INVALID_BAND_NUMBER,
+				GARSParseStatus.fromResult(results[3]));
+
+	}
+
+	/**
+	 * Test parsing GARS from character and byte ranges
+	 * 
+	 * @throws ParseException
+	 *             upon failure to parse
+	 */
+	@Test
+	public void testParseRange() throws ParseException {
+
+		String record = "id=7,gars=006ag39,next=720QZ4;bad=721AA";
+		long expected = GARS.parse("006AG39").toCellId();
+		long expected2 = GARS.parse("720QZ4")
+				.toCellId(GridType.FIFTEEN_MINUTE);
+
+		assertEquals(expected, GARSParser.parse(record, 10, 17));
+		assertEquals(expected2, GARSParser.parse(record, 23, 29));
+		assertEquals(GARSParseStatus.INVALID_BAND_NUMBER,
+				GARSParser.status(record, 34, 39));
+		assertEquals(GARS.parse("006AG39"), GARS.tryParse(record, 10, 17));
+
+		char[] chars = record.toCharArray();
+		assertEquals(expected, GARSParser.parse(chars, 10, 7));
+		assertEquals(expected2, GARSParser.parse(chars, 23, 6));
+		assertEquals(GARSParseStatus.INVALID_LENGTH,
+				GARSParser.status(chars, 10, 8));
+		assertEquals(GARS.parse("720QZ4"), GARS.tryParse(chars, 23, 6));
+
+		byte[] bytes = record.getBytes(StandardCharsets.US_ASCII);
+		assertEquals(expected, GARSParser.parse(bytes, 10, 7));
+		assertEquals(expected2, GARSParser.parse(bytes, 23, 6));
+		assertEquals(GARSParseStatus.INVALID_BAND_NUMBER,
+				GARSParser.status(bytes, 34, 5));
+		assertEquals(null, GARS.tryParse(bytes, 34, 5));
+
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		buffer.position(10).limit(17);
+		assertEquals(expected, GARSParser.parse(buffer));
+		assertEquals(10, buffer.position());
+		assertEquals(GARSParseStatus.VALID, GARSParser.status(buffer));
+		assertEquals(GARS.parse("006AG39"), GARS.tryParse(buffer));
+		buffer.clear();
+		assertEquals(expected2, GARSParser.parse(buffer, 23, 6));
+
+	}
+
 	/**
 	 * Test parsing a GARS string value
 	 * 
@@ -282,6 +454,144 @@ public class GARSTest {
 
 	}
 
+	/**
+	 * Test appending and writing GARS coordinates
+	 * 
+	 * @throws IOException
+	 *             upon failure to append
+	 */
+	@Test
+	public void testAppendTo() throws IOException {
+
+		GridType[] types = { null, GridType.TWENTY_DEGREE,
+				GridType.THIRTY_MINUTE, GridType.FIFTEEN_MINUTE,
+				GridType.FIVE_MINUTE };
+
+		List<GARS> values = new ArrayList<>();
+		values.add(GARS.create(1, "AA", 1, 1));
+		values.add(GARS.create(6, "AG", 3, 9));
+		values.add(GARS.create(99, "NV", 4, 5));
+		values.add(GARS.create(720, "QZ", 2, 7));
+		values.add(GARS.create(721, "RA", 3, 7));
+		values.add(GARS.create(1000, "QZ", 2, 7));
+		values.add(GARS.create(-5, "AB", 10, -1));
+		values.add(GARS.create(12, "ABC", 1, 2));
+
+		for (GARS gars : values) {
+			for (GridType type : types) {
+
+				String expected = String.format("%03d", gars.getLongitude())
+						+ gars.getLatitude();
+				if (type == null || type == GridType.FIFTEEN_MINUTE
+						|| type == GridType.FIVE_MINUTE) {
+					expected += gars.getQuadrant();
+					if (type != GridType.FIFTEEN_MINUTE) {
+						expected += gars.getKeypad();
+					}
+				}
+
+				assertEquals(expected, gars.coordinate(type));
+				assertEquals("x" + expected,
+						gars.appendTo(new StringBuilder("x"), type)
+								.toString());
+				assertEquals(expected, gars
+						.appendTo((Appendable) new StringWriter(), type)
+						.toString());
+
+				byte[] bytes = new byte[expected.length() + 2];
+				assertEquals(expected.length(),
+						gars.writeAscii(bytes, 1, type));
+				assertEquals(expected, new String(bytes, 1,
+						expected.length(), StandardCharsets.US_ASCII));
+
+				ByteBuffer buffer = ByteBuffer.allocate(bytes.length);
+				buffer.put((byte) 'x');
+				assertEquals(expected.length(), gars.writeAscii(buffer, type));
+				assertEquals(expected.length() + 1, buffer.position());
+				assertEquals(expected, new String(buffer.array(), 1,
+						expected.length(), StandardCharsets.US_ASCII));
+			}
+		}
+
+	}
+
+	/**
+	 * Test canonical GARS instances
+	 * 
+	 * @throws Exception
+	 *             upon failure
+	 */
+	@Test
+	public void testCanonical() throws Exception {
+
+		GARS gars = GARS.parse("006AG39");
+		GARS canonical = GARS.canonical(gars);
+		assertEquals(gars, canonical);
+		assertSame(canonical, GARS.canonical(GARS.parse("006ag39")));
+		assertSame(canonical, GARS.canonical(gars.toCellId()));
+		assertSame(canonical,
+				GARS.canonical(gars.toCellId(GridType.THIRTY_MINUTE)));
+		assertEquals("006AG39", canonical.coordinate());
+		assertEquals("006AG3", canonical.coordinate(GridType.FIFTEEN_MINUTE));
+		String coordinate = GARSCache.getDefault().coordinate(gars);
+		assertEquals("006AG39", coordinate);
+		assertSame(coordinate,
+				GARSCache.getDefault().coordinate(gars.toCellId()));
+		assertSame(coordinate, GARSCache.getDefault().coordinate(canonical));
+
+		GARS invalid = GARS.create(6, "ag", 3, 9);
+		assertSame(invalid, GARS.canonical(invalid));
+		invalid = GARS.create(6, "AG", 0, 9);
+		assertSame(invalid, GARS.canonical(invalid));
+
+		GARS edge = GARS.from(180.0, 90.0);
+		assertEquals("721RA37", edge.coordinate());
+		assertSame(GARS.canonical(edge), GARS.canonical(edge.toCellId()));
+
+		GARSCache cache = new GARSCache(2);
+		GARS first = cache.get(GARSCellId.encode(1.0, 1.0));
+		assertSame(first, cache.get(GARSCellId.encode(1.0, 1.0)));
+		GARS second = cache.get(GARSCellId.encode(2.0, 2.0));
+		assertSame(second, cache.get(GARSCellId.encode(2.0, 2.0)));
+		assertEquals(2, cache.size());
+		assertSame(cache.coordinate(first), cache.coordinate(first.toCellId()));
+		GARS third = cache.get(GARSCellId.encode(3.0, 3.0));
+		assertEquals(third, cache.get(GARSCellId.encode(3.0, 3.0)));
+		assertFalse(third == cache.get(GARSCellId.encode(3.0, 3.0)));
+		assertEquals(third.coordinate(), cache.coordinate(third));
+		assertEquals(2, cache.size());
+
+		final GARSCache shared = new GARSCache();
+		final long[] ids = new long[10000];
+		Random random = new Random(4);
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = GARSCellId.encode(random.nextDouble() * 2.0,
+					random.nextDouble() * 2.0);
+		}
+		final GARS[][] results = new GARS[4][ids.length];
+		Thread[] threads = new Thread[results.length];
+		for (int t = 0; t < threads.length; t++) {
+			final GARS[] result = results[t];
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < ids.length; i++) {
+					result[i] = shared.get(ids[i]);
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (int i = 0; i < ids.length; i++) {
+			assertEquals(GARS.fromCellId(ids[i]), results[0][i]);
+			for (int t = 1; t < results.length; t++) {
+				assertSame(results[0][i], results[t][i]);
+			}
+		}
+		assertTrue(shared.size() <= 16 * 36);
+
+	}
+
 	/**
 	 * Test parsing point bounds
 	 */
@@ -425,6 +735,255 @@ public class GARSTest {
 				* GARSConstants.MAX_BAND_LETTERS_NUMBER, count);
 	}
 
+	/**
+	 * Test grid range iteration at fifteen and five minute precision
+	 */
+	@Test
+	public void testGridRangePrecision() {
+
+		GridRange gridRange = GARSUtils
+				.getGridRange(Bounds.degrees(0, 0, 10, 10));
+
+		assertEquals(120 * 120, gridRange.getCellCount(GridType.FIVE_MINUTE));
+		assertEquals(40 * 40, gridRange.getCellCount(GridType.FIFTEEN_MINUTE));
+		assertEquals(20 * 20, gridRange.getCellCount(GridType.THIRTY_MINUTE));
+
+		for (GridType precision : new GridType[] { GridType.THIRTY_MINUTE,
+				GridType.FIFTEEN_MINUTE, GridType.FIVE_MINUTE }) {
+
+			double cell = precision.getPrecision();
+			double lon = cell / 2;
+			double lat = cell / 2;
+
+			PrimitiveIterator.OfLong ids = gridRange.cellIds(precision);
+			for (GARS gars : gridRange.iterate(precision)) {
+				String coordinate = GARS.from(lon, lat).coordinate(precision);
+				assertEquals(coordinate, gars.coordinate(precision));
+				long id = ids.nextLong();
+				assertEquals(precision, GARSCellId.getPrecision(id));
+				assertEquals(coordinate, GARS.fromCellId(id).coordinate(precision));
+				lat += cell;
+				if (lat > 10) {
+					lat = cell / 2;
+					lon += cell;
+				}
+			}
+			assertFalse(ids.hasNext());
+			assertEquals(10 + cell / 2, lon, 0.0000001);
+
+			assertEquals(gridRange.getCellCount(precision),
+					gridRange.streamCellIds(precision).distinct().count());
+		}
+
+		gridRange = GARSUtils
+				.getGridRange(Bounds.degrees(-0.1, 45.2, 0.1, 45.3));
+		assertEquals(4 * 2, gridRange.getCellCount(GridType.FIVE_MINUTE));
+		assertEquals(2 * 2, gridRange.getCellCount(GridType.FIFTEEN_MINUTE));
+		assertEquals(2 * 1, gridRange.getCellCount(GridType.THIRTY_MINUTE));
+		assertEquals(GARS.from(-0.1, 45.2).coordinate(GridType.FIVE_MINUTE),
+				gridRange.iterate(GridType.FIVE_MINUTE).iterator().next()
+						.coordinate(GridType.FIVE_MINUTE));
+
+		gridRange = new GridRange();
+		Iterator<GARS> bands = gridRange.iterator();
+		for (GARS gars : gridRange.iterate(GridType.THIRTY_MINUTE)) {
+			assertEquals(bands.next().toString(), gars.toString());
+		}
+		assertFalse(bands.hasNext());
+
+		try {
+			gridRange.getLattice(GridType.ONE_DEGREE);
+			fail("Expected invalid precision failure");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+
+	}
+
+	/**
+	 * Test packed cell ids
+	 * 
+	 * @throws ParseException
+	 *             upon failure to parse
+	 */
+	@Test
+	public void testCellId() throws ParseException {
+
+		GARS gars = GARS.parse("006AG39");
+		long id = gars.toCellId();
+		assertEquals(6, GARSCellId.getBandNumber(id));
+		assertEquals(GARSUtils.bandValue("AG"), GARSCellId.getBandValue(id));
+		assertEquals("AG", GARSCellId.getBandLetters(id));
+		assertEquals(3, GARSCellId.getQuadrant(id));
+		assertEquals(9, GARSCellId.getKeypad(id));
+		assertEquals(GridType.FIVE_MINUTE, GARSCellId.getPrecision(id));
+		assertTrue(GARSCellId.isValid(id));
+		assertEquals(gars, GARS.fromCellId(id));
+
+		Point point = gars.toPoint();
+		assertEquals(point.getLongitude(), GARSCellId.decodeLongitude(id), 0);
+		assertEquals(point.getLatitude(), GARSCellId.decodeLatitude(id), 0);
+
+		long id30 = gars.toCellId(GridType.THIRTY_MINUTE);
+		assertEquals(GridType.THIRTY_MINUTE, GARSCellId.getPrecision(id30));
+		assertEquals(id, GARSCellId.withPrecision(id30, GridType.FIVE_MINUTE));
+		assertEquals(gars, GARS.fromCellId(id30));
+
+		assertEquals("006AG39", GARSCellId
+				.appendTo(id, new StringBuilder(), GridType.FIVE_MINUTE)
+				.toString());
+		assertEquals("006AG3", GARSCellId
+				.appendTo(id, new StringBuilder(), GridType.FIFTEEN_MINUTE)
+				.toString());
+		assertEquals("006AG", GARSCellId
+				.appendTo(id, new StringBuilder(), GridType.THIRTY_MINUTE)
+				.toString());
+
+		long invalidPrecision = id | (0x7L << 27);
+		assertFalse(GARSCellId.isValid(invalidPrecision));
+		try {
+			GARSCellId.getPrecision(invalidPrecision);
+			fail("Expected invalid precision failure");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+
+		double[][] coordinates = { { 29.06757, 63.98863 }, { 53.51, 12.40 },
+				{ -157.916861, 21.309444 }, { 17.3714337, 8.1258235 },
+				{ -78.5, 37.0 }, { -78.25, 37.25 },
+				{ -78.16666666, 37.33333334 }, { -78.08333333, 37.41666667 },
+				{ -180.0, -90.0 }, { 180.0, 90.0 }, { 50.920338, 100.0 },
+				{ 410.920338, -100.0 }, { -309.0, 89.9 }, { 0.0, 0.0 } };
+
+		for (double[] coordinate : coordinates) {
+			double longitude = coordinate[0];
+			double latitude = coordinate[1];
+			GARS expected = GARS.from(longitude, latitude);
+			long cellId = GARSCellId.encode(longitude, latitude);
+			assertEquals(expected.toCellId(), cellId);
+			assertEquals(expected, GARS.fromCellId(cellId));
+			assertEquals(expected.coordinate(),
+					GARS.fromCellId(cellId).coordinate());
+		}
+
+	}
+
+	/**
+	 * Test columnar bulk encoding
+	 */
+	@Test
+	public void testBatchEncode() {
+
+		Random random = new Random(2);
+
+		int count = 10000;
+		double[] longitudes = new double[count];
+		double[] latitudes = new double[count];
+		for (int i = 0; i < count; i++) {
+			longitudes[i] = random.nextDouble() * 800.0 - 400.0;
+			latitudes[i] = random.nextDouble() * 200.0 - 100.0;
+		}
+		longitudes[0] = 180.0;
+		latitudes[0] = 90.0;
+		longitudes[1] = -180.0;
+		latitudes[1] = -90.0;
+		longitudes[2] = -78.08333333;
+		latitudes[2] = 37.41666667;
+
+		for (GridType precision : new GridType[] { GridType.THIRTY_MINUTE,
+				GridType.FIFTEEN_MINUTE, GridType.FIVE_MINUTE }) {
+
+			long[] ids = new long[count];
+			GARSBatch.encode(longitudes, latitudes, precision, ids);
+			for (int i = 0; i < count; i++) {
+				assertEquals(GARSCellId.encode(longitudes[i], latitudes[i],
+						precision), ids[i]);
+			}
+
+			long[] rangeIds = new long[count];
+			GARSBatch.encode(longitudes, latitudes, 100, 50, precision,
+					rangeIds, 10);
+			for (int i = 0; i < 50; i++) {
+				assertEquals(ids[100 + i], rangeIds[10 + i]);
+			}
+		}
+
+		assertEquals("204LQ23", GARS.fromCellId(GARSCellId.encode(
+				longitudes[2], latitudes[2], GridType.FIVE_MINUTE))
+				.coordinate());
+
+	}
+
+	/**
+	 * Test bulk decoding cell ids to coordinates
+	 */
+	@Test
+	public void testBatchDecode() {
+
+		Random random = new Random(3);
+
+		int count = 10000;
+		double[] longitudes = new double[count];
+		double[] latitudes = new double[count];
+		for (int i = 0; i < count; i++) {
+			longitudes[i] = random.nextDouble() * 360.0 - 180.0;
+			latitudes[i] = random.nextDouble() * 180.0 - 90.0;
+		}
+
+		long[] ids = new long[count];
+		GARSBatch.encode(longitudes, latitudes, GridType.FIVE_MINUTE, ids);
+
+		double[] decodedLongitudes = new double[count];
+		double[] decodedLatitudes = new double[count];
+		GARSBatch.decodeSouthwest(ids, decodedLongitudes, decodedLatitudes);
+		for (int i = 0; i < count; i++) {
+			Point point = GARS.fromCellId(ids[i]).toPoint();
+			assertEquals(point.getLongitude(), decodedLongitudes[i], 0);
+			assertEquals(point.getLatitude(), decodedLatitudes[i], 0);
+			assertTrue(decodedLongitudes[i] <= longitudes[i]);
+			assertTrue(decodedLatitudes[i] <= latitudes[i]);
+		}
+
+		for (GridType precision : new GridType[] { GridType.THIRTY_MINUTE,
+				GridType.FIFTEEN_MINUTE, GridType.FIVE_MINUTE }) {
+
+			GARSBatch.encode(longitudes, latitudes, precision, ids);
+			GARSBatch.decodeCenters(ids, decodedLongitudes, decodedLatitudes);
+			double halfSize = precision.getPrecision() / 2.0;
+			for (int i = 0; i < count; i++) {
+				assertEquals(longitudes[i], decodedLongitudes[i],
+						halfSize + 1e-9);
+				assertEquals(latitudes[i], decodedLatitudes[i],
+						halfSize + 1e-9);
+				long centerId = GARSCellId.encode(decodedLongitudes[i],
+						decodedLatitudes[i], precision);
+				assertEquals(GARSCellId.decodeLongitude(ids[i]),
+						GARSCellId.decodeLongitude(centerId), 0);
+				assertEquals(GARSCellId.decodeLatitude(ids[i]),
+						GARSCellId.decodeLatitude(centerId), 0);
+			}
+
+			double[] rangeLongitudes = new double[count];
+			double[] rangeLatitudes = new double[count];
+			GARSBatch.decodeCenters(ids, 100, 50, rangeLongitudes,
+					rangeLatitudes, 10);
+			for (int i = 0; i < 50; i++) {
+				assertEquals(decodedLongitudes[100 + i],
+						rangeLongitudes[10 + i], 0);
+				assertEquals(decodedLatitudes[100 + i], rangeLatitudes[10 + i],
+						0);
+			}
+		}
+
+		long id = GARSCellId.encode(6, GARSUtils.bandValue("AG"), 3, 9,
+				GridType.THIRTY_MINUTE);
+		assertEquals(-177.5, GARSCellId.decodeLongitude(id), 0);
+		assertEquals(-87.0, GARSCellId.decodeLatitude(id), 0);
+		assertEquals(-177.25, GARSCellId.decodeCenterLongitude(id), 0);
+		assertEquals(-86.75, GARSCellId.decodeCenterLatitude(id), 0);
+
+	}
+
 	/**
 	 * Test the WGS84 coordinate with expected GARS coordinate
 	 * 
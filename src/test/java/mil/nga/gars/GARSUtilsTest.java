@@ -1,6 +1,7 @@
 package mil.nga.gars;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import org.junit.Test;
 
@@ -21,6 +22,15 @@ public class GARSUtilsTest {
 		assertEquals(24, GARSUtils.bandValue('Z'));
 		assertEquals(1, GARSUtils.bandValue("AA"));
 		assertEquals(360, GARSUtils.bandValue("QZ"));
+		assertEquals(361, GARSUtils.bandValue("RA"));
+		assertEquals(GARSUtils.bandValue("AG"), GARSUtils.bandValue("ag"));
+		assertEquals(GARSUtils.bandValue("QZ"), GARSUtils.bandValue("qZ"));
+
+		for (int value = 1; value <= 361; value++) {
+			String letters = GARSUtils.bandLetters(value);
+			assertEquals(value, GARSUtils.bandValue(letters));
+			assertEquals(value, GARSUtils.bandValue(letters.toLowerCase()));
+		}
 
 	}
 
@@ -38,6 +48,18 @@ public class GARSUtilsTest {
 		assertEquals("PZ", GARSUtils.bandLetters(336));
 		assertEquals("QA", GARSUtils.bandLetters(337));
 		assertEquals("QZ", GARSUtils.bandLetters(360));
+		assertEquals("RA", GARSUtils.bandLetters(361));
+		assertSame(GARSUtils.bandLetters(25), GARSUtils.bandLetters(25));
+		assertSame("BA", GARSUtils.bandLetters(25));
+
+		for (int value = 1; value <= 361; value++) {
+			assertEquals(
+					String.valueOf(
+							GARSUtils.bandLetter((value - 1) / 24 + 1))
+							+ GARSUtils.bandLetter((value - 1) % 24 + 1),
+					GARSUtils.bandLetters(value));
+		}
+		assertEquals("A@", GARSUtils.bandLetters(0));
 
 	}
 
@@ -1,5 +1,6 @@
 package mil.nga.gars;
 
+import java.awt.image.BufferedImage;
 import java.text.ParseException;
 import java.util.List;
 
@@ -8,9 +9,14 @@ import org.junit.Test;
 import mil.nga.gars.features.GridLine;
 import mil.nga.gars.grid.Grid;
 import mil.nga.gars.grid.GridLabel;
+import mil.nga.gars.grid.GridTileCache;
 import mil.nga.gars.grid.GridType;
 import mil.nga.gars.grid.Grids;
 import mil.nga.gars.grid.ZoomGrids;
+import mil.nga.gars.metrics.GridMetric;
+import mil.nga.gars.metrics.GridMetricsRecorder;
+import mil.nga.gars.metrics.GridOperation;
+import mil.nga.gars.render.GridTileRenderer;
 import mil.nga.grid.features.Point;
 import mil.nga.grid.tile.GridTile;
 import mil.nga.grid.tile.Pixel;
@@ -47,6 +53,100 @@ public class ReadmeTest {
 
 	}
 
+	/**
+	 * Test render tile
+	 */
+	@Test
+	public void testRenderTile() {
+		testRenderTile(GridTile.tile(512, 512, 8, 12, 5));
+	}
+
+	/**
+	 * Test render tile
+	 * 
+	 * @param tile
+	 *            grid tile
+	 */
+	private static void testRenderTile(GridTile tile) {
+
+		// GridTile tile = ...;
+
+		GridTileRenderer renderer = new GridTileRenderer(Grids.create());
+
+		int[] argb = renderer.renderArgb(tile);
+		BufferedImage image = renderer.renderImage(tile);
+		byte[] png = renderer.renderPng(tile);
+
+	}
+
+	/**
+	 * Test metrics
+	 */
+	@Test
+	public void testMetrics() {
+		Grids grids = Grids.create();
+		testMetrics(grids);
+	}
+
+	/**
+	 * Test metrics
+	 * 
+	 * @param grids
+	 *            grids
+	 */
+	private static void testMetrics(Grids grids) {
+
+		// Grids grids = ...;
+
+		GridMetricsRecorder recorder = new GridMetricsRecorder();
+		grids.setRecorder(recorder);
+
+		// ... generate tiles
+		GridTile tile = GridTile.tile(512, 512, 8, 12, 5);
+		grids.getGrid(grids.getPrecision(tile.getZoom())).getLines(tile);
+
+		for (GridMetric metric : recorder.getSlowest(99)) {
+			GridOperation operation = metric.getOperation();
+			GridType type = metric.getType();
+			int zoom = metric.getZoom();
+			long p99Nanos = metric.getLatency().getValueAtPercentile(99);
+			long features = metric.getFeatures();
+		}
+
+	}
+
+	/**
+	 * Test tile cache
+	 */
+	@Test
+	public void testTileCache() {
+		testTileCache(Grids.create(), GridTile.tile(512, 512, 140, 90, 8));
+	}
+
+	/**
+	 * Test tile cache
+	 * 
+	 * @param grids
+	 *            grids
+	 * @param tile
+	 *            tile
+	 */
+	private static void testTileCache(Grids grids, GridTile tile) {
+
+		// Grids grids = ...;
+		// GridTile tile = ...;
+
+		GridTileCache cache = new GridTileCache(4096);
+		grids.setTileCache(cache);
+
+		Grid grid = grids.getGrid(GridType.THIRTY_MINUTE);
+		List<GridLine> lines = grid.getLines(tile);
+		List<GridLabel> labels = grid.getLabels(tile);
+
+		long hits = cache.getHits();
+
+	}
+
 	/**
 	 * Test draw tile template logic
 	 */
@@ -0,0 +1,567 @@
+package mil.nga.gars.grid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import mil.nga.gars.GARS;
+import mil.nga.gars.features.GridLine;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.grid.tile.GridTile;
+import mil.nga.grid.tile.Pixel;
+
+/**
+ * Grid Test
+ * 
+ * @author osbornb
+ */
+public class GridTest {
+
+	/**
+	 * Tiles to test
+	 */
+	private static final GridTile[] TILES = { GridTile.tile(512, 512, 0, 0, 1),
+			GridTile.tile(512, 512, 8, 12, 5),
+			GridTile.tile(256, 256, 301, 390, 10),
+			GridTile.tile(256, 256, 1205, 1540, 12),
+			GridTile.tile(256, 256, 2047, 2047, 12),
+			GridTile.tile(256, 256, 4096, 0, 13) };
+
+	/**
+	 * Test lattice precision classification
+	 */
+	@Test
+	public void testLatticePrecision() {
+
+		for (int units = -2160; units <= 2160; units++) {
+			assertEquals(
+					GridType.getPrecision(GridLattice.toDegrees(units)),
+					GridType.getLatticePrecision(units));
+		}
+
+		for (GridType type : GridType.values()) {
+			assertEquals(type.getPrecision(),
+					GridLattice.toDegrees(type.getUnits()), 1e-15);
+		}
+
+	}
+
+	/**
+	 * Test grid lines on the integer lattice
+	 */
+	@Test
+	public void testLines() {
+
+		for (GridTile tile : TILES) {
+			for (GridType type : GridType.values()) {
+
+				Bounds bounds = tile.getBounds();
+				GridLattice lattice = GridLattice.create(bounds, type);
+				if ((long) lattice.getColumns() * lattice.getRows() > 100000) {
+					continue;
+				}
+
+				List<GridLine> lines = new Grid(type).getLines(bounds);
+				assertEquals(2 * lattice.getColumns() * lattice.getRows(),
+						lines.size());
+
+				Bounds degrees = bounds.toDegrees();
+				Point first = lines.get(0).getPoint1();
+				Point last = lines.get(lines.size() - 1).getPoint1();
+				assertTrue(first.getLongitude() <= degrees.getMinLongitude());
+				assertTrue(first.getLatitude() <= degrees.getMinLatitude());
+				assertTrue(last.getLongitude() >= degrees.getMaxLongitude());
+				assertTrue(last.getLatitude() >= degrees.getMaxLatitude());
+				assertTrue(first.getLongitude() > degrees.getMinLongitude()
+						- type.getPrecision());
+				assertTrue(last.getLatitude() < degrees.getMaxLatitude()
+						+ type.getPrecision());
+
+				for (int i = 0; i < lines.size(); i += 2) {
+
+					GridLine vertical = lines.get(i);
+					GridLine horizontal = lines.get(i + 1);
+					int x = units(vertical.getPoint1().getLongitude());
+					int y = units(vertical.getPoint1().getLatitude());
+					assertEquals(0, x % type.getUnits());
+					assertEquals(0, y % type.getUnits());
+
+					assertEquals(GridType.getLatticePrecision(x),
+							vertical.getGridType());
+					assertEquals(x, units(vertical.getPoint2().getLongitude()));
+					assertEquals(y + type.getUnits(),
+							units(vertical.getPoint2().getLatitude()));
+
+					assertEquals(GridType.getLatticePrecision(y),
+							horizontal.getGridType());
+					assertEquals(vertical.getPoint1(), horizontal.getPoint1());
+					assertEquals(x + type.getUnits(),
+							units(horizontal.getPoint2().getLongitude()));
+					assertEquals(y, units(horizontal.getPoint2().getLatitude()));
+				}
+
+			}
+		}
+
+		// Exact multiples do not drift into the previous cell
+		List<GridLine> lines = new Grid(GridType.FIVE_MINUTE)
+				.getLines(Bounds.degrees(-0.01, -90.0, 0.01, -89.99));
+		assertEquals(-90.0, lines.get(0).getPoint1().getLatitude(), 0);
+		assertEquals(GridType.TEN_DEGREE, lines.get(1).getGridType());
+
+	}
+
+	/**
+	 * Test merged grid lines cover the per cell lines
+	 */
+	@Test
+	public void testMergedLines() {
+
+		for (GridTile tile : TILES) {
+			for (GridType type : GridType.values()) {
+
+				Bounds bounds = tile.getBounds();
+				GridLattice lattice = GridLattice.create(bounds, type);
+				if ((long) lattice.getColumns() * lattice.getRows() > 100000) {
+					continue;
+				}
+
+				Grid grid = new Grid(type);
+				List<GridLine> lines = grid.getLines(bounds);
+				List<GridLine> merged = grid.getMergedLines(bounds);
+				assertEquals(lattice.getColumns() + lattice.getRows(),
+						merged.size());
+
+				for (int i = 0; i < lines.size(); i += 2) {
+
+					GridLine vertical = lines.get(i);
+					int column = (units(vertical.getPoint1().getLongitude())
+							- lattice.getMinX()) / lattice.getStep();
+					assertCovers(merged.get(column), vertical);
+
+					GridLine horizontal = lines.get(i + 1);
+					int row = (units(horizontal.getPoint1().getLatitude())
+							- lattice.getMinY()) / lattice.getStep();
+					assertCovers(merged.get(lattice.getColumns() + row),
+							horizontal);
+				}
+
+			}
+		}
+
+		Grid grid = Grids.create().getGrid(GridType.FIVE_MINUTE);
+		assertEquals(grid.getMergedLines(TILES[3].getBounds()),
+				grid.getMergedLines(TILES[3]));
+
+	}
+
+	/**
+	 * Test combined zoom grid lines without overlapping lines
+	 */
+	@Test
+	public void testZoomGridsLines() {
+
+		Grids grids = Grids.create();
+		grids.setZoomRange(GridType.TWENTY_DEGREE, 0, null);
+		grids.setZoomRange(GridType.ONE_DEGREE, 7, null);
+		grids.setZoomRange(GridType.THIRTY_MINUTE, 8, null);
+
+		GridTile tile = TILES[2];
+		ZoomGrids zoomGrids = grids.getGrids(tile.getZoom());
+		assertEquals(4, zoomGrids.numGrids());
+
+		Map<Grid, List<GridLine>> lines = zoomGrids.getLines(tile);
+		assertEquals(Arrays.asList(grids.getGrid(GridType.TWENTY_DEGREE),
+				grids.getGrid(GridType.ONE_DEGREE),
+				grids.getGrid(GridType.THIRTY_MINUTE),
+				grids.getGrid(GridType.FIFTEEN_MINUTE)),
+				new ArrayList<>(lines.keySet()));
+
+		Set<String> verticals = new HashSet<>();
+		Set<String> horizontals = new HashSet<>();
+		int count = 0;
+		for (Map.Entry<Grid, List<GridLine>> entry : lines.entrySet()) {
+			Grid grid = entry.getKey();
+			for (GridLine line : entry.getValue()) {
+				Point point = line.getPoint1();
+				boolean vertical = point.getLongitude() == line.getPoint2()
+						.getLongitude();
+				int units = vertical ? units(point.getLongitude())
+						: units(point.getLatitude());
+				assertEquals(0, units % grid.getType().getUnits());
+				assertEquals(GridType.getLatticePrecision(units),
+						line.getGridType());
+				assertTrue(line.getGridType().getPrecision() >= grid
+						.getPrecision());
+				assertSame(grid, zoomGrids.getLineGrid(line.getGridType()));
+				assertTrue(vertical ? verticals.add(String.valueOf(units))
+						: horizontals.add(String.valueOf(units)));
+				count++;
+			}
+		}
+
+		List<GridLine> finest = grids.getGrid(GridType.FIFTEEN_MINUTE)
+				.getMergedLines(tile.getBounds());
+		assertTrue(count >= finest.size());
+		for (GridLine line : finest) {
+			Point point = line.getPoint1();
+			if (point.getLongitude() == line.getPoint2().getLongitude()) {
+				assertTrue(verticals
+						.contains(String.valueOf(units(point.getLongitude()))));
+			} else {
+				assertTrue(horizontals
+						.contains(String.valueOf(units(point.getLatitude()))));
+			}
+		}
+
+		grids.setLinesMinZoom(GridType.ONE_DEGREE, 11);
+		lines = zoomGrids.getLines(tile);
+		assertEquals(3, lines.size());
+		assertFalse(lines.containsKey(grids.getGrid(GridType.ONE_DEGREE)));
+
+	}
+
+	/**
+	 * Assert the merged line covers the line segment
+	 * 
+	 * @param merged
+	 *            merged line
+	 * @param line
+	 *            line segment
+	 */
+	private static void assertCovers(GridLine merged, GridLine line) {
+		assertEquals(merged.getGridType(), line.getGridType());
+		Point start = merged.getPoint1();
+		Point end = merged.getPoint2();
+		Point point1 = line.getPoint1();
+		Point point2 = line.getPoint2();
+		if (start.getLongitude() == end.getLongitude()) {
+			assertEquals(start.getLongitude(), point1.getLongitude(), 0);
+			assertEquals(start.getLongitude(), point2.getLongitude(), 0);
+			assertTrue(start.getLatitude() <= point1.getLatitude());
+			assertTrue(end.getLatitude() >= point2.getLatitude());
+		} else {
+			assertEquals(start.getLatitude(), end.getLatitude(), 0);
+			assertEquals(start.getLatitude(), point1.getLatitude(), 0);
+			assertEquals(start.getLatitude(), point2.getLatitude(), 0);
+			assertTrue(start.getLongitude() <= point1.getLongitude());
+			assertTrue(end.getLongitude() >= point2.getLongitude());
+		}
+	}
+
+	/**
+	 * Test grid labels on the integer lattice
+	 */
+	@Test
+	public void testLabels() {
+
+		GARSLabeler labeler = new GARSLabeler();
+
+		for (GridTile tile : TILES) {
+			for (GridType type : GridType.values()) {
+
+				Bounds bounds = tile.getBounds();
+				GridLattice lattice = GridLattice.create(bounds, type);
+				if ((long) lattice.getColumns() * lattice.getRows() > 100000) {
+					continue;
+				}
+
+				List<GridLabel> labels = labeler.getLabels(bounds, type);
+				assertEquals(lattice.getColumns() * lattice.getRows(),
+						labels.size());
+
+				for (GridLabel label : labels) {
+					assertEquals(type, label.getGridType());
+					Bounds labelBounds = label.getBounds();
+					assertEquals(0, units(labelBounds.getMinLongitude())
+							% type.getUnits());
+					assertEquals(0, units(labelBounds.getMinLatitude())
+							% type.getUnits());
+					assertEquals(type.getPrecision(),
+							labelBounds.getMaxLongitude()
+									- labelBounds.getMinLongitude(),
+							1e-9);
+					assertEquals(label.getCoordinate(),
+							GARS.from(label.getCenter()));
+				}
+
+			}
+		}
+
+	}
+
+	/**
+	 * Test visiting lines and labels matches the created lines and labels
+	 */
+	@Test
+	public void testConsumers() {
+
+		Grids grids = Grids.create();
+		GARSLabeler labeler = new GARSLabeler();
+
+		for (GridTile tile : TILES) {
+			for (GridType type : GridType.values()) {
+
+				Bounds bounds = tile.getBounds();
+				GridLattice lattice = GridLattice.create(bounds, type);
+				if ((long) lattice.getColumns() * lattice.getRows() > 100000) {
+					continue;
+				}
+
+				Grid grid = grids.getGrid(type);
+
+				List<GridLine> lines = grid.getLines(bounds);
+				List<GridLine> visited = new ArrayList<>();
+				grid.forEachLine(bounds,
+						(lon1, lat1, lon2, lat2, gridType) -> visited
+								.add(GridLine.line(Point.point(lon1, lat1),
+										Point.point(lon2, lat2), gridType)));
+				assertLines(lines, visited);
+
+				List<GridLine> merged = grid.getMergedLines(bounds);
+				visited.clear();
+				grid.forEachMergedLine(bounds,
+						(lon1, lat1, lon2, lat2, gridType) -> visited
+								.add(GridLine.line(Point.point(lon1, lat1),
+										Point.point(lon2, lat2), gridType)));
+				assertLines(merged, visited);
+
+				List<GridLabel> labels = labeler.getLabels(bounds, type);
+				int[] index = new int[1];
+				labeler.forEachLabel(bounds, type, (west, south, east, north,
+						centerLon, centerLat, cellId, gridType) -> {
+					GridLabel label = labels.get(index[0]++);
+					Bounds labelBounds = label.getBounds();
+					assertEquals(labelBounds.getMinLongitude(), west, 0.0);
+					assertEquals(labelBounds.getMinLatitude(), south, 0.0);
+					assertEquals(labelBounds.getMaxLongitude(), east, 0.0);
+					assertEquals(labelBounds.getMaxLatitude(), north, 0.0);
+					Point centroid = Bounds.degrees(west, south, east, north)
+							.getCentroid();
+					assertEquals(centroid.getLongitude(), centerLon, 0.0);
+					assertEquals(centroid.getLatitude(), centerLat, 0.0);
+					assertEquals(GARS.from(centroid).toCellId(type), cellId);
+					assertEquals(type, gridType);
+				});
+				assertEquals(labels.size(), index[0]);
+
+			}
+		}
+
+		Grid grid = grids.getGrid(GridType.ONE_DEGREE);
+		GridTile tile = TILES[TILES.length - 1];
+		assertEquals(grid.isLinesWithin(tile.getZoom()),
+				grid.forEachLine(tile, (lon1, lat1, lon2, lat2, gridType) -> {
+				}));
+		assertEquals(grid.isLabelerWithin(tile.getZoom()), grid.forEachLabel(
+				tile, (west, south, east, north, centerLon, centerLat, cellId,
+						gridType) -> {
+				}));
+
+	}
+
+	/**
+	 * Test lazy line iteration and streams match the created lines
+	 */
+	@Test
+	public void testLazyLines() {
+
+		Grids grids = Grids.create();
+
+		for (GridTile tile : TILES) {
+			for (GridType type : GridType.values()) {
+
+				Bounds bounds = tile.getBounds();
+				GridLattice lattice = GridLattice.create(bounds, type);
+				if ((long) lattice.getColumns() * lattice.getRows() > 100000) {
+					continue;
+				}
+
+				Grid grid = grids.getGrid(type);
+				List<GridLine> lines = grid.getLines(bounds);
+
+				List<GridLine> iterated = new ArrayList<>();
+				for (GridLine line : grid.iterateLines(bounds)) {
+					iterated.add(line);
+				}
+				assertLines(lines, iterated);
+
+				assertLines(lines, grid.streamLines(bounds)
+						.collect(Collectors.toList()));
+				assertLines(lines, grid.streamLines(bounds).parallel()
+						.collect(Collectors.toList()));
+
+			}
+		}
+
+		// Five minute lines of a country sized bounds, without creating them
+		Grid grid = grids.getGrid(GridType.FIVE_MINUTE);
+		Bounds bounds = Bounds.degrees(-125.0, 24.0, -66.0, 50.0);
+		GridLattice lattice = GridLattice.create(bounds, GridType.FIVE_MINUTE);
+		long cells = (long) lattice.getColumns() * lattice.getRows();
+		assertTrue(cells > 59 * 12 * 26 * 12);
+		assertEquals(2 * cells, grid.streamLines(bounds).spliterator()
+				.getExactSizeIfKnown());
+		assertEquals(2 * cells, grid.streamLines(bounds).parallel().count());
+		assertEquals(2 * cells, grid.streamLines(bounds).parallel()
+				.filter(line -> line.getGridType() == GridType.FIVE_MINUTE)
+				.count()
+				+ grid.streamLines(bounds).parallel().filter(
+						line -> line.getGridType() != GridType.FIVE_MINUTE)
+						.count());
+
+		// Early termination
+		List<GridLine> first = grid.streamLines(bounds).limit(5)
+				.collect(Collectors.toList());
+		Iterator<GridLine> iterator = grid.iterateLines(bounds).iterator();
+		for (GridLine line : first) {
+			GridLine other = iterator.next();
+			assertEquals(line, other);
+		}
+		assertEquals(5, first.size());
+		assertEquals(GridLattice.toDegrees(lattice.getMinX()),
+				first.get(0).getPoint1().getLongitude(), 0.0);
+		assertEquals(GridLattice.toDegrees(lattice.getMinY()),
+				first.get(0).getPoint1().getLatitude(), 0.0);
+
+	}
+
+	/**
+	 * Test the Web Mercator lattice latitude table matches the computed
+	 * conversions
+	 */
+	@Test
+	public void testMercatorTable() {
+
+		for (int units = -1100; units <= 1100; units++) {
+			double latitude = GridLattice.toDegrees(units);
+			assertEquals(GridMercator.latitudeToMeters(latitude),
+					GridMercator.latticeLatitudeToMeters(units), 0.0);
+			assertEquals(
+					GridMercator.centerLatitude(latitude,
+							GridLattice.toDegrees(units + 3)),
+					GridMercator.latticeCenterLatitude(units, units + 3), 0.0);
+		}
+
+		GridTileProjection projection = new GridTileProjection(TILES[1]);
+		for (int units = -1080; units <= 1080; units += 7) {
+			Pixel pixel = Point.degrees(0, GridLattice.toDegrees(units))
+					.getPixel(TILES[1]);
+			assertEquals(pixel.getY(), projection.getLatticeYPixel(units),
+					0.0f);
+			assertEquals(units, GridLattice
+					.toUnits(GridLattice.toDegrees(units)));
+			assertEquals(
+					projection.getYPixel(GridMercator
+							.latticeCenterLatitude(units, units + 6)),
+					projection.getLatticeCenterYPixel(units, units + 6),
+					0.001f);
+		}
+
+	}
+
+	/**
+	 * Test the pixel lines match the projected merged lines
+	 */
+	@Test
+	public void testPixelLines() {
+
+		Grids grids = Grids.create();
+
+		for (GridTile tile : TILES) {
+			for (GridType type : GridType.values()) {
+
+				Grid grid = grids.getGrid(type);
+				GridLattice lattice = GridLattice.create(tile.getBounds(),
+						type);
+				if (!grid.isLinesWithin(tile.getZoom())
+						|| (long) lattice.getColumns()
+								* lattice.getRows() > 100000) {
+					continue;
+				}
+
+				List<GridLine> lines = grid.getMergedLines(tile);
+				int count = grid.getPixelLineCount(tile);
+				assertEquals(lines.size(), count);
+
+				float[] pixels = new float[4 * count];
+				byte[] types = new byte[count];
+				assertEquals(count, grid.getPixelLines(tile, pixels, types));
+
+				for (int i = 0; i < count; i++) {
+					GridLine line = lines.get(i);
+					Pixel pixel1 = line.getPoint1().getPixel(tile);
+					Pixel pixel2 = line.getPoint2().getPixel(tile);
+					assertEquals(pixel1.getX(), pixels[4 * i], 0.0f);
+					assertEquals(pixel1.getY(), pixels[4 * i + 1], 0.0f);
+					assertEquals(pixel2.getX(), pixels[4 * i + 2], 0.0f);
+					assertEquals(pixel2.getY(), pixels[4 * i + 3], 0.0f);
+					assertEquals(line.getGridType().ordinal(), types[i]);
+				}
+
+				try {
+					grid.getPixelLines(tile, new float[4 * count - 1], types);
+					fail("Expected insufficient capacity");
+				} catch (IllegalArgumentException e) {
+					// Expected
+				}
+
+			}
+		}
+
+	}
+
+	/**
+	 * Assert the lines are equal in order
+	 * 
+	 * @param expected
+	 *            expected lines
+	 * @param actual
+	 *            actual lines
+	 */
+	private static void assertLines(List<GridLine> expected,
+			List<GridLine> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			GridLine line = expected.get(i);
+			GridLine other = actual.get(i);
+			assertEquals(line.getGridType(), other.getGridType());
+			assertEquals(line.getPoint1().getLongitude(),
+					other.getPoint1().getLongitude(), 0.0);
+			assertEquals(line.getPoint1().getLatitude(),
+					other.getPoint1().getLatitude(), 0.0);
+			assertEquals(line.getPoint2().getLongitude(),
+					other.getPoint2().getLongitude(), 0.0);
+			assertEquals(line.getPoint2().getLatitude(),
+					other.getPoint2().getLatitude(), 0.0);
+		}
+	}
+
+	/**
+	 * Get the nearest lattice units of the degrees
+	 * 
+	 * @param degrees
+	 *            degrees
+	 * @return units
+	 */
+	private static int units(double degrees) {
+		int units = (int) Math.round(degrees * GridLattice.UNITS_PER_DEGREE);
+		assertEquals(GridLattice.toDegrees(units), degrees, 0);
+		return units;
+	}
+
+}
@@ -0,0 +1,147 @@
+package mil.nga.gars.grid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import mil.nga.color.Color;
+import mil.nga.gars.features.GridLine;
+import mil.nga.grid.tile.GridTile;
+
+/**
+ * Grid Tile Cache Test
+ * 
+ * @author osbornb
+ */
+public class GridTileCacheTest {
+
+	/**
+	 * Test cached lines and labels
+	 */
+	@Test
+	public void testCache() {
+
+		Grids grids = Grids.create();
+		Grid grid = grids.getGrid(GridType.THIRTY_MINUTE);
+		GridTile tile = GridTile.tile(256, 256, 140, 90, 8);
+
+		GridTileCache cache = new GridTileCache();
+
+		List<GridLine> lines = cache.getLines(grid, tile);
+		assertEquals(grid.getLines(tile), lines);
+		assertSame(lines, cache.getLines(grid, tile));
+		assertSame(lines,
+				cache.getLines(grid, GridTile.tile(256, 256, 140, 90, 8)));
+		assertEquals(1, cache.getMisses());
+		assertEquals(2, cache.getHits());
+
+		List<GridLine> merged = cache.getMergedLines(grid, tile);
+		assertEquals(grid.getMergedLines(tile), merged);
+		assertSame(merged, cache.getMergedLines(grid, tile));
+
+		List<GridLabel> labels = cache.getLabels(grid, tile);
+		assertEquals(grid.getLabels(tile).size(), labels.size());
+		assertSame(labels, cache.getLabels(grid, tile));
+		assertEquals(3, cache.size());
+
+		// Modifying the grid invalidates the cached results
+		long version = grid.getVersion();
+		grids.setColor(GridType.THIRTY_MINUTE, Color.red());
+		assertTrue(grid.getVersion() > version);
+		List<GridLine> modified = cache.getLines(grid, tile);
+		assertEquals(lines, modified);
+		assertNotSame(lines, modified);
+
+		// Zoom ranges are evaluated on each request
+		grids.setLinesMinZoom(GridType.THIRTY_MINUTE, 9);
+		assertNull(cache.getLines(grid, tile));
+		grids.setLinesMinZoom(GridType.THIRTY_MINUTE, null);
+		grids.disableLabeler(GridType.THIRTY_MINUTE);
+		assertNull(cache.getLabels(grid, tile));
+
+		cache.clear();
+		assertEquals(0, cache.size());
+
+	}
+
+	/**
+	 * Test tile requests through a grids tile cache
+	 */
+	@Test
+	public void testGridsTileCache() {
+
+		Grids grids = Grids.create();
+		Grid grid = grids.getGrid(GridType.THIRTY_MINUTE);
+		GridTile tile = GridTile.tile(256, 256, 140, 90, 8);
+		List<GridLine> uncached = grid.getLines(tile);
+
+		GridTileCache cache = new GridTileCache();
+		grids.setTileCache(cache);
+		assertSame(cache, grid.getTileCache());
+
+		List<GridLine> lines = grid.getLines(tile);
+		assertEquals(uncached, lines);
+		assertSame(lines, grid.getLines(tile));
+		assertSame(lines, cache.getLines(grid, tile));
+		assertSame(grid.getMergedLines(tile), grid.getMergedLines(tile));
+		assertSame(grid.getLabels(tile), grid.getLabels(tile));
+		assertEquals(3, cache.getMisses());
+		assertEquals(4, cache.getHits());
+
+		grids.setLinesMinZoom(GridType.THIRTY_MINUTE, 9);
+		assertNull(grid.getLines(tile));
+		grids.setLinesMinZoom(GridType.THIRTY_MINUTE, null);
+
+		grids.setTileCache(GridType.THIRTY_MINUTE, null);
+		assertNull(grid.getTileCache());
+		List<GridLine> direct = grid.getLines(tile);
+		assertEquals(lines, direct);
+		assertNotSame(lines, direct);
+
+	}
+
+	/**
+	 * Test the least recently used eviction
+	 */
+	@Test
+	public void testEviction() {
+
+		Grid grid = Grids.create().getGrid(GridType.FIFTEEN_MINUTE);
+		GridTileCache cache = new GridTileCache(2, 1);
+		assertEquals(2, cache.getMaxSize());
+
+		GridTile tile1 = GridTile.tile(256, 256, 560, 360, 10);
+		GridTile tile2 = GridTile.tile(256, 256, 561, 360, 10);
+		GridTile tile3 = GridTile.tile(256, 256, 562, 360, 10);
+
+		List<GridLine> lines1 = cache.getLines(grid, tile1);
+		cache.getLines(grid, tile2);
+		assertSame(lines1, cache.getLines(grid, tile1));
+		cache.getLines(grid, tile3);
+		assertEquals(1, cache.getEvictions());
+		assertEquals(2, cache.size());
+
+		// Tile 2 was least recently used
+		assertSame(lines1, cache.getLines(grid, tile1));
+		long misses = cache.getMisses();
+		cache.getLines(grid, tile2);
+		assertEquals(misses + 1, cache.getMisses());
+
+		cache.resetStatistics();
+		assertEquals(0, cache.getHits());
+		assertEquals(0, cache.getMisses());
+		assertEquals(0, cache.getEvictions());
+
+		assertEquals(1024, new GridTileCache().getMaxSize());
+		assertEquals(1000 + 8, new GridTileCache(1000, 16).getMaxSize());
+		assertEquals(4, new GridTileCache(3, 16).getMaxSize());
+
+	}
+
+}
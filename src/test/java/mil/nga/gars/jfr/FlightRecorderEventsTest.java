@@ -0,0 +1,264 @@
+package mil.nga.gars.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import mil.nga.gars.GARSBatch;
+import mil.nga.gars.GARSParser;
+import mil.nga.gars.features.GridLine;
+import mil.nga.gars.grid.Grid;
+import mil.nga.gars.grid.GridType;
+import mil.nga.gars.grid.Grids;
+import mil.nga.gars.grid.ZoomGrids;
+import mil.nga.gars.metrics.EventSink;
+import mil.nga.gars.metrics.Events;
+import mil.nga.gars.metrics.GridOperation;
+import mil.nga.gars.render.GridTileRenderer;
+import mil.nga.gars.render.GridVectorTileEncoder;
+import mil.nga.grid.tile.GridTile;
+
+/**
+ * Java Flight Recorder event tests
+ *
+ * @author osbornb
+ */
+public class FlightRecorderEventsTest {
+
+	/**
+	 * Temporary folder
+	 */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Test the grid tile generated events
+	 *
+	 * @throws IOException
+	 *             upon failure
+	 */
+	@Test
+	public void testGridTileGenerated() throws IOException {
+
+		Grids grids = Grids.create();
+		GridTileRenderer renderer = new GridTileRenderer(grids);
+		GridVectorTileEncoder encoder = new GridVectorTileEncoder(grids);
+		GridTile tile = GridTile.tile(256, 256, 35, 22, 6);
+
+		List<RecordedEvent> events;
+		try (Recording recording = new Recording()) {
+			recording.enable(GridTileGeneratedEvent.NAME);
+			recording.start();
+			renderer.renderArgb(tile);
+			encoder.encode(tile);
+			recording.stop();
+			events = read(recording, GridTileGeneratedEvent.NAME);
+		}
+
+		assertEquals(2, events.size());
+		RecordedEvent raster = events.get(0);
+		RecordedEvent vector = events.get(1);
+		assertEquals(GridTileGeneratedEvent.RASTER,
+				raster.getString("format"));
+		assertEquals(GridTileGeneratedEvent.VECTOR,
+				vector.getString("format"));
+		for (RecordedEvent event : events) {
+			assertEquals(grids.getPrecision(tile.getZoom()).name(),
+					event.getString("gridType"));
+			assertEquals(6, event.getInt("zoom"));
+			assertEquals(35, event.getInt("x"));
+			assertEquals(22, event.getInt("y"));
+			assertTrue(event.getInt("lines") > 0);
+			assertTrue(event.getInt("labels") > 0);
+			assertTrue(event.getDuration().toNanos() > 0);
+		}
+
+	}
+
+	/**
+	 * Test the grid features generated events
+	 *
+	 * @throws IOException
+	 *             upon failure
+	 */
+	@Test
+	public void testGridFeaturesGenerated() throws IOException {
+
+		Grids grids = Grids.create();
+		GridTile tile = GridTile.tile(256, 256, 35, 22, 6);
+		GridType precision = grids.getPrecision(tile.getZoom());
+		Grid grid = grids.getGrid(precision);
+		ZoomGrids zoomGrids = grids.getGrids(tile.getZoom());
+
+		List<RecordedEvent> events;
+		int lines;
+		int labels;
+		int zoomLines = 0;
+		try (Recording recording = new Recording()) {
+			recording.enable(GridFeaturesGeneratedEvent.NAME);
+			recording.start();
+			lines = grid.getLines(tile).size();
+			labels = grid.getLabels(tile).size();
+			for (List<GridLine> gridLines : zoomGrids.getLines(tile)
+					.values()) {
+				zoomLines += gridLines.size();
+			}
+			recording.stop();
+			events = read(recording, GridFeaturesGeneratedEvent.NAME);
+		}
+
+		assertEquals(3, events.size());
+		for (RecordedEvent event : events) {
+			assertEquals(precision.name(), event.getString("gridType"));
+			assertEquals(6, event.getInt("zoom"));
+			assertEquals(35, event.getInt("x"));
+			assertEquals(22, event.getInt("y"));
+		}
+		assertEquals(GridOperation.LINES.name(),
+				events.get(0).getString("operation"));
+		assertEquals(lines, events.get(0).getLong("count"));
+		assertEquals(GridOperation.LABELS.name(),
+				events.get(1).getString("operation"));
+		assertEquals(labels, events.get(1).getLong("count"));
+		assertEquals(GridOperation.MERGED_LINES.name(),
+				events.get(2).getString("operation"));
+		assertEquals(zoomLines, events.get(2).getLong("count"));
+
+	}
+
+	/**
+	 * Test the GARS batch events
+	 *
+	 * @throws IOException
+	 *             upon failure
+	 */
+	@Test
+	public void testGARSBatch() throws IOException {
+
+		double[] longitudes = { -90.0, 0.5, 120.25 };
+		double[] latitudes = { 45.0, -10.5, 60.75 };
+		long[] ids = new long[3];
+		String[] values = { "006AG39", "361HN1", "invalid" };
+		long[] results = new long[3];
+
+		List<RecordedEvent> events;
+		try (Recording recording = new Recording()) {
+			recording.enable(GARSBatchEvent.NAME).withThreshold(null);
+			recording.start();
+			GARSBatch.encode(longitudes, latitudes, GridType.FIVE_MINUTE, ids);
+			GARSBatch.decodeCenters(ids, longitudes, latitudes);
+			GARSParser.parse(values, 0, values.length, results, 0);
+			recording.stop();
+			events = read(recording, GARSBatchEvent.NAME);
+		}
+
+		assertEquals(3, events.size());
+		assertEquals(GARSBatchEvent.ENCODE,
+				events.get(0).getString("operation"));
+		assertEquals(GridType.FIVE_MINUTE.name(),
+				events.get(0).getString("precision"));
+		assertEquals(3, events.get(0).getInt("count"));
+		assertEquals(GARSBatchEvent.DECODE_CENTERS,
+				events.get(1).getString("operation"));
+		assertEquals(GARSBatchEvent.PARSE,
+				events.get(2).getString("operation"));
+		assertEquals(3, events.get(2).getInt("count"));
+		assertEquals(1, events.get(2).getInt("invalid"));
+
+	}
+
+	/**
+	 * Test the event sink registration
+	 */
+	@Test
+	public void testEventSink() {
+
+		assertTrue(Events.getSink() instanceof FlightRecorderEventSink);
+
+		Grids grids = Grids.create();
+		GridTile tile = GridTile.tile(256, 256, 35, 22, 6);
+		Grid grid = grids.getGrid(grids.getPrecision(tile.getZoom()));
+
+		List<GridOperation> operations = new ArrayList<>();
+		List<Long> counts = new ArrayList<>();
+		Events.setSink(new EventSink() {
+
+			@Override
+			public TileEvent beginTile() {
+				return null;
+			}
+
+			@Override
+			public FeaturesEvent beginFeatures() {
+				return (operation, gridType, zoom, tileBounds, count) -> {
+					operations.add(operation);
+					counts.add(count);
+				};
+			}
+
+			@Override
+			public BatchEvent beginBatch() {
+				return null;
+			}
+
+		});
+		try {
+			int lines = grid.getLines(tile).size();
+			int labels = grid.getLabels(tile).size();
+			assertEquals(2, operations.size());
+			assertEquals(GridOperation.LINES, operations.get(0));
+			assertEquals(lines, counts.get(0).intValue());
+			assertEquals(GridOperation.LABELS, operations.get(1));
+			assertEquals(labels, counts.get(1).intValue());
+
+			Events.setSink(EventSink.NONE);
+			assertSame(EventSink.NONE, Events.getSink());
+			assertEquals(lines, grid.getLines(tile).size());
+			assertEquals(2, operations.size());
+		} finally {
+			Events.setSink(null);
+		}
+
+		assertTrue(Events.getSink() instanceof FlightRecorderEventSink);
+
+	}
+
+	/**
+	 * Read the recorded events of the event type, in commit order
+	 *
+	 * @param recording
+	 *            stopped recording
+	 * @param name
+	 *            event name
+	 * @return events
+	 * @throws IOException
+	 *             upon failure to read
+	 */
+	private List<RecordedEvent> read(Recording recording, String name)
+			throws IOException {
+		Path file = folder.newFile().toPath();
+		recording.dump(file);
+		List<RecordedEvent> events = new ArrayList<>();
+		for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+			if (event.getEventType().getName().equals(name)) {
+				events.add(event);
+			}
+		}
+		events.sort((event1, event2) -> event1.getEndTime()
+				.compareTo(event2.getEndTime()));
+		return events;
+	}
+
+}
@@ -0,0 +1,138 @@
+package mil.nga.gars.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import mil.nga.gars.features.GridLine;
+import mil.nga.gars.grid.Grid;
+import mil.nga.gars.grid.GridLabel;
+import mil.nga.gars.grid.GridType;
+import mil.nga.gars.grid.Grids;
+import mil.nga.grid.tile.GridTile;
+
+/**
+ * Grid metrics recorder tests
+ *
+ * @author osbornb
+ */
+public class GridMetricsRecorderTest {
+
+	/**
+	 * Test the latency histogram
+	 */
+	@Test
+	public void testHistogram() {
+
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getValueAtPercentile(50));
+
+		for (long value = 1; value <= 1000; value++) {
+			histogram.record(value * 1000);
+		}
+		histogram.record(-5);
+
+		assertEquals(1001, histogram.getCount());
+		assertEquals(0, histogram.getMin());
+		assertEquals(1000000, histogram.getMax());
+		assertEquals(1000.0 * 1001 / 2 * 1000 / 1001,
+				histogram.getMean(), 0.001);
+
+		double error = 1.0 / 64;
+		for (double percentile : new double[] { 10, 50, 90, 99, 99.9 }) {
+			long expected = (long) Math.ceil(percentile / 100.0 * 1001) - 1;
+			expected *= 1000;
+			long value = histogram.getValueAtPercentile(percentile);
+			assertTrue(value >= expected);
+			assertTrue(value <= expected * (1 + error));
+		}
+		assertEquals(0, histogram.getValueAtPercentile(0));
+		assertEquals(1000000, histogram.getValueAtPercentile(100));
+
+		histogram.record(Long.MAX_VALUE);
+		assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+
+		LatencyHistogram exact = new LatencyHistogram(16);
+		for (long value = 0; value < 100; value++) {
+			exact.record(value);
+		}
+		assertEquals(49, exact.getValueAtPercentile(50));
+		assertEquals(98, exact.getValueAtPercentile(99));
+
+	}
+
+	/**
+	 * Test recording grid lines and labels
+	 */
+	@Test
+	public void testRecorder() {
+
+		Grids grids = Grids.create();
+		GridMetricsRecorder recorder = new GridMetricsRecorder();
+		grids.setRecorder(recorder);
+
+		GridTile tile = GridTile.tile(512, 512, 1100, 1500, 12);
+		GridType type = GridType.FIVE_MINUTE;
+		Grid grid = grids.getGrid(type);
+
+		List<GridLine> lines = grid.getLines(tile);
+		List<GridLabel> labels = grid.getLabels(tile);
+		List<GridLine> mergedLines = grid.getMergedLines(tile);
+		grid.forEachLine(tile, (lon1, lat1, lon2, lat2, gridType) -> {
+		});
+		grids.getGrids(tile.getZoom()).getLines(tile);
+
+		GridMetric lineMetric = recorder.getMetric(GridOperation.LINES, type,
+				tile.getZoom());
+		assertNotNull(lineMetric);
+		assertEquals(2, lineMetric.getCount());
+		assertEquals(2 * lines.size(), lineMetric.getFeatures());
+		assertEquals(lines.size(), lineMetric.getCells());
+		assertTrue(lineMetric.getLatency().getMax() > 0);
+
+		GridMetric mergedMetric = recorder
+				.getMetric(GridOperation.MERGED_LINES, type, tile.getZoom());
+		assertNotNull(mergedMetric);
+		assertEquals(2, mergedMetric.getCount());
+		assertTrue(mergedMetric.getFeatures() > mergedLines.size());
+
+		GridMetric labelMetric = recorder.getMetric(GridOperation.LABELS,
+				type, tile.getZoom());
+		assertNotNull(labelMetric);
+		assertEquals(1, labelMetric.getCount());
+		assertEquals(labels.size(), labelMetric.getFeatures());
+		assertTrue(labelMetric.getCells() >= labels.size());
+
+		assertNull(recorder.getMetric(GridOperation.LINES, type,
+				tile.getZoom() + 1));
+		assertNull(recorder.getMetric(GridOperation.LINES,
+				GridType.TWENTY_DEGREE, tile.getZoom()));
+
+		List<GridMetric> metrics = recorder.getMetrics();
+		assertEquals(GridOperation.LINES, metrics.get(0).getOperation());
+		List<GridMetric> slowest = recorder.getSlowest(99);
+		assertEquals(metrics.size(), slowest.size());
+		for (int i = 1; i < slowest.size(); i++) {
+			assertTrue(slowest.get(i - 1).getLatency()
+					.getValueAtPercentile(99) >= slowest.get(i).getLatency()
+							.getValueAtPercentile(99));
+		}
+
+		grids.setRecorder(null);
+		recorder.reset();
+		grid.getLines(tile);
+		assertTrue(recorder.getMetrics().isEmpty());
+
+	}
+
+}
@@ -0,0 +1,155 @@
+package mil.nga.gars.render;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+import mil.nga.color.Color;
+import mil.nga.gars.grid.Grid;
+import mil.nga.gars.grid.GridTileProjection;
+import mil.nga.gars.grid.GridType;
+import mil.nga.gars.grid.Grids;
+import mil.nga.grid.tile.GridTile;
+
+/**
+ * Grid tile renderer tests
+ *
+ * @author osbornb
+ */
+public class GridTileRendererTest {
+
+	/**
+	 * Test rendering tiles
+	 * 
+	 * @throws IOException
+	 *             upon failure to read
+	 */
+	@Test
+	public void testRender() throws IOException {
+
+		Grids grids = Grids.create();
+		GridTileRenderer renderer = new GridTileRenderer(grids);
+
+		GridTile[] tiles = { GridTile.tile(256, 256, 0, 0, 0),
+				GridTile.tile(512, 512, 8, 12, 5),
+				GridTile.tile(256, 256, 1024, 1536, 12) };
+
+		for (GridTile tile : tiles) {
+
+			int[] argb = renderer.renderArgb(tile);
+			assertEquals(tile.getWidth() * tile.getHeight(), argb.length);
+
+			int drawn = 0;
+			for (int pixel : argb) {
+				if (pixel != 0) {
+					drawn++;
+				}
+			}
+			assertTrue(drawn > 0);
+			assertTrue(drawn < argb.length);
+
+			// Canvas reuse renders identically
+			assertArrayEquals(argb, renderer.renderArgb(tile));
+
+			BufferedImage image = renderer.renderImage(tile);
+			assertEquals(tile.getWidth(), image.getWidth());
+			assertEquals(tile.getHeight(), image.getHeight());
+			assertArrayEquals(argb, image.getRGB(0, 0, tile.getWidth(),
+					tile.getHeight(), null, 0, tile.getWidth()));
+
+			BufferedImage png = ImageIO
+					.read(new ByteArrayInputStream(renderer.renderPng(tile)));
+			assertEquals(tile.getWidth(), png.getWidth());
+			assertEquals(tile.getHeight(), png.getHeight());
+			assertArrayEquals(argb, png.getRGB(0, 0, tile.getWidth(),
+					tile.getHeight(), null, 0, tile.getWidth()));
+
+		}
+
+	}
+
+	/**
+	 * Test rendering honors grid styling changes
+	 */
+	@Test
+	public void testStyle() {
+
+		Grids grids = Grids.create(GridType.TWENTY_DEGREE);
+		GridTileRenderer renderer = new GridTileRenderer(grids);
+		GridTile tile = GridTile.tile(256, 256, 0, 0, 0);
+
+		Grid grid = grids.getGrid(GridType.TWENTY_DEGREE);
+		grid.getLabeler().setEnabled(false);
+
+		grid.setColor(Color.red());
+		assertTrue(contains(renderer.renderArgb(tile), 0xFFFF0000));
+
+		grid.setColor(Color.blue());
+		int[] argb = renderer.renderArgb(tile);
+		assertTrue(contains(argb, 0xFF0000FF));
+		assertTrue(!contains(argb, 0xFFFF0000));
+
+	}
+
+	/**
+	 * Test lines shared by zoom grids are drawn once with the owning grid
+	 * style
+	 */
+	@Test
+	public void testMergedLineStyle() {
+
+		Grids grids = Grids.create(GridType.TWENTY_DEGREE,
+				GridType.TEN_DEGREE);
+		grids.setZoomRange(GridType.TWENTY_DEGREE, 0, null);
+		grids.setZoomRange(GridType.TEN_DEGREE, 0, null);
+		GridTileRenderer renderer = new GridTileRenderer(grids);
+		GridTile tile = GridTile.tile(256, 256, 0, 0, 0);
+
+		Grid twenty = grids.getGrid(GridType.TWENTY_DEGREE);
+		Grid ten = grids.getGrid(GridType.TEN_DEGREE);
+		twenty.getLabeler().setEnabled(false);
+		ten.getLabeler().setEnabled(false);
+		twenty.setColor(Color.red());
+		ten.setColor(Color.blue());
+
+		int[] argb = renderer.renderArgb(tile);
+		assertTrue(contains(argb, 0xFFFF0000));
+		assertTrue(contains(argb, 0xFF0000FF));
+
+		// Twenty degree meridians are owned by the twenty degree grid
+		int x = Math.round(new GridTileProjection(tile).getXPixel(20.0));
+		for (int y = 0; y < tile.getHeight(); y++) {
+			assertTrue(argb[y * tile.getWidth() + x] != 0xFF0000FF);
+		}
+
+	}
+
+	/**
+	 * Check if the pixels contain the ARGB value
+	 * 
+	 * @param argb
+	 *            pixels
+	 * @param value
+	 *            ARGB value
+	 * @return true if contained
+	 */
+	private static boolean contains(int[] argb, int value) {
+		boolean contains = false;
+		for (int pixel : argb) {
+			if (pixel == value) {
+				contains = true;
+				break;
+			}
+		}
+		return contains;
+	}
+
+}
@@ -0,0 +1,344 @@
+package mil.nga.gars.render;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import mil.nga.gars.GARS;
+import mil.nga.gars.grid.Grid;
+import mil.nga.gars.grid.GridLabel;
+import mil.nga.gars.grid.GridType;
+import mil.nga.gars.grid.Grids;
+import mil.nga.gars.grid.ZoomGrids;
+import mil.nga.grid.tile.GridTile;
+
+/**
+ * Grid vector tile encoder tests
+ *
+ * @author osbornb
+ */
+public class GridVectorTileEncoderTest {
+
+	/**
+	 * Test encoding tiles
+	 * 
+	 * @throws ParseException
+	 *             upon failure to parse
+	 */
+	@Test
+	public void testEncode() throws ParseException {
+
+		Grids grids = Grids.create();
+		GridVectorTileEncoder encoder = new GridVectorTileEncoder(grids);
+
+		GridTile[] tiles = { GridTile.tile(256, 256, 0, 0, 0),
+				GridTile.tile(512, 512, 8, 12, 5),
+				GridTile.tile(256, 256, 1024, 1536, 12),
+				GridTile.tile(256, 256, 600, 800, 11) };
+
+		for (GridTile tile : tiles) {
+
+			byte[] bytes = encoder.encode(tile);
+			Map<String, List<Feature>> layers = decode(bytes);
+			assertTrue(!layers.isEmpty());
+
+			ZoomGrids zoomGrids = grids.getGrids(tile.getZoom());
+
+			Set<String> labels = new HashSet<>();
+			for (Grid grid : zoomGrids) {
+				List<GridLabel> gridLabels = grid.getLabels(tile);
+				if (gridLabels != null) {
+					for (GridLabel label : gridLabels) {
+						labels.add(label.getName());
+					}
+				}
+			}
+
+			int lineLayers = 0;
+			for (Map.Entry<String, List<Feature>> layer : layers.entrySet()) {
+				GridType type = GridType.valueOf(layer.getKey());
+				for (Feature feature : layer.getValue()) {
+					assertEquals(type.name(),
+							feature.attributes.get(GridVectorTileEncoder.TYPE_KEY));
+					if (feature.type == 2) {
+						lineLayers++;
+						assertEquals(0, feature.geometry.size() % 6);
+						decodeLines(feature.geometry, 4096, 64);
+					} else {
+						assertEquals(1, feature.type);
+						assertEquals(3, feature.geometry.size());
+						String name = feature.attributes
+								.get(GridVectorTileEncoder.NAME_KEY);
+						assertTrue(labels.contains(name));
+						String gars = feature.attributes
+								.get(GridVectorTileEncoder.GARS_KEY);
+						if (type.getPrecision() < 1.0) {
+							assertEquals(name, gars);
+							assertEquals(name,
+									GARS.parse(gars).coordinate(type));
+						}
+					}
+				}
+			}
+			assertTrue(lineLayers > 0);
+
+			// Buffer reuse encodes identically
+			assertEquals(new String(bytes, StandardCharsets.ISO_8859_1),
+					new String(encoder.encode(tile),
+							StandardCharsets.ISO_8859_1));
+
+		}
+
+	}
+
+	/**
+	 * Decode multi line string geometry, checking the commands and bounds
+	 * 
+	 * @param geometry
+	 *            geometry integers
+	 * @param extent
+	 *            extent
+	 * @param buffer
+	 *            buffer
+	 */
+	private static void decodeLines(List<Integer> geometry, int extent,
+			int buffer) {
+		int x = 0;
+		int y = 0;
+		for (int i = 0; i < geometry.size(); i += 6) {
+			assertEquals((1 << 3) | 1, (int) geometry.get(i));
+			x += unzigzag(geometry.get(i + 1));
+			y += unzigzag(geometry.get(i + 2));
+			int startX = x;
+			int startY = y;
+			assertEquals((1 << 3) | 2, (int) geometry.get(i + 3));
+			x += unzigzag(geometry.get(i + 4));
+			y += unzigzag(geometry.get(i + 5));
+			assertTrue(startX == x || startY == y);
+			assertTrue(startX != x || startY != y);
+			for (int value : new int[] { startX, startY, x, y }) {
+				assertTrue(value >= -buffer && value <= extent + buffer);
+			}
+		}
+	}
+
+	/**
+	 * Decoded feature
+	 */
+	private static class Feature {
+
+		/**
+		 * Geometry type
+		 */
+		private int type;
+
+		/**
+		 * Tag indices
+		 */
+		private final List<Integer> tags = new ArrayList<>();
+
+		/**
+		 * Geometry integers
+		 */
+		private final List<Integer> geometry = new ArrayList<>();
+
+		/**
+		 * Resolved attributes
+		 */
+		private final Map<String, String> attributes = new HashMap<>();
+
+	}
+
+	/**
+	 * Decode the vector tile layers
+	 * 
+	 * @param bytes
+	 *            tile bytes
+	 * @return features by layer name
+	 */
+	private static Map<String, List<Feature>> decode(byte[] bytes) {
+		Map<String, List<Feature>> layers = new HashMap<>();
+		Reader tile = new Reader(bytes, 0, bytes.length);
+		while (tile.hasMore()) {
+			int tag = tile.varint();
+			assertEquals((3 << 3) | 2, tag);
+			Reader layer = tile.message();
+			String name = null;
+			List<Feature> features = new ArrayList<>();
+			List<String> keys = new ArrayList<>();
+			List<String> values = new ArrayList<>();
+			while (layer.hasMore()) {
+				int layerTag = layer.varint();
+				switch (layerTag >>> 3) {
+				case 1:
+					name = layer.string();
+					break;
+				case 2:
+					Reader featureReader = layer.message();
+					Feature feature = new Feature();
+					while (featureReader.hasMore()) {
+						int featureTag = featureReader.varint();
+						switch (featureTag >>> 3) {
+						case 2:
+							Reader tags = featureReader.message();
+							while (tags.hasMore()) {
+								feature.tags.add(tags.varint());
+							}
+							break;
+						case 3:
+							feature.type = featureReader.varint();
+							break;
+						case 4:
+							Reader geometry = featureReader.message();
+							while (geometry.hasMore()) {
+								feature.geometry.add(geometry.varint());
+							}
+							break;
+						default:
+							throw new IllegalStateException(
+									"Unexpected feature tag: " + featureTag);
+						}
+					}
+					features.add(feature);
+					break;
+				case 3:
+					keys.add(layer.string());
+					break;
+				case 4:
+					Reader value = layer.message();
+					assertEquals((1 << 3) | 2, value.varint());
+					values.add(value.string());
+					break;
+				case 5:
+					assertEquals(4096, layer.varint());
+					break;
+				case 15:
+					assertEquals(2, layer.varint());
+					break;
+				default:
+					throw new IllegalStateException(
+							"Unexpected layer tag: " + layerTag);
+				}
+			}
+			for (Feature feature : features) {
+				for (int i = 0; i < feature.tags.size(); i += 2) {
+					feature.attributes.put(keys.get(feature.tags.get(i)),
+							values.get(feature.tags.get(i + 1)));
+				}
+			}
+			layers.put(name, features);
+		}
+		return layers;
+	}
+
+	/**
+	 * Zigzag decode
+	 * 
+	 * @param value
+	 *            zigzag value
+	 * @return value
+	 */
+	private static int unzigzag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Protobuf reader
+	 */
+	private static class Reader {
+
+		/**
+		 * Bytes
+		 */
+		private final byte[] bytes;
+
+		/**
+		 * Position
+		 */
+		private int position;
+
+		/**
+		 * End position
+		 */
+		private final int end;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param bytes
+		 *            bytes
+		 * @param offset
+		 *            offset
+		 * @param length
+		 *            length
+		 */
+		Reader(byte[] bytes, int offset, int length) {
+			this.bytes = bytes;
+			this.position = offset;
+			this.end = offset + length;
+		}
+
+		/**
+		 * Check for more bytes
+		 * 
+		 * @return true if more
+		 */
+		boolean hasMore() {
+			return position < end;
+		}
+
+		/**
+		 * Read a varint
+		 * 
+		 * @return value
+		 */
+		int varint() {
+			int value = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = bytes[position++];
+				value |= (b & 0x7F) << shift;
+				shift += 7;
+			} while ((b & 0x80) != 0);
+			return value;
+		}
+
+		/**
+		 * Read a length delimited message
+		 * 
+		 * @return message reader
+		 */
+		Reader message() {
+			int length = varint();
+			Reader reader = new Reader(bytes, position, length);
+			position += length;
+			return reader;
+		}
+
+		/**
+		 * Read a length delimited string
+		 * 
+		 * @return string
+		 */
+		String string() {
+			int length = varint();
+			String value = new String(bytes, position, length,
+					StandardCharsets.UTF_8);
+			position += length;
+			return value;
+		}
+
+	}
+
+}
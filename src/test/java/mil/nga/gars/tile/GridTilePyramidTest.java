@@ -0,0 +1,166 @@
+package mil.nga.gars.tile;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import mil.nga.gars.grid.Grids;
+import mil.nga.grid.features.Bounds;
+
+/**
+ * Grid tile pyramid tests
+ *
+ * @author osbornb
+ */
+public class GridTilePyramidTest {
+
+	/**
+	 * Temporary folder
+	 */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Test tile ranges
+	 */
+	@Test
+	public void testTileRange() {
+
+		Bounds world = Bounds.degrees(-180, -85.0511287798066, 180,
+				85.0511287798066);
+		for (int zoom = 0; zoom <= 4; zoom++) {
+			int max = (1 << zoom) - 1;
+			assertArrayEquals(new int[] { 0, 0, max, max },
+					GridTilePyramid.getTileRange(world, zoom));
+		}
+
+		Bounds northeast = Bounds.degrees(0.0001, 0.0001, 10, 10);
+		assertArrayEquals(new int[] { 1, 0, 1, 0 },
+				GridTilePyramid.getTileRange(northeast, 1));
+		assertArrayEquals(new int[] { 8, 7, 8, 7 },
+				GridTilePyramid.getTileRange(northeast, 4));
+
+		assertEquals(1 + 4 + 16, GridTilePyramid.count(world, 0, 2));
+
+	}
+
+	/**
+	 * Test generating and resuming a directory pyramid
+	 * 
+	 * @throws IOException
+	 *             upon failure
+	 */
+	@Test
+	public void testDirectory() throws IOException {
+
+		Path directory = folder.newFolder().toPath();
+		Bounds bounds = Bounds.degrees(-20, -10, 20, 30);
+
+		DirectoryTileStore store = new DirectoryTileStore(directory, "png");
+		GridTilePyramid pyramid = GridTilePyramid.png(Grids.create(), store);
+		pyramid.setProgressInterval(5);
+		AtomicLong reports = new AtomicLong();
+		pyramid.setProgressListener(progress -> reports.incrementAndGet());
+		ForkJoinPool pool = new ForkJoinPool(4);
+		pyramid.setPool(pool);
+
+		long total = GridTilePyramid.count(bounds, 0, 6);
+		PyramidProgress progress = pyramid.generate(bounds, 0, 6);
+		assertEquals(total, progress.getTotal());
+		assertEquals(total, progress.getGenerated());
+		assertEquals(0, progress.getSkipped());
+		assertEquals(1.0, progress.getFraction(), 0.0);
+		assertTrue(reports.get() >= total / 5);
+		assertEquals(total, countFiles(directory));
+
+		// Interrupted generation resumes the missing tiles
+		Files.delete(store.getPath(6, 30, 29));
+		Files.delete(store.getPath(5, 15, 14));
+		progress = pyramid.generate(bounds, 0, 6);
+		assertEquals(2, progress.getGenerated());
+		assertEquals(total - 2, progress.getSkipped());
+		assertEquals(total, countFiles(directory));
+
+		pool.shutdown();
+
+	}
+
+	/**
+	 * Test generating and resuming a packed pyramid
+	 * 
+	 * @throws IOException
+	 *             upon failure
+	 */
+	@Test
+	public void testPacked() throws IOException {
+
+		Path file = folder.newFile("tiles.pack").toPath();
+		Bounds bounds = Bounds.degrees(-20, -10, 20, 30);
+		long total = GridTilePyramid.count(bounds, 0, 5);
+
+		byte[] tile;
+		try (PackedTileStore store = new PackedTileStore(file)) {
+			PyramidProgress progress = GridTilePyramid
+					.vectorTiles(Grids.create(), store)
+					.generate(bounds, 0, 5);
+			assertEquals(total, progress.getGenerated());
+			assertEquals(total, store.size());
+			tile = store.read(5, 15, 14);
+			assertTrue(tile.length > 0);
+			assertNull(store.read(5, 0, 0));
+		}
+
+		// Simulate an interrupted trailing record
+		Files.write(file, new byte[] { 0, 0, 0, 5, 0, 0, 0, 15, 0 },
+				StandardOpenOption.APPEND);
+		long size = Files.size(file);
+
+		try (PackedTileStore store = new PackedTileStore(file)) {
+			assertEquals(total, store.size());
+			assertTrue(Files.size(file) < size);
+			assertArrayEquals(tile, store.read(5, 15, 14));
+			assertFalse(store.contains(5, 0, 0));
+			PyramidProgress progress = GridTilePyramid
+					.vectorTiles(Grids.create(), store)
+					.generate(bounds, 0, 6);
+			assertEquals(total, progress.getSkipped());
+			assertEquals(GridTilePyramid.count(bounds, 6, 6),
+					progress.getGenerated());
+		}
+
+		try (PackedTileStore store = new PackedTileStore(file)) {
+			assertEquals(GridTilePyramid.count(bounds, 0, 6), store.size());
+		}
+
+	}
+
+	/**
+	 * Count the regular files in the directory tree
+	 * 
+	 * @param directory
+	 *            directory
+	 * @return file count
+	 * @throws IOException
+	 *             upon failure to walk
+	 */
+	private static long countFiles(Path directory) throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			return paths.filter(Files::isRegularFile).count();
+		}
+	}
+
+}